@@ -0,0 +1,167 @@
+package com.mycompany.myapp;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result file with a committed baseline.
+ *
+ * <p>
+ * A benchmark is reported as a regression when its normalized allocation rate ({@code gc.alloc.rate.norm}, in bytes per
+ * operation) grows by more than the given tolerance: it barely depends on the machine, so it is the regression failing the
+ * build. A benchmark is reported as slower when its throughput drops (or its average time grows) by more than the tolerance
+ * and by more than the errors of both scores; timings depend on the machine running the benchmarks, slower benchmarks only
+ * fail the build when {@code failOnSlower} is set. Refreshing the baseline is done by copying the result file over the
+ * baseline one.
+ * </p>
+ *
+ * <pre>
+ * BenchmarkComparison &lt;baseline.json&gt; &lt;result.json&gt; [tolerance] [failOnRegression] [failOnSlower]
+ * </pre>
+ */
+public final class BenchmarkComparison {
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+  private static final double ALLOCATION_SLACK = 16;
+
+  private final double tolerance;
+  private final boolean failOnSlower;
+
+  private BenchmarkComparison(double tolerance, boolean failOnSlower) {
+    this.tolerance = tolerance;
+    this.failOnSlower = failOnSlower;
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 2) {
+      System.err.println("Usage: BenchmarkComparison <baseline.json> <result.json> [tolerance] [failOnRegression] [failOnSlower]");
+      System.exit(2);
+    }
+
+    Path baseline = Path.of(args[0]);
+    Path result = Path.of(args[1]);
+    double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.15;
+    boolean failOnRegression = args.length <= 3 || Boolean.parseBoolean(args[3]);
+    boolean failOnSlower = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+    if (Files.notExists(baseline)) {
+      System.out.println("No benchmark baseline at " + baseline + ", copy " + result + " there to create one");
+      return;
+    }
+
+    int regressions = new BenchmarkComparison(tolerance, failOnSlower).compare(read(baseline), read(result));
+    if (regressions > 0 && failOnRegression) {
+      System.exit(1);
+    }
+  }
+
+  private int compare(Map<String, Measure> baseline, Map<String, Measure> result) {
+    int regressions = 0;
+
+    System.out.printf("%-110s %14s %14s %8s %12s %12s%n", "Benchmark", "Baseline", "Current", "Delta", "Base B/op", "Curr B/op");
+    for (Entry<String, Measure> entry : result.entrySet()) {
+      Measure current = entry.getValue();
+      Measure reference = baseline.get(entry.getKey());
+
+      if (reference == null) {
+        System.out.printf("%-110s %14s %14.3f %8s %12s %12.1f   NEW%n", entry.getKey(), "-", current.score(), "-", "-", current.allocation());
+        continue;
+      }
+
+      boolean slower = slower(reference, current);
+      boolean moreAllocations = moreAllocations(reference, current);
+      if (moreAllocations || (slower && failOnSlower)) {
+        regressions++;
+      }
+
+      System.out.printf(
+        "%-110s %14.3f %14.3f %+7.1f%% %12.1f %12.1f%s%n",
+        entry.getKey(),
+        reference.score(),
+        current.score(),
+        (current.score() - reference.score()) * 100 / reference.score(),
+        reference.allocation(),
+        current.allocation(),
+        (slower ? "   SLOWER" : "") + (moreAllocations ? "   MORE ALLOCATIONS" : "")
+      );
+    }
+
+    baseline.keySet().stream().filter(key -> !result.containsKey(key)).forEach(key -> System.out.printf("%-110s   MISSING%n", key));
+
+    System.out.println(regressions + " regression(s) with a " + Math.round(tolerance * 100) + "% tolerance");
+
+    return regressions;
+  }
+
+  private boolean moreAllocations(Measure reference, Measure current) {
+    return current.allocation() > reference.allocation() * (1 + tolerance) + ALLOCATION_SLACK;
+  }
+
+  /**
+   * Differences within the error of the scores are noise, not regressions
+   */
+  private boolean slower(Measure reference, Measure current) {
+    double noise = reference.error() + current.error();
+
+    if (reference.higherIsBetter()) {
+      return current.score() < reference.score() * (1 - tolerance) && reference.score() - current.score() > noise;
+    }
+
+    return current.score() > reference.score() * (1 + tolerance) && current.score() - reference.score() > noise;
+  }
+
+  private static Map<String, Measure> read(Path file) throws IOException {
+    Map<String, Measure> measures = new LinkedHashMap<>();
+
+    for (JsonNode benchmark : new ObjectMapper().readTree(file.toFile())) {
+      measures.put(key(benchmark), measure(benchmark));
+    }
+
+    return measures;
+  }
+
+  private static String key(JsonNode benchmark) {
+    StringBuilder key = new StringBuilder(benchmark.path("benchmark").asText().replace("com.mycompany.myapp.", ""));
+
+    Map<String, String> params = new TreeMap<>();
+    benchmark.path("params").fields().forEachRemaining(param -> params.put(param.getKey(), param.getValue().asText()));
+    if (!params.isEmpty()) {
+      key.append(params);
+    }
+
+    return key.append(" (").append(benchmark.path("mode").asText()).append(')').toString();
+  }
+
+  private static Measure measure(JsonNode benchmark) {
+    String mode = benchmark.path("mode").asText();
+    JsonNode primaryMetric = benchmark.path("primaryMetric");
+    double score = primaryMetric.path("score").asDouble();
+    double error = primaryMetric.path("scoreError").asDouble(0);
+
+    return new Measure("thrpt".equals(mode), score, Double.isNaN(error) ? 0 : error, allocation(benchmark.path("secondaryMetrics")));
+  }
+
+  private static double allocation(JsonNode secondaryMetrics) {
+    Iterator<Entry<String, JsonNode>> metrics = secondaryMetrics.fields();
+
+    while (metrics.hasNext()) {
+      Entry<String, JsonNode> metric = metrics.next();
+
+      if (metric.getKey().endsWith(ALLOCATION_METRIC)) {
+        return metric.getValue().path("score").asDouble();
+      }
+    }
+
+    return 0;
+  }
+
+  private record Measure(boolean higherIsBetter, double score, double error, double allocation) {}
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.mycompany.myapp.account.domain.AuthenticationQuery;
+import com.mycompany.myapp.account.domain.Token;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class JwtTokensRepositoryBenchmark {
+
+  private static final String SECRET = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+  @Param({ "false", "true" })
+  private boolean rememberMe;
+
+  private JwtTokensRepository tokens;
+  private AuthenticationQuery query;
+
+  @Setup
+  public void setup() {
+    var properties = new JwtTokensProperties();
+    properties.setJwtBase64Secret(SECRET);
+    properties.setTokenValidity(Duration.ofDays(1));
+    properties.setRememberMeTokenValidity(Duration.ofDays(365));
+
+    tokens = new JwtTokensRepository(properties, new FixedTokenEpochs(), new NoRevokedTokens());
+    query = AuthenticationQuery.builder().username("user").roles(Roles.of(Set.of(Role.USER, Role.ADMIN))).rememberMe(rememberMe);
+  }
+
+  @Benchmark
+  public Token buildToken() {
+    return tokens.buildToken(query);
+  }
+
+  private static final class NoRevokedTokens implements RevokedTokens {
+
+    @Override
+    public void revoke(String tokenId, Instant expiration) {}
+
+    @Override
+    public boolean revoked(String tokenId) {
+      return false;
+    }
+  }
+
+  private static final class FixedTokenEpochs implements TokenEpochs {
+
+    @Override
+    public long current(Username username) {
+      return 1;
+    }
+
+    @Override
+    public long load(Username username) {
+      return 1;
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.shared.authentication.domain;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.mycompany.myapp.shared.collection.domain.AIsampleCollections;
+
+/**
+ * Compares the bitmask backed {@link Roles} with the previous {@code Set<Role>} representation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class RolesBenchmark {
+
+  private List<String> authorities;
+  private Set<Role> set;
+  private Roles roles;
+
+  @Setup
+  public void setup() {
+    authorities = List.of(Role.ADMIN.key(), Role.USER.key());
+    set = AIsampleCollections.immutable(Set.of(Role.ADMIN, Role.USER));
+    roles = Roles.of(set);
+  }
+
+  @Benchmark
+  public boolean setHasRole() {
+    return set.contains(Role.USER);
+  }
+
+  @Benchmark
+  public boolean maskHasRole() {
+    return roles.hasRole(Role.USER);
+  }
+
+  @Benchmark
+  public Set<Role> setFromAuthorities() {
+    return AIsampleCollections.immutable(authorities.stream().map(Role::from).collect(Collectors.toSet()));
+  }
+
+  @Benchmark
+  public Roles maskFromAuthorities() {
+    return Roles.of(authorities.stream().map(Role::from).toList());
+  }
+}
@@ -0,0 +1,54 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import javax.crypto.SecretKey;
+
+final class BenchmarkTokens {
+
+  static final SecretKey KEY = Keys.hmacShaKeyFor(
+    "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8".getBytes(StandardCharsets.UTF_8)
+  );
+
+  private BenchmarkTokens() {}
+
+  static JwtReader jwtReader(boolean fastPath) {
+    var parser = Jwts.parser().verifyWith(KEY).build();
+
+    if (!fastPath) {
+      return new JwtReader(parser);
+    }
+
+    return new JwtReader(parser, new Hs512TokenVerifier(KEY));
+  }
+
+  static String token(String kind) {
+    return switch (kind) {
+      case "valid" -> token(Duration.ofHours(1));
+      case "expired" -> token(Duration.ofHours(-1));
+      case "tampered" -> tampered(token(Duration.ofHours(1)));
+      case "garbage" -> "this-is.not-a.jwt";
+      default -> throw new IllegalArgumentException("Unknown token kind: " + kind);
+    };
+  }
+
+  private static String token(Duration validity) {
+    return Jwts.builder()
+      .subject("user")
+      .claim("auth", "ROLE_ADMIN,ROLE_USER")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(Instant.now().plus(validity)))
+      .compact();
+  }
+
+  private static String tampered(String token) {
+    int position = token.lastIndexOf('.') + 10;
+    char replacement = token.charAt(position) == 'A' ? 'B' : 'A';
+
+    return token.substring(0, position) + replacement + token.substring(position + 1);
+  }
+}
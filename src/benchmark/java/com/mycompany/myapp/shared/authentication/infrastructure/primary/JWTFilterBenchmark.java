@@ -0,0 +1,67 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class JWTFilterBenchmark {
+
+  private static final FilterChain CHAIN = (request, response) -> {};
+
+  @Param({ "valid", "garbage" })
+  private String token;
+
+  @Param({ "false", "true" })
+  private boolean cached;
+
+  private JWTFilter filter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+
+  @Setup
+  public void setup() {
+    var properties = new JwtAuthenticationProperties.TokenCache();
+    JwtReader jwtReader = BenchmarkTokens.jwtReader(true);
+
+    var meters = new SimpleMeterRegistry();
+    AuthenticationTokenReader reader = cached ? new CachedJwtReader(jwtReader, properties, meters) : jwtReader;
+
+    filter = new JWTFilter(reader, new AnonymousRoutes(List.of("/assets/**", "/*.js")), meters);
+    request = new MockHttpServletRequest("GET", "/api/account");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + BenchmarkTokens.token(token));
+    response = new MockHttpServletResponse();
+  }
+
+  @Benchmark
+  public void doFilter() throws IOException, ServletException {
+    try {
+      filter.doFilter(request, response, CHAIN);
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+  }
+}
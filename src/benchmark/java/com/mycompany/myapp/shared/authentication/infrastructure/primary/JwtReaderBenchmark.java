@@ -0,0 +1,45 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class JwtReaderBenchmark {
+
+  @Param({ "valid", "expired", "tampered", "garbage" })
+  private String token;
+
+  @Param({ "true", "false" })
+  private boolean fastPath;
+
+  private JwtReader reader;
+  private String value;
+
+  @Setup
+  public void setup() {
+    reader = BenchmarkTokens.jwtReader(fastPath);
+    value = BenchmarkTokens.token(token);
+  }
+
+  @Benchmark
+  public Optional<Authentication> read() {
+    return reader.read(value);
+  }
+}
@@ -0,0 +1,60 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+
+/**
+ * Compares reading tokens with roles as an authorities list ({@code auth} claim) or as a bitmask ({@code rol} claim)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class RolesClaimBenchmark {
+
+  @Param({ "auth", "rol" })
+  private String claim;
+
+  private JwtReader reader;
+  private String token;
+
+  @Setup
+  public void setup() {
+    Roles roles = Roles.of(Set.of(Role.ADMIN, Role.USER));
+    Object value = "rol".equals(claim) ? roles.mask() : "ROLE_ADMIN,ROLE_USER";
+
+    reader = BenchmarkTokens.jwtReader(true);
+    token = Jwts.builder()
+      .subject("user")
+      .claim(claim, value)
+      .signWith(BenchmarkTokens.KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(Instant.now().plus(Duration.ofHours(1))))
+      .compact();
+  }
+
+  @Benchmark
+  public Optional<Authentication> read() {
+    return reader.read(token);
+  }
+}
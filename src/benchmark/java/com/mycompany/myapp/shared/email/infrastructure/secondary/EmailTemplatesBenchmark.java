@@ -0,0 +1,64 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import com.mycompany.myapp.shared.email.domain.EmailContent;
+
+/**
+ * Emails rendered per millisecond from the compiled {@link ClasspathEmailTemplates}, compared with the previous
+ * {@link String#format} bodies: the cost of the activation emails of a bulk import
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class EmailTemplatesBenchmark {
+
+  private static final String FORMAT =
+    "Hello %s,\n\n" +
+    "Thank you for registering with MyApp! To complete your registration, please click the link below to activate your account:\n\n" +
+    "http://localhost:8080/activate?token=%s\n\n" +
+    "If you did not create this account, please ignore this email.\n\n" +
+    "Best regards,\n" +
+    "The MyApp Team";
+
+  private ClasspathEmailTemplates templates;
+  private String token;
+  private Map<String, String> values;
+
+  @Setup
+  public void setup() {
+    templates = new ClasspathEmailTemplates();
+    token = UUID.randomUUID().toString();
+    values = Map.of("username", "imported-user", "activationUrl", "http://localhost:8080/activate?token=" + token);
+  }
+
+  @Benchmark
+  public String formattedText() {
+    return String.format(FORMAT, "imported-user", token);
+  }
+
+  @Benchmark
+  public EmailContent compiledDefaultLocale() {
+    return templates.render("registration", Locale.ENGLISH, values);
+  }
+
+  @Benchmark
+  public EmailContent compiledLocaleFallback() {
+    return templates.render("registration", Locale.CANADA_FRENCH, values);
+  }
+}
@@ -1,11 +1,22 @@
 package com.mycompany.myapp.account.application;
 
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.domain.AccountRegistered;
 import com.mycompany.myapp.account.domain.AuthenticationQuery;
+import com.mycompany.myapp.account.domain.LoginAttempts;
+import com.mycompany.myapp.account.domain.RegisteredAccounts;
 import com.mycompany.myapp.account.domain.Token;
 import com.mycompany.myapp.account.domain.TokensRepository;
 import com.mycompany.myapp.account.domain.User;
 import com.mycompany.myapp.account.domain.UserRepository;
+import com.mycompany.myapp.shared.authentication.domain.Username;
 import com.mycompany.myapp.shared.email.application.EmailService;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,33 +28,79 @@ public class AccountApplicationService {
   private final UserRepository users;
   private final PasswordEncoder passwordEncoder;
   private final EmailService emailService;
+  private final ApplicationEventPublisher events;
+  private final LoginAttempts loginAttempts;
+  private final RegisteredAccounts registeredAccounts;
 
   public AccountApplicationService(
     TokensRepository tokens,
     UserRepository users,
     PasswordEncoder passwordEncoder,
-    EmailService emailService
+    EmailService emailService,
+    ApplicationEventPublisher events,
+    LoginAttempts loginAttempts,
+    RegisteredAccounts registeredAccounts
   ) {
     this.tokens = tokens;
     this.users = users;
     this.passwordEncoder = passwordEncoder;
     this.emailService = emailService;
+    this.events = events;
+    this.loginAttempts = loginAttempts;
+    this.registeredAccounts = registeredAccounts;
   }
 
   public Token createToken(AuthenticationQuery query) {
     return tokens.buildToken(query);
   }
 
+  public void loginSucceeded(String username) {
+    Username.of(username).ifPresent(user -> loginAttempts.succeeded(user, Instant.now()));
+  }
+
+  /**
+   * Failures are only recorded for registered usernames (checked in memory for most unknown ones): failures sprayed over
+   * random usernames would otherwise take the pending slots of the real accounts
+   */
+  public void loginFailed(String username) {
+    Username.of(username).filter(user -> registeredAccounts.usernameTaken(user.get())).ifPresent(loginAttempts::failed);
+  }
+
+  public boolean usernameAvailable(String username) {
+    return !registeredAccounts.usernameTaken(username);
+  }
+
+  public boolean emailAvailable(String email) {
+    return !registeredAccounts.emailTaken(email);
+  }
+
+  public Optional<Token> renewToken(Token token) {
+    return tokens.renew(token);
+  }
+
+  /**
+   * Uniqueness of the username and email is enforced by the database constraints, on insert: concurrent registrations of
+   * the same username can't both succeed. Taken identifiers are still checked first (in memory for most available ones)
+   * so duplicates don't cost a password hash on the pool shared with the logins.
+   */
   @Transactional
   public String registerUser(RegistrationDTO dto) {
-    if (users.findByUsername(dto.getUsername()).isPresent()) {
+    if (registeredAccounts.usernameTaken(dto.getUsername())) {
       throw new IllegalArgumentException("Username already exists");
     }
-    if (users.findByEmail(dto.getEmail()).isPresent()) {
+
+    if (registeredAccounts.emailTaken(dto.getEmail())) {
       throw new IllegalArgumentException("Email already exists");
     }
+
     User user = new User(dto.getUsername(), dto.getEmail(), passwordEncoder.encode(dto.getPassword()));
-    users.save(user);
+    try {
+      users.saveAndFlush(user);
+    } catch (DataIntegrityViolationException e) {
+      throw duplicateAccount(e);
+    }
+    events.publishEvent(new AccountRegistered(user.getUsername(), user.getEmail()));
+    events.publishEvent(new AccountChanged(user.getUsername()));
 
     // Send registration email
     emailService.sendRegistrationEmail(user.getEmail(), user.getUsername(), user.getActivationToken());
@@ -51,6 +108,20 @@ public class AccountApplicationService {
     return user.getActivationToken();
   }
 
+  private static RuntimeException duplicateAccount(DataIntegrityViolationException exception) {
+    String cause = String.valueOf(NestedExceptionUtils.getMostSpecificCause(exception).getMessage()).toLowerCase(Locale.ROOT);
+
+    if (cause.contains(User.USERNAME_CONSTRAINT)) {
+      return new IllegalArgumentException("Username already exists", exception);
+    }
+
+    if (cause.contains(User.EMAIL_CONSTRAINT)) {
+      return new IllegalArgumentException("Email already exists", exception);
+    }
+
+    return exception;
+  }
+
   @Transactional
   public void activateAccount(String activationToken) {
     var userOpt = users.findByActivationToken(activationToken);
@@ -61,6 +132,7 @@ public class AccountApplicationService {
     user.setActivated(true);
     user.setActivationToken(null);
     users.save(user);
+    events.publishEvent(new AccountChanged(user.getUsername()));
 
     // Send activation confirmation email
     emailService.sendAccountActivatedEmail(user.getEmail(), user.getUsername());
@@ -92,6 +164,16 @@ public class AccountApplicationService {
     var user = userOpt.get();
     user.setPassword(passwordEncoder.encode(newPassword));
     user.setResetToken(null);
+    user.invalidateTokens();
+    users.save(user);
+    events.publishEvent(new AccountChanged(user.getUsername(), true));
+  }
+
+  @Transactional
+  public void invalidateTokens(String username) {
+    var user = users.findByUsername(username).orElseThrow(() -> new IllegalArgumentException("User not found"));
+    user.invalidateTokens();
     users.save(user);
+    events.publishEvent(new AccountChanged(user.getUsername(), true));
   }
 }
@@ -0,0 +1,267 @@
+package com.mycompany.myapp.account.application;
+
+import com.mycompany.myapp.account.application.UserImportResult.Status;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.BulkAccountsRepository;
+import com.mycompany.myapp.account.domain.NewAccount;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
+import com.mycompany.myapp.shared.email.application.EmailService;
+import com.mycompany.myapp.shared.error.domain.Assert;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Validator;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+/**
+ * Creates accounts in bulk, for migrations: users are validated as registrations are but don't go through them.
+ *
+ * <p>
+ * Users are read, hashed, inserted and reported by batches of {@code hibernate.jdbc.batch_size}, so the memory used doesn't
+ * depend on the number of imported users. Passwords of a batch are hashed in parallel on a dedicated pool of
+ * {@code hashing-parallelism} threads (half the processors by default): the hashes still go through the shared password
+ * encoder, an import can't take all the hashing capacity from the logins, and waits for it when it is saturated. Each batch
+ * is inserted in its own transaction, users already registered (or duplicated in the import) are reported and skipped.
+ * </p>
+ */
+@Service
+public class AccountImportApplicationService {
+
+  static final String IMPORTED = "account.import.rows";
+  static final String HASHING_RETRIES = "account.import.hashing.retries";
+
+  private final BulkAccountsRepository accounts;
+  private final PasswordEncoder passwordEncoder;
+  private final Validator validator;
+  private final EmailService emailService;
+  private final ApplicationEventPublisher events;
+  private final int batchSize;
+  private final ForkJoinPool hashing;
+  private final Map<Status, Counter> imported = new EnumMap<>(Status.class);
+  private final Counter hashingRetries;
+
+  public AccountImportApplicationService(
+    BulkAccountsRepository accounts,
+    PasswordEncoder passwordEncoder,
+    Validator validator,
+    EmailService emailService,
+    ApplicationEventPublisher events,
+    MeterRegistry meters,
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:25}") int batchSize,
+    @Value("${application.account-import.hashing-parallelism:0}") int hashingParallelism
+  ) {
+    Assert.field("batchSize", batchSize).min(1);
+    Assert.field("hashingParallelism", hashingParallelism).min(0);
+
+    this.accounts = accounts;
+    this.passwordEncoder = passwordEncoder;
+    this.validator = validator;
+    this.emailService = emailService;
+    this.events = events;
+    this.batchSize = batchSize;
+    hashing = new ForkJoinPool(hashingParallelism == 0 ? Math.max(1, Runtime.getRuntime().availableProcessors() / 2) : hashingParallelism);
+
+    for (Status status : Status.values()) {
+      imported.put(status, importedCounter(meters, status));
+    }
+    hashingRetries = Counter.builder(HASHING_RETRIES)
+      .description("Imported passwords hashes retried because the password encoder was saturated")
+      .register(meters);
+  }
+
+  private static Counter importedCounter(MeterRegistry meters, Status status) {
+    return Counter.builder(IMPORTED)
+      .description("Imported users, by result")
+      .tag("status", status.name().toLowerCase(Locale.ROOT))
+      .register(meters);
+  }
+
+  /**
+   * Import the given users, the results of each batch are given to {@code results} as soon as the batch is done
+   *
+   * @param activated
+   *          true to create activated accounts, false to create accounts waiting for their activation
+   * @param sendActivationEmails
+   *          true to send activation emails to the created (not activated) accounts
+   */
+  public void importUsers(
+    Stream<UserImportRow> rows,
+    boolean activated,
+    boolean sendActivationEmails,
+    Consumer<List<UserImportResult>> results
+  ) {
+    Assert.notNull("rows", rows);
+    Assert.notNull("results", results);
+
+    Iterator<UserImportRow> iterator = rows.iterator();
+    List<UserImportRow> batch = new ArrayList<>(batchSize);
+    while (iterator.hasNext()) {
+      batch.add(iterator.next());
+
+      if (batch.size() == batchSize || !iterator.hasNext()) {
+        results.accept(importBatch(batch, activated, sendActivationEmails));
+        batch = new ArrayList<>(batchSize);
+      }
+    }
+  }
+
+  private List<UserImportResult> importBatch(List<UserImportRow> batch, boolean activated, boolean sendActivationEmails) {
+    var results = new UserImportResult[batch.size()];
+
+    List<Candidate> candidates = new ArrayList<>(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      UserImportRow row = batch.get(i);
+      String violations = violations(row);
+
+      if (violations.isEmpty()) {
+        candidates.add(new Candidate(i, row));
+      } else {
+        results[i] = UserImportResult.of(row, Status.INVALID, violations);
+      }
+    }
+
+    List<Candidate> hashed = new ArrayList<>(candidates.size());
+    for (Candidate candidate : hash(candidates, activated)) {
+      if (candidate.failure() == null) {
+        hashed.add(candidate);
+      } else {
+        results[candidate.index()] = UserImportResult.of(candidate.row(), Status.FAILED, candidate.failure());
+      }
+    }
+
+    insert(hashed, results, sendActivationEmails);
+
+    List<UserImportResult> report = Arrays.asList(results);
+    report.forEach(result -> imported.get(result.status()).increment());
+
+    return report;
+  }
+
+  private String violations(UserImportRow row) {
+    var registration = new RegistrationDTO();
+    registration.setUsername(row.username());
+    registration.setEmail(row.email());
+    registration.setPassword(row.password());
+
+    return validator
+      .validate(registration)
+      .stream()
+      .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+      .sorted()
+      .collect(Collectors.joining(", "));
+  }
+
+  private List<Candidate> hash(List<Candidate> candidates, boolean activated) {
+    try {
+      return hashing
+        .submit(() -> candidates.parallelStream().map(candidate -> candidate.hashed(this::encode, activated)).toList())
+        .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Error while hashing imported passwords", e.getCause());
+    }
+  }
+
+  /**
+   * Imports wait for the shared password encoder when it is saturated (by a burst of logins) instead of failing users
+   */
+  private String encode(String password) {
+    while (true) {
+      try {
+        return passwordEncoder.encode(password);
+      } catch (PasswordHashingSaturatedException e) {
+        hashingRetries.increment();
+        pause(e.retryAfter());
+      }
+    }
+  }
+
+  private static void pause(Duration duration) {
+    try {
+      Thread.sleep(duration.toMillis());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+
+      throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+    }
+  }
+
+  private void insert(List<Candidate> candidates, UserImportResult[] results, boolean sendActivationEmails) {
+    List<Boolean> inserted;
+    try {
+      inserted = accounts.insertNew(candidates.stream().map(Candidate::account).toList());
+    } catch (DataAccessException e) {
+      candidates.forEach(candidate -> results[candidate.index()] = UserImportResult.of(candidate.row(), Status.FAILED, e.getMessage()));
+
+      return;
+    }
+
+    for (int i = 0; i < candidates.size(); i++) {
+      Candidate candidate = candidates.get(i);
+
+      if (inserted.get(i)) {
+        created(candidate.account(), sendActivationEmails);
+        results[candidate.index()] = UserImportResult.of(candidate.row(), Status.CREATED);
+      } else {
+        results[candidate.index()] = UserImportResult.of(candidate.row(), Status.DUPLICATE, "Username or email already exists");
+      }
+    }
+  }
+
+  private void created(NewAccount account, boolean sendActivationEmails) {
+    events.publishEvent(new AccountRegistered(account.username(), account.email()));
+    events.publishEvent(new AccountChanged(account.username()));
+
+    if (sendActivationEmails && !account.activated()) {
+      emailService.sendRegistrationEmail(account.email(), account.username(), account.activationToken());
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    hashing.shutdown();
+  }
+
+  /**
+   * A valid imported user, with its account once its password is hashed
+   */
+  private record Candidate(int index, UserImportRow row, NewAccount account, String failure) {
+    Candidate(int index, UserImportRow row) {
+      this(index, row, null, null);
+    }
+
+    Candidate hashed(UnaryOperator<String> passwordEncoder, boolean activated) {
+      try {
+        String password = passwordEncoder.apply(row.password());
+        String activationToken = activated ? null : UUID.randomUUID().toString();
+
+        return new Candidate(index, row, new NewAccount(row.username(), row.email(), password, activated, activationToken), null);
+      } catch (RuntimeException e) {
+        return new Candidate(index, row, null, e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.myapp.account.application;
+
+/**
+ * Outcome of the import of a {@link UserImportRow}
+ */
+public record UserImportResult(long line, String username, Status status, String message) {
+  public enum Status {
+    CREATED,
+    DUPLICATE,
+    INVALID,
+    FAILED,
+  }
+
+  static UserImportResult of(UserImportRow row, Status status) {
+    return new UserImportResult(row.line(), row.username(), status, null);
+  }
+
+  static UserImportResult of(UserImportRow row, Status status, String message) {
+    return new UserImportResult(row.line(), row.username(), status, message);
+  }
+}
@@ -0,0 +1,9 @@
+package com.mycompany.myapp.account.application;
+
+/**
+ * A user read from an import file, not validated yet
+ *
+ * @param line
+ *          position of the user in the imported file, reported with its result
+ */
+public record UserImportRow(long line, String username, String email, String password) {}
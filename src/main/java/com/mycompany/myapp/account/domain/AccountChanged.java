@@ -0,0 +1,19 @@
+package com.mycompany.myapp.account.domain;
+
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Published when the stored state of an account (existence, activation, password, token epoch) changes
+ *
+ * @param tokenEpochChanged
+ *          true when the change bumped the stored token epoch (which then needs to be reloaded)
+ */
+public record AccountChanged(String username, boolean tokenEpochChanged) {
+  public AccountChanged {
+    Assert.notBlank("username", username);
+  }
+
+  public AccountChanged(String username) {
+    this(username, false);
+  }
+}
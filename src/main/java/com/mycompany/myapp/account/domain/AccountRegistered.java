@@ -0,0 +1,13 @@
+package com.mycompany.myapp.account.domain;
+
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Published when a new account is stored, with the identifiers it takes
+ */
+public record AccountRegistered(String username, String email) {
+  public AccountRegistered {
+    Assert.notBlank("username", username);
+    Assert.notBlank("email", email);
+  }
+}
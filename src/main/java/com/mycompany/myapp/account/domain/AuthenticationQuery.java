@@ -1,5 +1,6 @@
 package com.mycompany.myapp.account.domain;
 
+import java.util.OptionalLong;
 import com.mycompany.myapp.shared.authentication.domain.Roles;
 import com.mycompany.myapp.shared.authentication.domain.Username;
 import com.mycompany.myapp.shared.error.domain.Assert;
@@ -9,6 +10,7 @@ public final class AuthenticationQuery {
   private final Username username;
   private final Roles roles;
   private final boolean rememberMe;
+  private final OptionalLong tokenEpoch;
 
   private AuthenticationQuery(AuthenticationQueryBuilder builder) {
     Assert.notNull("username", builder.username);
@@ -17,6 +19,16 @@ public final class AuthenticationQuery {
     username = builder.username;
     roles = builder.roles;
     rememberMe = builder.rememberMe;
+    tokenEpoch = OptionalLong.empty();
+  }
+
+  private AuthenticationQuery(AuthenticationQuery query, long tokenEpoch) {
+    Assert.field("tokenEpoch", tokenEpoch).min(0);
+
+    username = query.username;
+    roles = query.roles;
+    rememberMe = query.rememberMe;
+    this.tokenEpoch = OptionalLong.of(tokenEpoch);
   }
 
   public static AuthenticationQueryUsernameBuilder builder() {
@@ -35,6 +47,17 @@ public final class AuthenticationQuery {
     return rememberMe;
   }
 
+  /**
+   * @return the user token epoch when it was already loaded during the authentication, empty otherwise
+   */
+  public OptionalLong tokenEpoch() {
+    return tokenEpoch;
+  }
+
+  public AuthenticationQuery withTokenEpoch(long tokenEpoch) {
+    return new AuthenticationQuery(this, tokenEpoch);
+  }
+
   private static final class AuthenticationQueryBuilder
     implements AuthenticationQueryUsernameBuilder, AuthenticationQueryRolesBuilder, AuthenticationQueryRememberMeBuilder {
 
@@ -0,0 +1,16 @@
+package com.mycompany.myapp.account.domain;
+
+import java.util.List;
+
+/**
+ * Creates many accounts at once
+ */
+public interface BulkAccountsRepository {
+  /**
+   * Inserts, in a single transaction, the accounts whose username and email are not used yet (including by a previous
+   * account of the list)
+   *
+   * @return for each account (in the same order), true if it was inserted, false if it was a duplicate
+   */
+  List<Boolean> insertNew(List<NewAccount> accounts);
+}
@@ -0,0 +1,14 @@
+package com.mycompany.myapp.account.domain;
+
+import com.mycompany.myapp.shared.authentication.domain.Username;
+import java.time.Instant;
+
+/**
+ * Keeps track of the login attempts of the users (last successful login, failed attempts since then). Recording is cheap
+ * enough to be done on every login: the store can be updated later.
+ */
+public interface LoginAttempts {
+  void succeeded(Username username, Instant date);
+
+  void failed(Username username);
+}
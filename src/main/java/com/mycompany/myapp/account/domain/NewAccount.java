@@ -0,0 +1,14 @@
+package com.mycompany.myapp.account.domain;
+
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Account to create without going through the registration, its password is already hashed
+ */
+public record NewAccount(String username, String email, String password, boolean activated, String activationToken) {
+  public NewAccount {
+    Assert.notBlank("username", username);
+    Assert.notBlank("email", email);
+    Assert.notBlank("password", password);
+  }
+}
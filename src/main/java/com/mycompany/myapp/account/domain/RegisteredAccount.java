@@ -0,0 +1,6 @@
+package com.mycompany.myapp.account.domain;
+
+/**
+ * Read only view of the identifiers of a registered account
+ */
+public record RegisteredAccount(String username, String email) {}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.account.domain;
+
+/**
+ * Tells if usernames and emails are already used by an account, to give feedback while filling the registration form. The
+ * uniqueness of accounts is still enforced on registration. New accounts are published as {@link AccountRegistered} once
+ * stored.
+ */
+public interface RegisteredAccounts {
+  boolean usernameTaken(String username);
+
+  boolean emailTaken(String email);
+}
@@ -1,5 +1,14 @@
 package com.mycompany.myapp.account.domain;
 
+import java.util.Optional;
+
 public interface TokensRepository {
   Token buildToken(AuthenticationQuery query);
+
+  /**
+   * Exchange a valid token, or one expired for less than the renewal grace period, for a new one with a sliding expiration
+   *
+   * @return the new token, empty if the given one can't be renewed
+   */
+  Optional<Token> renew(Token token);
 }
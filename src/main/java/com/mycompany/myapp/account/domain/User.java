@@ -1,20 +1,38 @@
 package com.mycompany.myapp.account.domain;
 
 import jakarta.persistence.*;
+import java.time.Instant;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(
+  name = "users",
+  uniqueConstraints = {
+    @UniqueConstraint(name = User.USERNAME_CONSTRAINT, columnNames = "username"),
+    @UniqueConstraint(name = User.EMAIL_CONSTRAINT, columnNames = "email"),
+  },
+  indexes = @Index(name = "idx_users_token_epoch_update", columnList = "token_epoch_update")
+)
 public class User {
 
+  public static final String USERNAME_CONSTRAINT = "ux_users_username";
+  public static final String EMAIL_CONSTRAINT = "ux_users_email";
+  public static final String ID_SEQUENCE = "users_seq";
+  public static final int ID_ALLOCATION_SIZE = 50;
+
+  /**
+   * Ids are allocated by blocks: each sequence value is the highest id of a block of {@link #ID_ALLOCATION_SIZE} ids. The
+   * bulk import allocates its ids the same way, directly from the sequence
+   */
   @Id
-  @GeneratedValue(strategy = GenerationType.AUTO)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+  @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String username;
 
-  @Column(nullable = false, unique = true)
+  @Column(nullable = false)
   private String email;
 
   @Column(nullable = false)
@@ -26,6 +44,22 @@ public class User {
   private String activationToken;
   private String resetToken;
 
+  @Column(nullable = false)
+  private long tokenEpoch;
+
+  private Instant tokenEpochUpdate;
+
+  /**
+   * Written behind by {@link LoginAttempts}: may lag a few seconds behind the actual logins
+   */
+  private Instant lastLoginAt;
+
+  /**
+   * Failed logins since the last successful one, written behind by {@link LoginAttempts}
+   */
+  @Column(nullable = false)
+  private int failedLoginAttempts;
+
   public User() {}
 
   public User(String username, String email, String password) {
@@ -88,4 +122,28 @@ public class User {
   public void setResetToken(String resetToken) {
     this.resetToken = resetToken;
   }
+
+  public long getTokenEpoch() {
+    return tokenEpoch;
+  }
+
+  public Instant getTokenEpochUpdate() {
+    return tokenEpochUpdate;
+  }
+
+  public Instant getLastLoginAt() {
+    return lastLoginAt;
+  }
+
+  public int getFailedLoginAttempts() {
+    return failedLoginAttempts;
+  }
+
+  /**
+   * Bump the tokens epoch so every token issued until now is rejected
+   */
+  public void invalidateTokens() {
+    tokenEpoch++;
+    tokenEpochUpdate = Instant.now();
+  }
 }
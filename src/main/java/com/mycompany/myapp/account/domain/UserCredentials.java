@@ -0,0 +1,6 @@
+package com.mycompany.myapp.account.domain;
+
+/**
+ * Read only view of the account state needed to authenticate a user
+ */
+public record UserCredentials(String username, String password, boolean activated, long tokenEpoch) {}
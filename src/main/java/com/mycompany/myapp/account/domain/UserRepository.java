@@ -1,11 +1,50 @@
 package com.mycompany.myapp.account.domain;
 
+import jakarta.persistence.QueryHint;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
   Optional<User> findByUsername(String username);
   Optional<User> findByEmail(String email);
   Optional<User> findByActivationToken(String activationToken);
   Optional<User> findByResetToken(String resetToken);
+
+  /**
+   * Only reads the columns needed to authenticate: no entity is loaded in the persistence context
+   */
+  @Transactional(readOnly = true)
+  @Query(
+    "select new com.mycompany.myapp.account.domain.UserCredentials(user.username, user.password, user.activated, user.tokenEpoch) " +
+    "from User user where user.username = :username"
+  )
+  Optional<UserCredentials> findCredentialsByUsername(@Param("username") String username);
+
+  @Transactional(readOnly = true)
+  boolean existsByUsername(String username);
+
+  @Transactional(readOnly = true)
+  boolean existsByEmail(String email);
+
+  /**
+   * Reads the identifiers of all the accounts with a database cursor, without loading entities. The stream must be
+   * consumed (and closed) in a surrounding transaction.
+   */
+  @QueryHints(
+    { @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") }
+  )
+  @Query("select new com.mycompany.myapp.account.domain.RegisteredAccount(user.username, user.email) from User user")
+  Stream<RegisteredAccount> streamRegisteredAccounts();
+
+  @Modifying
+  @Transactional
+  @Query("update User user set user.password = :password where user.username = :username")
+  int updatePassword(@Param("username") String username, @Param("password") String password);
 }
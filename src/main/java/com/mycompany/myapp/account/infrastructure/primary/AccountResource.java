@@ -11,9 +11,11 @@ import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -37,8 +39,36 @@ class AccountResource {
 
   @PostMapping("/register")
   public ResponseEntity<String> register(@Valid @RequestBody RegistrationDTO dto) {
-    accountService.registerUser(dto);
-    return ResponseEntity.ok("Registration successful. Please check your email for activation instructions.");
+    try {
+      accountService.registerUser(dto);
+      return ResponseEntity.ok("Registration successful. Please check your email for activation instructions.");
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  /**
+   * {@code GET  /register/availability} : check if a username and/or an email can still be used to register.
+   *
+   * @return the availability of the requested values, {@code 400 (Bad Request)} if no value was requested.
+   */
+  @GetMapping("/register/availability")
+  public ResponseEntity<RestAvailability> availability(
+    @RequestParam(required = false) String username,
+    @RequestParam(required = false) String email
+  ) {
+    boolean checkUsername = username != null && !username.isBlank();
+    boolean checkEmail = email != null && !email.isBlank();
+    if (!checkUsername && !checkEmail) {
+      return ResponseEntity.badRequest().build();
+    }
+
+    return ResponseEntity.ok(
+      new RestAvailability(
+        checkUsername ? accountService.usernameAvailable(username) : null,
+        checkEmail ? accountService.emailAvailable(email) : null
+      )
+    );
   }
 
   @PostMapping("/activate")
@@ -71,6 +101,16 @@ class AccountResource {
     }
   }
 
+  @PostMapping("/admin/accounts/{username}/invalidate-tokens")
+  public ResponseEntity<Void> invalidateTokens(@PathVariable String username) {
+    try {
+      accountService.invalidateTokens(username);
+      return ResponseEntity.noContent().build();
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.notFound().build();
+    }
+  }
+
   private Set<String> roles() {
     return AuthenticatedUser.roles().stream().map(Role::key).collect(Collectors.toUnmodifiableSet());
   }
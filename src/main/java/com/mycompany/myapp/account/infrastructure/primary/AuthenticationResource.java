@@ -3,19 +3,25 @@ package com.mycompany.myapp.account.infrastructure.primary;
 import io.swagger.v3.oas.annotations.Operation;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import com.mycompany.myapp.account.domain.Token;
 
 @RestController
 @RequestMapping("/api/authenticate")
 class AuthenticationResource {
 
+  private static final String BEARER_PREFIX = "Bearer ";
+
   private final Authenticator authenticator;
 
   public AuthenticationResource(Authenticator authenticator) {
@@ -30,9 +36,28 @@ class AuthenticationResource {
 
   @PostMapping
   @Operation(description = "Build an authentication token for the user")
-  public ResponseEntity<RestToken> authorize(@Valid @RequestBody RestAuthenticationQuery authenticationQuery) {
-    var token = authenticator.authenticate(authenticationQuery);
+  public ResponseEntity<RestToken> authorize(@Valid @RequestBody RestAuthenticationQuery authenticationQuery, HttpServletRequest request) {
+    return tokenResponse(authenticator.authenticate(authenticationQuery, request.getRemoteAddr()));
+  }
+
+  @PostMapping("/renew")
+  @Operation(description = "Exchange the bearer token (still valid or just expired) for a new one, without checking the password")
+  public ResponseEntity<RestToken> renew(@RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    return bearerToken(authorization)
+      .flatMap(authenticator::renew)
+      .map(AuthenticationResource::tokenResponse)
+      .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).build());
+  }
+
+  private static Optional<Token> bearerToken(String authorization) {
+    if (!StringUtils.startsWith(authorization, BEARER_PREFIX)) {
+      return Optional.empty();
+    }
+
+    return Optional.of(authorization.substring(BEARER_PREFIX.length())).filter(StringUtils::isNotBlank).map(Token::new);
+  }
 
+  private static ResponseEntity<RestToken> tokenResponse(Token token) {
     var httpHeaders = new HttpHeaders();
     httpHeaders.add(HttpHeaders.AUTHORIZATION, token.bearer());
 
@@ -1,11 +1,14 @@
 package com.mycompany.myapp.account.infrastructure.primary;
 
 import com.mycompany.myapp.account.application.AccountApplicationService;
+import com.mycompany.myapp.account.domain.AuthenticationQuery;
 import com.mycompany.myapp.account.domain.Token;
-import com.mycompany.myapp.account.domain.UserRepository;
+import com.mycompany.myapp.account.infrastructure.secondary.AccountUserDetails;
 import com.mycompany.myapp.shared.authentication.application.AuthenticatedUser;
-import org.springframework.beans.factory.annotation.Autowired;
+import java.util.Optional;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
@@ -14,26 +17,52 @@ class Authenticator {
 
   private final AccountApplicationService accounts;
   private final AuthenticationManagerBuilder authenticationManagerBuilder;
+  private final LoginThrottle throttle;
 
-  @Autowired
-  private UserRepository userRepository;
-
-  public Authenticator(AccountApplicationService accounts, AuthenticationManagerBuilder authenticationManagerBuilder) {
+  public Authenticator(
+    AccountApplicationService accounts,
+    AuthenticationManagerBuilder authenticationManagerBuilder,
+    LoginThrottle throttle
+  ) {
     this.accounts = accounts;
     this.authenticationManagerBuilder = authenticationManagerBuilder;
+    this.throttle = throttle;
   }
 
-  Token authenticate(RestAuthenticationQuery query) {
-    var authentication = authenticationManagerBuilder.getObject().authenticate(query.authenticationToken());
+  Token authenticate(RestAuthenticationQuery query, String clientAddress) {
+    throttle.acquire(query.getUsername(), clientAddress);
 
-    // Check if user is activated
-    var userOpt = userRepository.findByUsername(query.getUsername());
-    if (userOpt.isEmpty() || !userOpt.get().isActivated()) {
-      throw new IllegalStateException("Account is not activated");
-    }
+    var authentication = checkCredentials(query, clientAddress);
 
     SecurityContextHolder.getContext().setAuthentication(authentication);
 
-    return accounts.createToken(query.toDomain(AuthenticatedUser.roles()));
+    return accounts.createToken(withLoadedAccount(query.toDomain(AuthenticatedUser.roles()), authentication));
+  }
+
+  private Authentication checkCredentials(RestAuthenticationQuery query, String clientAddress) {
+    try {
+      var authentication = authenticationManagerBuilder.getObject().authenticate(query.authenticationToken());
+      throttle.succeeded(query.getUsername(), clientAddress);
+      accounts.loginSucceeded(query.getUsername());
+
+      return authentication;
+    } catch (AuthenticationException e) {
+      throttle.failed(query.getUsername(), clientAddress);
+      accounts.loginFailed(query.getUsername());
+
+      throw e;
+    }
+  }
+
+  private static AuthenticationQuery withLoadedAccount(AuthenticationQuery query, Authentication authentication) {
+    if (authentication.getPrincipal() instanceof AccountUserDetails account) {
+      return query.withTokenEpoch(account.tokenEpoch());
+    }
+
+    return query;
+  }
+
+  Optional<Token> renew(Token token) {
+    return accounts.renewToken(token);
   }
 }
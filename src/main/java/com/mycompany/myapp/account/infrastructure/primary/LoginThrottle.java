@@ -0,0 +1,259 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Limits the login attempts per username and per client address, checked before any password hashing or database query.
+ *
+ * <p>
+ * Each key gets a token bucket (a burst of attempts, then one more attempt per refill period) and, after some consecutive
+ * failures, has to wait between attempts for an exponentially growing time. Buckets are striped: keys are hashed (with a
+ * random seed so colliding keys can't be chosen) to a fixed size table, keys sharing a bucket share their limits. Memory use
+ * is constant whatever the number of usernames or addresses tried, idle buckets simply refill and forget their failures.
+ * </p>
+ *
+ * <p>
+ * Each bucket is packed in a single long (last update time, consumed tokens, consecutive failures) updated with CAS: no
+ * lock, no allocation. Rejections don't write anything.
+ * </p>
+ *
+ * <p>
+ * The client address is the one of the request, read from {@code X-Forwarded-For} only when the request comes from a
+ * trusted proxy ({@code server.tomcat.remoteip.internal-proxies}): behind an untrusted proxy all the clients share its
+ * address, and its bucket.
+ * </p>
+ */
+@Service
+class LoginThrottle {
+
+  static final String THROTTLED = "login.throttled";
+
+  private final boolean enabled;
+  private final TokenBuckets usernames;
+  private final TokenBuckets clientAddresses;
+  private final LongSupplier clock;
+  private final Counter throttledUsernames;
+  private final Counter throttledClientAddresses;
+
+  @Autowired
+  public LoginThrottle(LoginThrottlingProperties properties, MeterRegistry meters) {
+    this(properties, meters, monotonicMillis());
+  }
+
+  LoginThrottle(LoginThrottlingProperties properties, MeterRegistry meters, LongSupplier clock) {
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("clock", clock);
+
+    enabled = properties.isEnabled();
+    usernames = new TokenBuckets(properties, properties.getUsername());
+    clientAddresses = new TokenBuckets(properties, properties.getClientAddress());
+    this.clock = clock;
+    throttledUsernames = throttledCounter(meters, "username");
+    throttledClientAddresses = throttledCounter(meters, "client-address");
+  }
+
+  private static LongSupplier monotonicMillis() {
+    long origin = System.nanoTime();
+
+    return () -> (System.nanoTime() - origin) / 1_000_000;
+  }
+
+  private static Counter throttledCounter(MeterRegistry meters, String limit) {
+    return Counter.builder(THROTTLED)
+      .description("Login attempts rejected before checking the password, by limit")
+      .tag("limit", limit)
+      .register(meters);
+  }
+
+  /**
+   * Take an attempt from the client address and username buckets
+   *
+   * @throws LoginThrottledException
+   *           if one of them has no attempt left
+   */
+  void acquire(String username, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+
+    long now = clock.getAsLong();
+
+    long wait = clientAddresses.acquire(clientAddress, now);
+    if (wait > 0) {
+      throttledClientAddresses.increment();
+
+      throw new LoginThrottledException(Duration.ofMillis(wait));
+    }
+
+    wait = usernames.acquire(username, now);
+    if (wait > 0) {
+      throttledUsernames.increment();
+
+      throw new LoginThrottledException(Duration.ofMillis(wait));
+    }
+  }
+
+  void failed(String username, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+
+    long now = clock.getAsLong();
+    clientAddresses.failed(clientAddress, now);
+    usernames.failed(username, now);
+  }
+
+  void succeeded(String username, String clientAddress) {
+    if (!enabled) {
+      return;
+    }
+
+    long now = clock.getAsLong();
+    clientAddresses.succeeded(clientAddress, now);
+    usernames.succeeded(username, now);
+  }
+
+  /**
+   * Striped token buckets, each one packed as: last update time (40 bits, milliseconds), consumed tokens (16 bits, in
+   * 1/256 of token) and consecutive failures (8 bits). A zero bucket is a full one, without failure.
+   */
+  private static final class TokenBuckets {
+
+    private static final int UNIT = 256;
+    private static final long TIME_MASK = (1L << 40) - 1;
+    private static final int CONSUMED_SHIFT = 40;
+    private static final long CONSUMED_MASK = 0xFFFF;
+    private static final int FAILURES_SHIFT = 56;
+    private static final int MAX_FAILURES = 0xFF;
+    private static final int MAX_BACKOFF_EXPONENT = 30;
+
+    private final AtomicLongArray buckets;
+    private final int mask;
+    private final long seed = new SecureRandom().nextLong();
+    private final long capacity;
+    private final long refillMillis;
+    private final int freeFailures;
+    private final long backoff;
+    private final long maxBackoff;
+
+    private TokenBuckets(LoginThrottlingProperties properties, LoginThrottlingProperties.Bucket bucket) {
+      int stripes = Integer.highestOneBit(Math.max(1, properties.getStripes() - 1) << 1);
+
+      buckets = new AtomicLongArray(stripes);
+      mask = stripes - 1;
+      capacity = (long) bucket.getCapacity() * UNIT;
+      refillMillis = Math.max(1, bucket.getRefillPeriod().toMillis());
+      freeFailures = bucket.getFreeFailures();
+      backoff = properties.getBackoff().toMillis();
+      maxBackoff = properties.getMaxBackoff().toMillis();
+    }
+
+    /**
+     * @return 0 if an attempt was taken, the time to wait (in milliseconds) otherwise
+     */
+    private long acquire(String key, long now) {
+      int index = index(key);
+
+      while (true) {
+        long bucket = buckets.get(index);
+        long elapsed = elapsed(bucket, now);
+        int failures = failures(bucket, elapsed);
+
+        long wait = backoff(failures) - elapsed;
+        if (wait > 0) {
+          return wait;
+        }
+
+        long consumed = consumed(bucket, elapsed) + UNIT;
+        if (consumed > capacity) {
+          return Math.max(1, ((consumed - capacity) * refillMillis + UNIT - 1) / UNIT);
+        }
+
+        if (buckets.compareAndSet(index, bucket, pack(now, consumed, failures))) {
+          return 0;
+        }
+      }
+    }
+
+    private void failed(String key, long now) {
+      update(key, now, failures -> Math.min(failures + 1, MAX_FAILURES));
+    }
+
+    private void succeeded(String key, long now) {
+      update(key, now, failures -> 0);
+    }
+
+    private void update(String key, long now, IntUnaryOperator failuresUpdate) {
+      int index = index(key);
+
+      long bucket;
+      long updated;
+      do {
+        bucket = buckets.get(index);
+        long elapsed = elapsed(bucket, now);
+        updated = pack(now, consumed(bucket, elapsed), failuresUpdate.applyAsInt(failures(bucket, elapsed)));
+      } while (!buckets.compareAndSet(index, bucket, updated));
+    }
+
+    private static long elapsed(long bucket, long now) {
+      return Math.max(0, now - (bucket & TIME_MASK));
+    }
+
+    private int failures(long bucket, long elapsed) {
+      if (elapsed >= maxBackoff) {
+        return 0;
+      }
+
+      return (int) (bucket >>> FAILURES_SHIFT);
+    }
+
+    private long consumed(long bucket, long elapsed) {
+      long consumed = (bucket >>> CONSUMED_SHIFT) & CONSUMED_MASK;
+
+      return Math.max(0, consumed - (elapsed * UNIT) / refillMillis);
+    }
+
+    private long backoff(int failures) {
+      if (failures <= freeFailures) {
+        return 0;
+      }
+
+      int exponent = Math.min(failures - freeFailures - 1, MAX_BACKOFF_EXPONENT);
+      if (backoff > (maxBackoff >> exponent)) {
+        return maxBackoff;
+      }
+
+      return backoff << exponent;
+    }
+
+    private static long pack(long now, long consumed, int failures) {
+      return (now & TIME_MASK) | (consumed << CONSUMED_SHIFT) | ((long) failures << FAILURES_SHIFT);
+    }
+
+    private int index(String key) {
+      long hash = seed;
+
+      if (key != null) {
+        for (int i = 0; i < key.length(); i++) {
+          hash = (hash ^ key.charAt(i)) * 0x100000001B3L;
+        }
+      }
+
+      hash ^= hash >>> 33;
+      hash *= 0xFF51AFD7ED558CCDL;
+      hash ^= hash >>> 33;
+
+      return (int) hash & mask;
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import java.time.Duration;
+
+/**
+ * Thrown when a login is attempted too often for a username or from a client address: it should be retried later
+ */
+class LoginThrottledException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  LoginThrottledException(Duration retryAfter) {
+    super("Too many login attempts");
+    this.retryAfter = retryAfter;
+  }
+
+  Duration retryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,8 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(LoginThrottlingProperties.class)
+class LoginThrottlingConfiguration {}
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+@ControllerAdvice
+@Order(Ordered.LOWEST_PRECEDENCE - 20_000)
+class LoginThrottlingExceptionAdvice {
+
+  @ExceptionHandler(LoginThrottledException.class)
+  public ResponseEntity<ProblemDetail> handleLoginThrottled(LoginThrottledException ex) {
+    var detail = ProblemDetail.forStatus(HttpStatus.TOO_MANY_REQUESTS);
+    detail.setTitle("too many login attempts");
+    detail.setProperty("message", "error.http.429");
+
+    long retryAfter = (ex.retryAfter().toMillis() + 999) / 1000;
+
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter)))
+      .body(detail);
+  }
+}
@@ -0,0 +1,136 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.security.login-throttling")
+class LoginThrottlingProperties {
+
+  /**
+   * Reject logins attempted too often for a username or from a client address
+   */
+  private boolean enabled = true;
+
+  /**
+   * Number of buckets of each table: keys sharing a bucket share their limits, memory use doesn't depend on the keys count
+   */
+  private int stripes = 65_536;
+
+  /**
+   * Time to wait after the first failure over the free ones, doubled for each new failure
+   */
+  private Duration backoff = Duration.ofSeconds(1);
+
+  /**
+   * Maximum time to wait after failures, failures are forgotten after this idle time
+   */
+  private Duration maxBackoff = Duration.ofMinutes(15);
+
+  private final Bucket username = new Bucket(10, Duration.ofMinutes(1), 3);
+  private final Bucket clientAddress = new Bucket(50, Duration.ofSeconds(1), 20);
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Min(1)
+  @Max(1 << 24)
+  public int getStripes() {
+    return stripes;
+  }
+
+  public void setStripes(int stripes) {
+    this.stripes = stripes;
+  }
+
+  @NotNull
+  public Duration getBackoff() {
+    return backoff;
+  }
+
+  public void setBackoff(Duration backoff) {
+    this.backoff = backoff;
+  }
+
+  @NotNull
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  public void setMaxBackoff(Duration maxBackoff) {
+    this.maxBackoff = maxBackoff;
+  }
+
+  @Valid
+  public Bucket getUsername() {
+    return username;
+  }
+
+  @Valid
+  public Bucket getClientAddress() {
+    return clientAddress;
+  }
+
+  static class Bucket {
+
+    /**
+     * Number of attempts that can be made in a burst
+     */
+    private int capacity;
+
+    /**
+     * Time needed to get one more attempt
+     */
+    private Duration refillPeriod;
+
+    /**
+     * Number of consecutive failures allowed before waiting between attempts
+     */
+    private int freeFailures;
+
+    Bucket(int capacity, Duration refillPeriod, int freeFailures) {
+      this.capacity = capacity;
+      this.refillPeriod = refillPeriod;
+      this.freeFailures = freeFailures;
+    }
+
+    @Min(1)
+    @Max(255)
+    public int getCapacity() {
+      return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+      this.capacity = capacity;
+    }
+
+    @NotNull
+    public Duration getRefillPeriod() {
+      return refillPeriod;
+    }
+
+    public void setRefillPeriod(Duration refillPeriod) {
+      this.refillPeriod = refillPeriod;
+    }
+
+    @Min(0)
+    @Max(254)
+    public int getFreeFailures() {
+      return freeFailures;
+    }
+
+    public void setFreeFailures(int freeFailures) {
+      this.freeFailures = freeFailures;
+    }
+  }
+}
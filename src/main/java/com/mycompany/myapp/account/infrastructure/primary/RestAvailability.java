@@ -0,0 +1,25 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(name = "availability", description = "Availability of account identifiers for a registration")
+class RestAvailability {
+
+  private final Boolean username;
+  private final Boolean email;
+
+  public RestAvailability(Boolean username, Boolean email) {
+    this.username = username;
+    this.email = email;
+  }
+
+  @Schema(description = "True if the requested username can be used, absent if no username was requested")
+  public Boolean getUsername() {
+    return username;
+  }
+
+  @Schema(description = "True if the requested email can be used, absent if no email was requested")
+  public Boolean getEmail() {
+    return email;
+  }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+import java.util.Locale;
+import com.mycompany.myapp.account.application.UserImportResult;
+
+@Schema(name = "userImportResult", description = "Result of the import of a user, or of the whole import when it was aborted")
+final class RestUserImportResult {
+
+  private static final String ABORTED = "aborted";
+
+  private final Long line;
+  private final String username;
+  private final String status;
+  private final String message;
+
+  private RestUserImportResult(Long line, String username, String status, String message) {
+    this.line = line;
+    this.username = username;
+    this.status = status;
+    this.message = message;
+  }
+
+  static RestUserImportResult from(UserImportResult result) {
+    return new RestUserImportResult(result.line(), result.username(), result.status().name().toLowerCase(Locale.ROOT), result.message());
+  }
+
+  static RestUserImportResult aborted(String message) {
+    return new RestUserImportResult(null, null, ABORTED, message);
+  }
+
+  @Schema(description = "Line of the user in the imported file")
+  public Long getLine() {
+    return line;
+  }
+
+  @Schema(description = "Username of the imported user")
+  public String getUsername() {
+    return username;
+  }
+
+  @Schema(
+    description = "Result of the import",
+    requiredMode = RequiredMode.REQUIRED,
+    allowableValues = { "created", "duplicate", "invalid", "failed", "aborted" }
+  )
+  public String getStatus() {
+    return status;
+  }
+
+  @Schema(description = "Reason of the failure")
+  public String getMessage() {
+    return message;
+  }
+}
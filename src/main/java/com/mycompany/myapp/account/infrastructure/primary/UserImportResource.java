@@ -0,0 +1,101 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import com.mycompany.myapp.account.application.AccountImportApplicationService;
+import com.mycompany.myapp.account.application.UserImportResult;
+import com.mycompany.myapp.account.application.UserImportRow;
+
+@RestController
+@RequestMapping("/api/admin")
+class UserImportResource {
+
+  static final String CSV = "text/csv";
+  static final String NDJSON = "application/x-ndjson";
+
+  private final AccountImportApplicationService imports;
+  private final ObjectMapper json;
+
+  UserImportResource(AccountImportApplicationService imports, ObjectMapper json) {
+    this.imports = imports;
+    this.json = json;
+  }
+
+  /**
+   * {@code POST  /admin/users/import} : create accounts from a CSV or NDJSON file (gzipped or not).
+   *
+   * <p>
+   * The file is read while it is uploaded and one NDJSON result per user is written back as soon as its batch is imported.
+   * If the file can't be read any further, a last {@code aborted} result is written.
+   * </p>
+   *
+   * @param activated
+   *          true to create activated accounts
+   * @param sendActivationEmails
+   *          true to send activation emails to the created not activated accounts
+   */
+  @PostMapping(value = "/users/import", consumes = { CSV, NDJSON }, produces = NDJSON)
+  public void importUsers(
+    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+    @RequestParam(defaultValue = "false") boolean activated,
+    @RequestParam(defaultValue = "true") boolean sendActivationEmails,
+    HttpServletRequest request,
+    HttpServletResponse response
+  ) throws IOException {
+    response.setContentType(NDJSON);
+    OutputStream output = response.getOutputStream();
+
+    try (Stream<UserImportRow> rows = rows(contentType, request.getInputStream())) {
+      imports.importUsers(rows, activated, sendActivationEmails, results -> write(output, results));
+    } catch (UncheckedIOException | JacksonException | RuntimeJsonMappingException | IllegalArgumentException e) {
+      writeLine(output, RestUserImportResult.aborted(e.getMessage()));
+    }
+
+    output.flush();
+  }
+
+  private Stream<UserImportRow> rows(MediaType contentType, InputStream body) {
+    if (MediaType.valueOf(CSV).isCompatibleWith(contentType)) {
+      return UserImportRows.csv(body);
+    }
+
+    return UserImportRows.ndjson(body, json);
+  }
+
+  private void write(OutputStream output, List<UserImportResult> results) {
+    for (UserImportResult result : results) {
+      writeLine(output, RestUserImportResult.from(result));
+    }
+
+    try {
+      output.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private void writeLine(OutputStream output, RestUserImportResult result) {
+    try {
+      output.write(json.writeValueAsBytes(result));
+      output.write('\n');
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
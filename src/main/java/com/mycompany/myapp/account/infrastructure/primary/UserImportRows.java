@@ -0,0 +1,196 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.GZIPInputStream;
+import com.mycompany.myapp.account.application.UserImportRow;
+
+/**
+ * Lazily reads the users of an import file, one at a time: the whole file is never in memory. Gzipped files are detected
+ * and uncompressed on the fly.
+ */
+final class UserImportRows {
+
+  private static final int GZIP_MAGIC_FIRST_BYTE = 0x1f;
+  private static final int GZIP_MAGIC_SECOND_BYTE = 0x8b;
+
+  private UserImportRows() {}
+
+  /**
+   * Read newline delimited JSON objects with {@code username}, {@code email} and {@code password} fields
+   */
+  static Stream<UserImportRow> ndjson(InputStream input, ObjectMapper json) {
+    try {
+      MappingIterator<RestImportedUser> users = json.readerFor(RestImportedUser.class).readValues(uncompressed(input));
+
+      return stream(
+        new Iterator<>() {
+          private long line;
+
+          @Override
+          public boolean hasNext() {
+            return users.hasNext();
+          }
+
+          @Override
+          public UserImportRow next() {
+            RestImportedUser user = users.next();
+
+            return new UserImportRow(++line, user.username(), user.email(), user.password());
+          }
+        }
+      );
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Read comma separated values with a header line naming (in any order) the {@code username}, {@code email} and
+   * {@code password} columns. Values can be quoted, with doubled quotes inside quoted values.
+   */
+  static Stream<UserImportRow> csv(InputStream input) {
+    var reader = new BufferedReader(new InputStreamReader(uncompressed(input), StandardCharsets.UTF_8));
+
+    String header = readLine(reader);
+    if (header == null) {
+      return Stream.empty();
+    }
+
+    List<String> columns = fields(header).stream().map(column -> column.strip().toLowerCase(Locale.ROOT)).toList();
+    int username = column(columns, "username");
+    int email = column(columns, "email");
+    int password = column(columns, "password");
+
+    return stream(
+      new Iterator<>() {
+        private long line = 1;
+        private String next = nextLine();
+
+        @Override
+        public boolean hasNext() {
+          return next != null;
+        }
+
+        @Override
+        public UserImportRow next() {
+          if (next == null) {
+            throw new NoSuchElementException();
+          }
+
+          List<String> values = fields(next);
+          var row = new UserImportRow(line, value(values, username), value(values, email), value(values, password));
+          next = nextLine();
+
+          return row;
+        }
+
+        private String nextLine() {
+          String read;
+          do {
+            read = readLine(reader);
+            line++;
+          } while (read != null && read.isBlank());
+
+          return read;
+        }
+      }
+    );
+  }
+
+  private static InputStream uncompressed(InputStream input) {
+    try {
+      var buffered = new BufferedInputStream(input);
+      buffered.mark(2);
+      boolean gzipped = buffered.read() == GZIP_MAGIC_FIRST_BYTE && buffered.read() == GZIP_MAGIC_SECOND_BYTE;
+      buffered.reset();
+
+      if (gzipped) {
+        return new GZIPInputStream(buffered);
+      }
+
+      return buffered;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String readLine(BufferedReader reader) {
+    try {
+      return reader.readLine();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static int column(List<String> columns, String name) {
+    int index = columns.indexOf(name);
+
+    if (index == -1) {
+      throw new IllegalArgumentException("Missing " + name + " column in CSV header");
+    }
+
+    return index;
+  }
+
+  private static String value(List<String> values, int index) {
+    if (index >= values.size()) {
+      return null;
+    }
+
+    return values.get(index);
+  }
+
+  private static List<String> fields(String line) {
+    List<String> fields = new ArrayList<>();
+    var field = new StringBuilder();
+    boolean quoted = false;
+
+    for (int i = 0; i < line.length(); i++) {
+      char character = line.charAt(i);
+
+      if (quoted) {
+        if (character != '"') {
+          field.append(character);
+        } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (character == '"') {
+        quoted = true;
+      } else if (character == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(character);
+      }
+    }
+    fields.add(field.toString());
+
+    return fields;
+  }
+
+  private static Stream<UserImportRow> stream(Iterator<UserImportRow> rows) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  record RestImportedUser(String username, String email, String password) {}
+}
@@ -0,0 +1,32 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import java.util.Collection;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+/**
+ * {@link User} also carrying the account state needed to issue tokens, so a login only loads the account once
+ */
+public class AccountUserDetails extends User {
+
+  private final long tokenEpoch;
+
+  AccountUserDetails(
+    String username,
+    String password,
+    boolean enabled,
+    Collection<? extends GrantedAuthority> authorities,
+    long tokenEpoch
+  ) {
+    super(username, password, enabled, true, true, true, authorities);
+    this.tokenEpoch = tokenEpoch;
+  }
+
+  public long tokenEpoch() {
+    return tokenEpoch;
+  }
+
+  AccountUserDetails withPassword(String password) {
+    return new AccountUserDetails(getUsername(), password, isEnabled(), getAuthorities(), tokenEpoch);
+  }
+}
@@ -0,0 +1,298 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.RegisteredAccount;
+import com.mycompany.myapp.account.domain.RegisteredAccounts;
+import com.mycompany.myapp.account.domain.UserRepository;
+import com.mycompany.myapp.shared.collection.domain.BloomFilter;
+import com.mycompany.myapp.shared.concurrency.domain.SingleFlight;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link RegisteredAccounts} with in memory {@link BloomFilter}s of the (stripped and lower cased) usernames and emails in
+ * front of the database: only values hitting a filter (taken ones, false positives and values differing only by their case)
+ * need an exact database lookup.
+ *
+ * <p>
+ * The filters are built by streaming the identifiers of all the accounts through a database cursor, then rebuilt every
+ * {@code refresh-delay} to pick up the accounts registered by other instances. Accounts registered on this instance are
+ * added once committed ({@link AccountRegistered}); the ones committed while a rebuild runs are also buffered and added to
+ * the new filters, as the cursor may not see them. Until the first build every check goes to the database. Concurrent
+ * lookups of the same value (double submitted forms, availability checks while typing) share a single database query.
+ * </p>
+ */
+@Repository
+class BloomFilteredRegisteredAccounts implements RegisteredAccounts {
+
+  static final String LOOKUPS = "account.availability.lookups";
+  static final String COALESCED_LOOKUPS = "account.availability.lookups.coalesced";
+  static final String FILTER_SIZE = "account.availability.filter.size";
+  static final String FILTER_FALSE_POSITIVE_PROBABILITY = "account.availability.filter.false-positive-probability";
+
+  private static final Logger log = LoggerFactory.getLogger(BloomFilteredRegisteredAccounts.class);
+
+  private final UserRepository users;
+  private final TransactionOperations transactions;
+  private final RegisteredAccountsProperties properties;
+  private final Field usernames;
+  private final Field emails;
+
+  private volatile Filters filters;
+  private volatile Queue<RegisteredAccount> registeredDuringRebuild;
+
+  @Autowired
+  public BloomFilteredRegisteredAccounts(
+    UserRepository users,
+    PlatformTransactionManager transactionManager,
+    RegisteredAccountsProperties properties,
+    MeterRegistry meters
+  ) {
+    this(users, readOnly(transactionManager), properties, meters);
+  }
+
+  BloomFilteredRegisteredAccounts(
+    UserRepository users,
+    TransactionOperations transactions,
+    RegisteredAccountsProperties properties,
+    MeterRegistry meters
+  ) {
+    Assert.notNull("users", users);
+    Assert.notNull("transactions", transactions);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+
+    this.users = users;
+    this.transactions = transactions;
+    this.properties = properties;
+    usernames = new Field("username", Filters::usernames, users::existsByUsername, meters);
+    emails = new Field("email", Filters::emails, users::existsByEmail, meters);
+  }
+
+  private static TransactionOperations readOnly(PlatformTransactionManager transactionManager) {
+    var template = new TransactionTemplate(transactionManager);
+    template.setReadOnly(true);
+
+    return template;
+  }
+
+  @Override
+  public boolean usernameTaken(String username) {
+    Assert.notBlank("username", username);
+
+    return usernames.taken(username);
+  }
+
+  @Override
+  public boolean emailTaken(String email) {
+    Assert.notBlank("email", email);
+
+    return emails.taken(email);
+  }
+
+  /**
+   * Only committed registrations are added: a rolled back one must not make its identifiers look taken
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void accountRegistered(AccountRegistered event) {
+    var account = new RegisteredAccount(event.username(), event.email());
+
+    Queue<RegisteredAccount> buffer = registeredDuringRebuild;
+    if (buffer != null) {
+      buffer.add(account);
+    }
+
+    Filters current = filters;
+    if (current != null) {
+      current.put(account);
+    }
+  }
+
+  /**
+   * The buffer is set before the accounts are counted and read, and emptied into the new filters once they are published:
+   * an account committed during the rebuild is seen by the cursor, buffered, or added to the new filters
+   */
+  @Scheduled(fixedDelayString = "${application.security.account-availability.refresh-delay:PT10M}")
+  synchronized void refresh() {
+    Queue<RegisteredAccount> buffer = new ConcurrentLinkedQueue<>();
+    registeredDuringRebuild = buffer;
+
+    try {
+      Filters refreshed = transactions.execute(status -> scan());
+      filters = refreshed;
+      buffer.forEach(refreshed::put);
+
+      log.debug("Account availability filters refreshed: {} accounts", refreshed.usernames().insertions());
+    } finally {
+      registeredDuringRebuild = null;
+    }
+  }
+
+  private Filters scan() {
+    int expected = (int) Math.min(Integer.MAX_VALUE, Math.max(properties.getExpectedAccounts(), users.count() * 2));
+    var building = new Filters(filter(expected), filter(expected));
+
+    try (Stream<RegisteredAccount> accounts = users.streamRegisteredAccounts()) {
+      accounts.forEach(building::put);
+    }
+
+    return building;
+  }
+
+  private IdentifiersFilter filter(int expected) {
+    return new IdentifiersFilter(BloomFilter.of(expected, properties.getFalsePositiveProbability()));
+  }
+
+  private record Filters(IdentifiersFilter usernames, IdentifiersFilter emails) {
+    void put(RegisteredAccount account) {
+      usernames.put(account.username());
+      emails.put(account.email());
+    }
+  }
+
+  /**
+   * {@link BloomFilter} of normalized identifiers, counting its insertions to estimate its current false positive
+   * probability
+   */
+  private static final class IdentifiersFilter {
+
+    private final BloomFilter filter;
+    private final LongAdder insertions = new LongAdder();
+
+    private IdentifiersFilter(BloomFilter filter) {
+      this.filter = filter;
+    }
+
+    void put(String value) {
+      if (value != null) {
+        filter.put(normalized(value));
+        insertions.increment();
+      }
+    }
+
+    boolean mightContain(String value) {
+      return filter.mightContain(normalized(value));
+    }
+
+    long insertions() {
+      return insertions.sum();
+    }
+
+    double sizeInBytes() {
+      return filter.bitsCount() / (double) Byte.SIZE;
+    }
+
+    double falsePositiveProbability() {
+      double hashes = filter.hashesCount();
+
+      return Math.pow(1 - Math.exp(-hashes * insertions() / filter.bitsCount()), hashes);
+    }
+
+    private static String normalized(String value) {
+      return value.strip().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  /**
+   * Lookups and meters of one of the account identifiers
+   */
+  private final class Field {
+
+    private final Function<Filters, IdentifiersFilter> filter;
+    private final Predicate<String> exists;
+    private final SingleFlight<String, Boolean> lookups = new SingleFlight<>();
+    private final Counter filtered;
+    private final Counter taken;
+    private final Counter falsePositives;
+    private final Counter unfiltered;
+
+    private Field(String name, Function<Filters, IdentifiersFilter> filter, Predicate<String> exists, MeterRegistry meters) {
+      this.filter = filter;
+      this.exists = exists;
+      filtered = lookups(meters, name, "filtered");
+      taken = lookups(meters, name, "taken");
+      falsePositives = lookups(meters, name, "false-positive");
+      unfiltered = lookups(meters, name, "unfiltered");
+
+      FunctionCounter.builder(COALESCED_LOOKUPS, lookups, SingleFlight::coalesced)
+        .description("Account availability database lookups that waited for an identical running one")
+        .tag("field", name)
+        .register(meters);
+
+      Gauge.builder(FILTER_SIZE, this, field -> field.current(IdentifiersFilter::sizeInBytes))
+        .description("Memory used by the account availability filter")
+        .baseUnit(BaseUnits.BYTES)
+        .tag("field", name)
+        .register(meters);
+      Gauge.builder(FILTER_FALSE_POSITIVE_PROBABILITY, this, field -> field.current(IdentifiersFilter::falsePositiveProbability))
+        .description("Estimated probability for an available value to hit the account availability filter")
+        .tag("field", name)
+        .register(meters);
+    }
+
+    private static Counter lookups(MeterRegistry meters, String field, String result) {
+      return Counter.builder(LOOKUPS)
+        .description("Account availability checks, by result: filtered ones don't need a database lookup")
+        .tag("field", field)
+        .tag("result", result)
+        .register(meters);
+    }
+
+    private double current(Function<IdentifiersFilter, Double> metric) {
+      Filters current = filters;
+      if (current == null) {
+        return Double.NaN;
+      }
+
+      return metric.apply(filter.apply(current));
+    }
+
+    boolean taken(String value) {
+      Filters current = filters;
+      if (current == null) {
+        unfiltered.increment();
+
+        return exists(value);
+      }
+
+      if (!filter.apply(current).mightContain(value)) {
+        filtered.increment();
+
+        return false;
+      }
+
+      boolean exactMatch = exists(value);
+      if (exactMatch) {
+        taken.increment();
+      } else {
+        falsePositives.increment();
+      }
+
+      return exactMatch;
+    }
+
+    private boolean exists(String value) {
+      return lookups.load(value, () -> exists.test(value));
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link UserDetailsService} keeping the loaded accounts, and the unknown usernames, in bounded caches.
+ *
+ * <p>
+ * Cached accounts are immutable snapshots, callers get copies since Spring Security erases the credentials of the
+ * {@link UserDetails} it authenticated. Entries are invalidated once the transaction changing an account is committed
+ * ({@link AccountChanged}) and when a password is rehashed. Other instances see password resets and token invalidations
+ * once they refresh their token epochs (which publishes {@link AccountChanged}), other changes after the time to live.
+ * </p>
+ */
+@Service
+public class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+  static final String USERS_CACHE_NAME = "account.user-details";
+  static final String UNKNOWN_USERS_CACHE_NAME = "account.unknown-users";
+
+  private final CustomUserDetailsService loader;
+  private final Cache<String, AccountUserDetails> users;
+  private final Cache<String, Boolean> unknownUsers;
+
+  @Autowired
+  public CachedUserDetailsService(CustomUserDetailsService loader, UserDetailsCacheProperties properties, MeterRegistry meters) {
+    this(loader, properties, meters, Ticker.systemTicker());
+  }
+
+  CachedUserDetailsService(CustomUserDetailsService loader, UserDetailsCacheProperties properties, MeterRegistry meters, Ticker ticker) {
+    Assert.notNull("loader", loader);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("ticker", ticker);
+
+    this.loader = loader;
+    users = Caffeine.newBuilder()
+      .maximumSize(properties.getMaxEntries())
+      .expireAfterWrite(properties.getTimeToLive())
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .recordStats()
+      .build();
+    unknownUsers = Caffeine.newBuilder()
+      .maximumSize(properties.getUnknownUsersMaxEntries())
+      .expireAfterWrite(properties.getUnknownUsersTimeToLive())
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .recordStats()
+      .build();
+
+    CaffeineCacheMetrics.monitor(meters, users, USERS_CACHE_NAME);
+    CaffeineCacheMetrics.monitor(meters, unknownUsers, UNKNOWN_USERS_CACHE_NAME);
+  }
+
+  @Override
+  public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    if (username == null || unknownUsers.getIfPresent(username) != null) {
+      throw new UsernameNotFoundException("User not found: " + username);
+    }
+
+    var user = users.get(username, this::load);
+    if (user == null) {
+      throw new UsernameNotFoundException("User not found: " + username);
+    }
+
+    return user.withPassword(user.getPassword());
+  }
+
+  private AccountUserDetails load(String username) {
+    try {
+      return (AccountUserDetails) loader.loadUserByUsername(username);
+    } catch (UsernameNotFoundException e) {
+      unknownUsers.put(username, Boolean.TRUE);
+
+      return null;
+    }
+  }
+
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    try {
+      return loader.updatePassword(user, newPassword);
+    } finally {
+      invalidate(user.getUsername());
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void accountChanged(AccountChanged event) {
+    invalidate(event.username());
+  }
+
+  private void invalidate(String username) {
+    users.invalidate(username);
+    unknownUsers.invalidate(username);
+  }
+}
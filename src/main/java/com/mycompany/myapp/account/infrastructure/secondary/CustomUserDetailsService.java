@@ -1,17 +1,18 @@
 package com.mycompany.myapp.account.infrastructure.secondary;
 
-import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserCredentials;
 import com.mycompany.myapp.account.domain.UserRepository;
 import com.mycompany.myapp.shared.authentication.domain.Role;
 import java.util.Collections;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
   private final UserRepository userRepository;
 
@@ -21,21 +22,30 @@ public class CustomUserDetailsService implements UserDetailsService {
 
   @Override
   public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-    var userOpt = userRepository.findByUsername(username);
-    if (userOpt.isEmpty()) {
-      throw new UsernameNotFoundException("User not found: " + username);
+    UserCredentials credentials = userRepository
+      .findCredentialsByUsername(username)
+      .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+
+    return new AccountUserDetails(
+      credentials.username(),
+      credentials.password(),
+      credentials.activated(),
+      Collections.singletonList(new SimpleGrantedAuthority(Role.USER.key())),
+      credentials.tokenEpoch()
+    );
+  }
+
+  /**
+   * Store the password hashed with the current encoding, called on login when the stored hash is outdated
+   */
+  @Override
+  public UserDetails updatePassword(UserDetails user, String newPassword) {
+    userRepository.updatePassword(user.getUsername(), newPassword);
+
+    if (user instanceof AccountUserDetails account) {
+      return account.withPassword(newPassword);
     }
 
-    User user = userOpt.get();
-
-    return org.springframework.security.core.userdetails.User.builder()
-      .username(user.getUsername())
-      .password(user.getPassword())
-      .authorities(Collections.singletonList(new SimpleGrantedAuthority(Role.USER.key())))
-      .accountExpired(false)
-      .accountLocked(false)
-      .credentialsExpired(false)
-      .disabled(!user.isActivated())
-      .build();
+    return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
   }
 }
@@ -0,0 +1,133 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.infrastructure.secondary.JpaTokenEpochsRepository.UserTokenEpoch;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link TokenEpochs} kept in memory: only users whose epoch was bumped are in the table, the others are at epoch 0.
+ *
+ * <p>
+ * The table is loaded on first use then refreshed incrementally with the epochs changed since the previous refresh (minus
+ * a safety margin for transactions committed late), so checking a token never hits the database. Epochs only ever go up:
+ * a late refresh can't bring back an epoch older than the one loaded after a change. Epochs bumped by other instances are
+ * published as {@link AccountChanged} so the accounts cached by this instance are reloaded.
+ * </p>
+ */
+@Repository
+class InMemoryTokenEpochs implements TokenEpochs {
+
+  private static final Logger log = LoggerFactory.getLogger(InMemoryTokenEpochs.class);
+
+  private static final Duration REFRESH_MARGIN = Duration.ofMinutes(1);
+
+  private final JpaTokenEpochsRepository users;
+  private final ApplicationEventPublisher events;
+  private final Clock clock;
+  private final Map<String, Long> epochs = new ConcurrentHashMap<>();
+
+  private volatile Instant loadedAt;
+
+  @Autowired
+  public InMemoryTokenEpochs(JpaTokenEpochsRepository users, ApplicationEventPublisher events) {
+    this(users, events, Clock.systemUTC());
+  }
+
+  InMemoryTokenEpochs(JpaTokenEpochsRepository users, ApplicationEventPublisher events, Clock clock) {
+    Assert.notNull("users", users);
+    Assert.notNull("events", events);
+    Assert.notNull("clock", clock);
+
+    this.users = users;
+    this.events = events;
+    this.clock = clock;
+  }
+
+  @Override
+  public long current(Username username) {
+    Assert.notNull("username", username);
+
+    if (loadedAt == null) {
+      loadAll();
+    }
+
+    return epochs.getOrDefault(username.get(), 0L);
+  }
+
+  @Override
+  public long load(Username username) {
+    Assert.notNull("username", username);
+
+    long epoch = users.findTokenEpochByUsername(username.get()).map(UserTokenEpoch::getTokenEpoch).orElse(0L);
+
+    return store(username.get(), epoch);
+  }
+
+  /**
+   * Epochs are only read once the change is committed: a rolled back change must not leave this instance ahead of the
+   * database. Changes that didn't bump the epoch (including the ones published by the refresh, with an already stored
+   * epoch) don't need a query.
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void accountChanged(AccountChanged event) {
+    if (event.tokenEpochChanged()) {
+      load(new Username(event.username()));
+    }
+  }
+
+  @Scheduled(
+    initialDelayString = "${application.security.token-epochs-refresh-delay:PT10S}",
+    fixedDelayString = "${application.security.token-epochs-refresh-delay:PT10S}"
+  )
+  void refresh() {
+    Instant previousLoad = loadedAt;
+    if (previousLoad == null) {
+      return;
+    }
+
+    loadChangedSince(previousLoad.minus(REFRESH_MARGIN), true);
+  }
+
+  private synchronized void loadAll() {
+    if (loadedAt == null) {
+      loadChangedSince(Instant.EPOCH, false);
+    }
+  }
+
+  private synchronized void loadChangedSince(Instant since, boolean publishChanges) {
+    Instant now = clock.instant();
+    var changed = users.findTokenEpochsByTokenEpochUpdateAfter(since);
+    for (UserTokenEpoch user : changed) {
+      long known = epochs.getOrDefault(user.getUsername(), 0L);
+
+      if (store(user.getUsername(), user.getTokenEpoch()) > known && publishChanges) {
+        events.publishEvent(new AccountChanged(user.getUsername()));
+      }
+    }
+    loadedAt = now;
+
+    log.debug("Token epochs refreshed: {} changed since {}", changed.size(), since);
+  }
+
+  private long store(String username, long epoch) {
+    if (epoch == 0) {
+      return epochs.getOrDefault(username, 0L);
+    }
+
+    return epochs.merge(username, epoch, Math::max);
+  }
+}
@@ -0,0 +1,102 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.mycompany.myapp.account.domain.BulkAccountsRepository;
+import com.mycompany.myapp.account.domain.NewAccount;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link BulkAccountsRepository} writing with a single JDBC batch of plain INSERT statements, without going through the
+ * persistence context.
+ *
+ * <p>
+ * Ids of all the accounts are taken from the users sequence with one query, a block of {@link User#ID_ALLOCATION_SIZE} ids
+ * per sequence value as Hibernate does. Duplicates are skipped by the database ({@code on conflict do nothing}), their
+ * update count tells them apart: the driver must not rewrite batched inserts.
+ * </p>
+ */
+@Repository
+class JdbcBulkAccountsRepository implements BulkAccountsRepository {
+
+  private static final String ALLOCATE_IDS = "select nextval('" + User.ID_SEQUENCE + "') from generate_series(1, ?)";
+  private static final String INSERT =
+    """
+    insert into users (id, username, email, password, activated, activation_token, token_epoch, failed_login_attempts)
+    values (?, ?, ?, ?, ?, ?, 0, 0)
+    on conflict do nothing
+    """;
+  private static final int[] INSERT_TYPES = { Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.BOOLEAN, Types.VARCHAR };
+
+  private final JdbcTemplate jdbc;
+
+  public JdbcBulkAccountsRepository(JdbcTemplate jdbc) {
+    Assert.notNull("jdbc", jdbc);
+
+    this.jdbc = jdbc;
+  }
+
+  @Override
+  @Transactional
+  public List<Boolean> insertNew(List<NewAccount> accounts) {
+    Assert.notNull("accounts", accounts);
+
+    if (accounts.isEmpty()) {
+      return List.of();
+    }
+
+    List<Long> ids = allocateIds(accounts.size());
+    List<Object[]> rows = new ArrayList<>(accounts.size());
+    for (int i = 0; i < accounts.size(); i++) {
+      NewAccount account = accounts.get(i);
+      rows.add(
+        new Object[] {
+          ids.get(i),
+          account.username(),
+          account.email(),
+          account.password(),
+          account.activated(),
+          account.activationToken(),
+        }
+      );
+    }
+
+    return inserted(jdbc.batchUpdate(INSERT, rows, INSERT_TYPES));
+  }
+
+  private List<Long> allocateIds(int count) {
+    List<Long> ids = new ArrayList<>(count);
+
+    while (ids.size() < count) {
+      int blocks = Math.ceilDiv(count - ids.size(), User.ID_ALLOCATION_SIZE);
+
+      for (long high : jdbc.queryForList(ALLOCATE_IDS, Long.class, blocks)) {
+        for (long id = Math.max(1, high - User.ID_ALLOCATION_SIZE + 1); id <= high && ids.size() < count; id++) {
+          ids.add(id);
+        }
+      }
+    }
+
+    return ids;
+  }
+
+  private static List<Boolean> inserted(int[] updateCounts) {
+    List<Boolean> inserted = new ArrayList<>(updateCounts.length);
+
+    for (int count : updateCounts) {
+      if (count == Statement.SUCCESS_NO_INFO) {
+        throw new IllegalStateException("Can't tell inserted accounts from duplicates without batch update counts");
+      }
+
+      inserted.add(count > 0);
+    }
+
+    return inserted;
+  }
+}
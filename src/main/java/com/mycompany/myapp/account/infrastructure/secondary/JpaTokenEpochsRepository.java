@@ -0,0 +1,22 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.repository.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import com.mycompany.myapp.account.domain.User;
+
+interface JpaTokenEpochsRepository extends Repository<User, Long> {
+  @Transactional(readOnly = true)
+  Optional<UserTokenEpoch> findTokenEpochByUsername(String username);
+
+  @Transactional(readOnly = true)
+  List<UserTokenEpoch> findTokenEpochsByTokenEpochUpdateAfter(Instant since);
+
+  interface UserTokenEpoch {
+    String getUsername();
+
+    long getTokenEpoch();
+  }
+}
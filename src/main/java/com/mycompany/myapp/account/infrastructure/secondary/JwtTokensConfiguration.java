@@ -4,5 +4,12 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
-@EnableConfigurationProperties(JwtTokensProperties.class)
+@EnableConfigurationProperties(
+  {
+    JwtTokensProperties.class,
+    UserDetailsCacheProperties.class,
+    LoginAttemptsProperties.class,
+    RegisteredAccountsProperties.class,
+  }
+)
 class JwtTokensConfiguration {}
@@ -12,8 +12,27 @@ class JwtTokensProperties {
 
   private String jwtBase64Secret;
   private Duration tokenValidity;
+
+  /**
+   * Validity of remember me tokens, also the longest time tokens can be renewed for after the login
+   */
   private Duration rememberMeTokenValidity;
 
+  /**
+   * Write roles as a numeric bitmask ("rol" claim) instead of a comma separated list of authorities ("auth" claim)
+   */
+  private boolean compactRoles;
+
+  /**
+   * Delay between two loads of the token epochs changed on other instances
+   */
+  private Duration tokenEpochsRefreshDelay = Duration.ofSeconds(10);
+
+  /**
+   * How long after their expiration tokens can still be renewed
+   */
+  private Duration renewalGracePeriod = Duration.ofMinutes(5);
+
   @NotBlank
   public String getJwtBase64Secret() {
     return jwtBase64Secret;
@@ -40,4 +59,30 @@ class JwtTokensProperties {
   public void setRememberMeTokenValidity(Duration rememberMeTokenValidity) {
     this.rememberMeTokenValidity = rememberMeTokenValidity;
   }
+
+  public boolean isCompactRoles() {
+    return compactRoles;
+  }
+
+  public void setCompactRoles(boolean compactRoles) {
+    this.compactRoles = compactRoles;
+  }
+
+  @NotNull
+  public Duration getTokenEpochsRefreshDelay() {
+    return tokenEpochsRefreshDelay;
+  }
+
+  public void setTokenEpochsRefreshDelay(Duration tokenEpochsRefreshDelay) {
+    this.tokenEpochsRefreshDelay = tokenEpochsRefreshDelay;
+  }
+
+  @NotNull
+  public Duration getRenewalGracePeriod() {
+    return renewalGracePeriod;
+  }
+
+  public void setRenewalGracePeriod(Duration renewalGracePeriod) {
+    this.renewalGracePeriod = renewalGracePeriod;
+  }
 }
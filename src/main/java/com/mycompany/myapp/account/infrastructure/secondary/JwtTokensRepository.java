@@ -1,54 +1,201 @@
 package com.mycompany.myapp.account.infrastructure.secondary;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import com.mycompany.myapp.account.domain.AuthenticationQuery;
 import com.mycompany.myapp.account.domain.Token;
 import com.mycompany.myapp.account.domain.TokensRepository;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
 import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
 import com.mycompany.myapp.shared.error.domain.Assert;
 
 @Repository
 class JwtTokensRepository implements TokensRepository {
 
+  private static final Logger log = LoggerFactory.getLogger(JwtTokensRepository.class);
+
   private final SecretKey key;
   private final long validityDuration;
   private final long rememberMeValidityDuration;
+  private final boolean compactRoles;
+  private final long renewalGracePeriod;
+  private final JwtParser renewalParser;
+  private final TokenEpochs epochs;
+  private final RevokedTokens revokedTokens;
+
+  public JwtTokensRepository(JwtTokensProperties properties, TokenEpochs epochs, RevokedTokens revokedTokens) {
+    Assert.notNull("epochs", epochs);
+    Assert.notNull("revokedTokens", revokedTokens);
 
-  public JwtTokensRepository(JwtTokensProperties properties) {
     key = Keys.hmacShaKeyFor(properties.getJwtBase64Secret().getBytes(StandardCharsets.UTF_8));
     validityDuration = properties.getTokenValidity().toSeconds();
     rememberMeValidityDuration = properties.getRememberMeTokenValidity().toSeconds();
+    compactRoles = properties.isCompactRoles();
+    renewalGracePeriod = properties.getRenewalGracePeriod().toSeconds();
+    renewalParser = Jwts.parser().verifyWith(key).clockSkewSeconds(renewalGracePeriod).build();
+    this.epochs = epochs;
+    this.revokedTokens = revokedTokens;
   }
 
   public Token buildToken(AuthenticationQuery query) {
     Assert.notNull("query", query);
 
+    var now = Instant.now();
+
+    long epoch = epoch(query);
+
+    return buildToken(query.username(), query.roles(), epoch, now, now, now.plusSeconds(getValidity(query)));
+  }
+
+  /**
+   * The epoch loaded with the account can come from a cached account, older than the epoch known by this instance
+   */
+  private long epoch(AuthenticationQuery query) {
+    if (query.tokenEpoch().isEmpty()) {
+      return epochs.load(query.username());
+    }
+
+    return Math.max(query.tokenEpoch().getAsLong(), epochs.current(query.username()));
+  }
+
+  /**
+   * Only checks the token signature, epoch and revocation: renewing doesn't need the user password. The renewed token is
+   * revoked and the new one gets the same lifetime, without going past the remember me validity since the login
+   * ({@code auth_time} claim): a token can't be renewed twice nor forever.
+   */
+  @Override
+  public Optional<Token> renew(Token token) {
+    Assert.notNull("token", token);
+
+    try {
+      return renew(renewalParser.parseSignedClaims(token.get()).getPayload());
+    } catch (JwtException | IllegalArgumentException e) {
+      log.info("Invalid JWT token for renewal");
+      log.trace("Invalid JWT token for renewal: {}", e.getMessage(), e);
+
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Token> renew(Claims claims) {
+    var subject = Username.of(claims.getSubject());
+    if (subject.isEmpty() || claims.getId() == null || claims.getIssuedAt() == null || claims.getExpiration() == null) {
+      log.info("Not renewable JWT token");
+
+      return Optional.empty();
+    }
+
+    Username username = subject.get();
+    long epoch = epochs.current(username);
+    if (readLong(claims, "epc") < epoch || revokedTokens.revoked(claims.getId())) {
+      log.info("Revoked JWT token for renewal");
+
+      return Optional.empty();
+    }
+
+    var now = Instant.now();
+    var authenticatedAt = authenticatedAt(claims);
+    var sessionEnd = authenticatedAt.plusSeconds(rememberMeValidityDuration);
+    if (!now.isBefore(sessionEnd)) {
+      log.info("JWT token renewed past the remember me validity");
+
+      return Optional.empty();
+    }
+
+    revokedTokens.revoke(claims.getId(), claims.getExpiration().toInstant().plusSeconds(renewalGracePeriod));
+
+    var lifetime = Duration.between(claims.getIssuedAt().toInstant(), claims.getExpiration().toInstant()).toSeconds();
+    var expiration = now.plusSeconds(Math.max(lifetime, 0));
+    if (expiration.isAfter(sessionEnd)) {
+      expiration = sessionEnd;
+    }
+
+    return Optional.of(buildToken(username, readRoles(claims), epoch, authenticatedAt, now, expiration));
+  }
+
+  /**
+   * Tokens issued before the {@code auth_time} claim was added use their issue date
+   */
+  private Instant authenticatedAt(Claims claims) {
+    long authenticatedAt = readLong(claims, "auth_time");
+    if (authenticatedAt == 0) {
+      return claims.getIssuedAt().toInstant();
+    }
+
+    return Instant.ofEpochSecond(authenticatedAt);
+  }
+
+  private Token buildToken(Username username, Roles roles, long epoch, Instant authenticatedAt, Instant issuedAt, Instant expiration) {
     String token = Jwts.builder()
-      .subject(query.username().get())
-      .claim("auth", buildAuthorities(query))
+      .subject(username.get())
+      .id(UUID.randomUUID().toString())
+      .claims(buildRoles(roles))
+      .claim("epc", epoch)
+      .claim("auth_time", authenticatedAt.getEpochSecond())
       .signWith(key, Jwts.SIG.HS512)
-      .expiration(getValidity(query))
+      .issuedAt(Date.from(issuedAt))
+      .expiration(Date.from(expiration))
       .compact();
 
     return new Token(token);
   }
 
-  private String buildAuthorities(AuthenticationQuery query) {
-    return query.roles().stream().map(Role::key).collect(Collectors.joining(","));
+  private Map<String, Object> buildRoles(Roles roles) {
+    if (compactRoles) {
+      return Map.of("rol", roles.mask());
+    }
+
+    return Map.of("auth", buildAuthorities(roles));
+  }
+
+  private String buildAuthorities(Roles roles) {
+    return roles.stream().map(Role::key).collect(Collectors.joining(","));
+  }
+
+  private Roles readRoles(Claims claims) {
+    if (claims.get("rol") instanceof Number mask) {
+      return Roles.fromMask(mask.longValue());
+    }
+
+    if (claims.get("auth") instanceof String authorities) {
+      return Roles.of(Stream.of(authorities.split(",")).filter(authority -> !authority.isBlank()).map(Role::from).toList());
+    }
+
+    return Roles.EMPTY;
+  }
+
+  private long readLong(Claims claims, String claim) {
+    if (claims.get(claim) instanceof Number value) {
+      return value.longValue();
+    }
+
+    return 0;
   }
 
-  private Date getValidity(AuthenticationQuery query) {
+  private long getValidity(AuthenticationQuery query) {
     if (query.rememberMe()) {
-      return Date.from(Instant.now().plusSeconds(rememberMeValidityDuration));
+      return rememberMeValidityDuration;
     }
 
-    return Date.from(Instant.now().plusSeconds(validityDuration));
+    return validityDuration;
   }
 }
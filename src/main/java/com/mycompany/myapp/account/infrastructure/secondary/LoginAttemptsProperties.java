@@ -0,0 +1,54 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.security.login-attempts")
+class LoginAttemptsProperties {
+
+  /**
+   * Delay between two writes of the recorded login attempts
+   */
+  private Duration flushDelay = Duration.ofSeconds(5);
+
+  /**
+   * Maximum number of users updated by a single JDBC batch
+   */
+  private int batchSize = 500;
+
+  /**
+   * Maximum number of users with login attempts waiting to be written, attempts of other users are dropped
+   */
+  private int maxPending = 100_000;
+
+  @NotNull
+  public Duration getFlushDelay() {
+    return flushDelay;
+  }
+
+  public void setFlushDelay(Duration flushDelay) {
+    this.flushDelay = flushDelay;
+  }
+
+  @Min(1)
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  @Min(1)
+  public int getMaxPending() {
+    return maxPending;
+  }
+
+  public void setMaxPending(int maxPending) {
+    this.maxPending = maxPending;
+  }
+}
@@ -0,0 +1,58 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.security.account-availability")
+class RegisteredAccountsProperties {
+
+  /**
+   * Number of accounts the in memory filters are sized for, they are sized for twice the existing accounts when there are
+   * more
+   */
+  private int expectedAccounts = 1_000_000;
+
+  /**
+   * Probability for an available username or email to need a database lookup
+   */
+  private double falsePositiveProbability = 0.01;
+
+  /**
+   * Delay between two rebuilds of the filters, picking up the accounts registered by other instances
+   */
+  private Duration refreshDelay = Duration.ofMinutes(10);
+
+  @Min(1)
+  public int getExpectedAccounts() {
+    return expectedAccounts;
+  }
+
+  public void setExpectedAccounts(int expectedAccounts) {
+    this.expectedAccounts = expectedAccounts;
+  }
+
+  @DecimalMin(value = "0", inclusive = false)
+  @DecimalMax(value = "1", inclusive = false)
+  public double getFalsePositiveProbability() {
+    return falsePositiveProbability;
+  }
+
+  public void setFalsePositiveProbability(double falsePositiveProbability) {
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  @NotNull
+  public Duration getRefreshDelay() {
+    return refreshDelay;
+  }
+
+  public void setRefreshDelay(Duration refreshDelay) {
+    this.refreshDelay = refreshDelay;
+  }
+}
@@ -0,0 +1,68 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.security.user-details-cache")
+class UserDetailsCacheProperties {
+
+  /**
+   * Maximum number of cached accounts
+   */
+  private long maxEntries = 10_000;
+
+  /**
+   * How long an account is cached: changes made on other instances are only seen after this delay
+   */
+  private Duration timeToLive = Duration.ofMinutes(1);
+
+  /**
+   * Maximum number of cached unknown usernames
+   */
+  private long unknownUsersMaxEntries = 10_000;
+
+  /**
+   * How long an unknown username is cached: accounts registered on other instances are only seen after this delay
+   */
+  private Duration unknownUsersTimeToLive = Duration.ofSeconds(10);
+
+  @Min(0)
+  public long getMaxEntries() {
+    return maxEntries;
+  }
+
+  public void setMaxEntries(long maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  @NotNull
+  public Duration getTimeToLive() {
+    return timeToLive;
+  }
+
+  public void setTimeToLive(Duration timeToLive) {
+    this.timeToLive = timeToLive;
+  }
+
+  @Min(0)
+  public long getUnknownUsersMaxEntries() {
+    return unknownUsersMaxEntries;
+  }
+
+  public void setUnknownUsersMaxEntries(long unknownUsersMaxEntries) {
+    this.unknownUsersMaxEntries = unknownUsersMaxEntries;
+  }
+
+  @NotNull
+  public Duration getUnknownUsersTimeToLive() {
+    return unknownUsersTimeToLive;
+  }
+
+  public void setUnknownUsersTimeToLive(Duration unknownUsersTimeToLive) {
+    this.unknownUsersTimeToLive = unknownUsersTimeToLive;
+  }
+}
@@ -0,0 +1,211 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.account.domain.LoginAttempts;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link LoginAttempts} kept in memory and written behind.
+ *
+ * <p>
+ * Attempts are merged per user (last successful login, failures since then) until the next flush, which writes them with
+ * JDBC batches of plain UPDATE statements: a user logging in many times between two flushes costs a single update. Flushes
+ * are scheduled and also run at shutdown. The number of users waiting for a flush is bounded, attempts of new users are
+ * dropped (and counted) above it.
+ * </p>
+ */
+@Repository
+class WriteBehindLoginAttempts implements LoginAttempts {
+
+  static final String FLUSH_LAG = "login.attempts.flush.lag";
+  static final String BATCH_SIZE = "login.attempts.batch.size";
+  static final String DROPPED = "login.attempts.dropped";
+
+  private static final Logger log = LoggerFactory.getLogger(WriteBehindLoginAttempts.class);
+
+  private static final String UPDATE =
+    """
+    update users
+    set last_login_at = coalesce(?, last_login_at),
+      failed_login_attempts = case when ? then ? else failed_login_attempts + ? end
+    where username = ?
+    """;
+  private static final int[] UPDATE_TYPES = { Types.TIMESTAMP_WITH_TIMEZONE, Types.BOOLEAN, Types.INTEGER, Types.INTEGER, Types.VARCHAR };
+
+  private final ConcurrentMap<String, PendingAttempts> pending = new ConcurrentHashMap<>();
+  private final JdbcTemplate jdbc;
+  private final TransactionOperations transactions;
+  private final int batchSize;
+  private final int maxPending;
+  private final Clock clock;
+  private final Timer flushLag;
+  private final DistributionSummary batchSizes;
+  private final Counter dropped;
+
+  @Autowired
+  public WriteBehindLoginAttempts(
+    JdbcTemplate jdbc,
+    PlatformTransactionManager transactionManager,
+    LoginAttemptsProperties properties,
+    MeterRegistry meters
+  ) {
+    this(jdbc, new TransactionTemplate(transactionManager), properties, meters, Clock.systemUTC());
+  }
+
+  WriteBehindLoginAttempts(
+    JdbcTemplate jdbc,
+    TransactionOperations transactions,
+    LoginAttemptsProperties properties,
+    MeterRegistry meters,
+    Clock clock
+  ) {
+    Assert.notNull("jdbc", jdbc);
+    Assert.notNull("transactions", transactions);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("clock", clock);
+
+    this.jdbc = jdbc;
+    this.transactions = transactions;
+    batchSize = properties.getBatchSize();
+    maxPending = properties.getMaxPending();
+    this.clock = clock;
+    flushLag = Timer.builder(FLUSH_LAG).description("Age of the oldest login attempt written by a flush").register(meters);
+    batchSizes = DistributionSummary.builder(BATCH_SIZE).description("Users updated by a login attempts JDBC batch").register(meters);
+    dropped = Counter.builder(DROPPED)
+      .description("Login attempts not recorded because too many users were waiting for a flush")
+      .register(meters);
+  }
+
+  @Override
+  public void succeeded(Username username, Instant date) {
+    Assert.notNull("username", username);
+    Assert.notNull("date", date);
+
+    record(username, attempts -> attempts.succeeded(date));
+  }
+
+  @Override
+  public void failed(Username username) {
+    Assert.notNull("username", username);
+
+    record(username, PendingAttempts::failed);
+  }
+
+  private void record(Username username, UnaryOperator<PendingAttempts> update) {
+    if (pending.size() >= maxPending && !pending.containsKey(username.get())) {
+      dropped.increment();
+
+      return;
+    }
+
+    pending.compute(username.get(), (key, attempts) -> update.apply(orNew(attempts)));
+  }
+
+  private PendingAttempts orNew(PendingAttempts attempts) {
+    if (attempts == null) {
+      return PendingAttempts.startingAt(clock.instant());
+    }
+
+    return attempts;
+  }
+
+  @Scheduled(
+    initialDelayString = "${application.security.login-attempts.flush-delay:PT5S}",
+    fixedDelayString = "${application.security.login-attempts.flush-delay:PT5S}"
+  )
+  void flush() {
+    Instant oldest = null;
+    List<Object[]> batch = new ArrayList<>();
+
+    for (String username : pending.keySet()) {
+      var attempts = pending.remove(username);
+      if (attempts == null) {
+        continue;
+      }
+
+      if (oldest == null || attempts.since().isBefore(oldest)) {
+        oldest = attempts.since();
+      }
+
+      batch.add(attempts.updateArguments(username));
+      if (batch.size() == batchSize) {
+        write(batch);
+        batch = new ArrayList<>();
+      }
+    }
+
+    if (!batch.isEmpty()) {
+      write(batch);
+    }
+
+    if (oldest != null) {
+      flushLag.record(Duration.between(oldest, clock.instant()));
+    }
+  }
+
+  private void write(List<Object[]> batch) {
+    batchSizes.record(batch.size());
+
+    try {
+      transactions.executeWithoutResult(status -> jdbc.batchUpdate(UPDATE, batch, UPDATE_TYPES));
+    } catch (DataAccessException e) {
+      log.warn("Can't write login attempts of {} users: {}", batch.size(), e.getMessage());
+      log.debug("Can't write login attempts", e);
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    flush();
+  }
+
+  /**
+   * Attempts of a user since the last flush: when the last successful login happened (if any) and the failures that
+   * happened after it
+   */
+  private record PendingAttempts(Instant since, Instant lastLogin, int failures) {
+    static PendingAttempts startingAt(Instant since) {
+      return new PendingAttempts(since, null, 0);
+    }
+
+    PendingAttempts succeeded(Instant date) {
+      return new PendingAttempts(since, date, 0);
+    }
+
+    PendingAttempts failed() {
+      return new PendingAttempts(since, lastLogin, failures + 1);
+    }
+
+    Object[] updateArguments(String username) {
+      boolean loggedIn = lastLogin != null;
+
+      return new Object[] { loggedIn ? lastLogin.atOffset(ZoneOffset.UTC) : null, loggedIn, failures, failures, username };
+    }
+  }
+}
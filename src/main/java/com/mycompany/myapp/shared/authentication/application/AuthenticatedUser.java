@@ -76,8 +76,15 @@ public final class AuthenticatedUser {
   }
 
   private static Function<Authentication, Roles> toRoles() {
-    return authentication ->
-      new Roles(authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).map(Role::from).collect(Collectors.toSet()));
+    return authentication -> {
+      if (authentication instanceof RolesAuthentication rolesAuthentication) {
+        return rolesAuthentication.roles();
+      }
+
+      return Roles.of(
+        authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).map(Role::from).collect(Collectors.toSet())
+      );
+    };
   }
 
   private static Optional<Authentication> authentication() {
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.shared.authentication.application;
+
+import java.time.Duration;
+
+/**
+ * Thrown when all password hashing threads are busy and their queue is full: the request should be retried later
+ */
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+  private final Duration retryAfter;
+
+  public PasswordHashingSaturatedException(Duration retryAfter) {
+    super("Password hashing is saturated");
+    this.retryAfter = retryAfter;
+  }
+
+  public Duration retryAfter() {
+    return retryAfter;
+  }
+}
@@ -0,0 +1,10 @@
+package com.mycompany.myapp.shared.authentication.application;
+
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+
+/**
+ * Authentication already knowing the {@link Roles} matching its authorities, used to avoid decoding them again
+ */
+public interface RolesAuthentication {
+  Roles roles();
+}
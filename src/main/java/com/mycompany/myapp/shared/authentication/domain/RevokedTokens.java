@@ -0,0 +1,13 @@
+package com.mycompany.myapp.shared.authentication.domain;
+
+import java.time.Instant;
+
+/**
+ * Denylist of revoked tokens, identified by their {@code jti} claim. Revocations only need to be kept until the token
+ * expiration.
+ */
+public interface RevokedTokens {
+  void revoke(String tokenId, Instant expiration);
+
+  boolean revoked(String tokenId);
+}
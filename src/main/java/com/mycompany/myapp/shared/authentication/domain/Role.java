@@ -23,6 +23,16 @@ public enum Role {
     return PREFIX + name();
   }
 
+  /**
+   * Bit of this role in {@link Roles#mask()}, derived from the declaration order: new roles must be added last to keep
+   * already issued masks valid
+   *
+   * @return The bit of this role
+   */
+  public long bit() {
+    return 1L << ordinal();
+  }
+
   public static Role from(String role) {
     Assert.notBlank("role", role);
 
@@ -1,32 +1,118 @@
 package com.mycompany.myapp.shared.authentication.domain;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Set;
 import java.util.stream.Stream;
-import com.mycompany.myapp.shared.collection.domain.AIsampleCollections;
 import com.mycompany.myapp.shared.error.domain.Assert;
 
-public record Roles(Set<Role> roles) {
-  public static final Roles EMPTY = new Roles(null);
+/**
+ * Immutable set of {@link Role}, backed by a bitmask of {@link Role#bit()}.
+ *
+ * <p>
+ * There is one shared instance for each combination of roles so getting roles is never allocating, checking a role is a
+ * mask operation and {@link #get()} returns a precomputed set.
+ * </p>
+ */
+public final class Roles {
 
-  public Roles(Set<Role> roles) {
-    this.roles = AIsampleCollections.immutable(roles);
+  private static final Role[] ROLES = Role.values();
+  private static final long ALL_ROLES = (1L << ROLES.length) - 1;
+  private static final Roles[] INSTANCES = buildInstances();
+
+  public static final Roles EMPTY = INSTANCES[0];
+
+  private final long mask;
+  private final Set<Role> roles;
+
+  private Roles(long mask) {
+    this.mask = mask;
+    roles = buildRoles(mask);
+  }
+
+  private static Roles[] buildInstances() {
+    Roles[] instances = new Roles[(int) ALL_ROLES + 1];
+
+    for (int mask = 0; mask < instances.length; mask++) {
+      instances[mask] = new Roles(mask);
+    }
+
+    return instances;
+  }
+
+  private static Set<Role> buildRoles(long mask) {
+    Set<Role> roles = EnumSet.noneOf(Role.class);
+
+    for (Role role : ROLES) {
+      if ((mask & role.bit()) != 0) {
+        roles.add(role);
+      }
+    }
+
+    return Collections.unmodifiableSet(roles);
+  }
+
+  public static Roles of(Collection<Role> roles) {
+    if (roles == null) {
+      return EMPTY;
+    }
+
+    long mask = 0;
+    for (Role role : roles) {
+      Assert.notNull("role", role);
+
+      mask |= role.bit();
+    }
+
+    return INSTANCES[(int) mask];
+  }
+
+  /**
+   * Get roles from a bitmask built by {@link #mask()}. Unknown bits are ignored.
+   *
+   * @param mask
+   *          bitmask of roles
+   * @return The roles for this mask
+   */
+  public static Roles fromMask(long mask) {
+    return INSTANCES[(int) (mask & ALL_ROLES)];
+  }
+
+  public long mask() {
+    return mask;
   }
 
   public boolean hasRole() {
-    return !roles.isEmpty();
+    return mask != 0;
   }
 
   public boolean hasRole(Role role) {
     Assert.notNull("role", role);
 
-    return roles.contains(role);
+    return (mask & role.bit()) != 0;
   }
 
   public Stream<Role> stream() {
-    return get().stream();
+    return roles.stream();
   }
 
   public Set<Role> get() {
-    return roles();
+    return roles;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof Roles other && other.mask == mask;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(mask);
+  }
+
+  @Override
+  public String toString() {
+    return "Roles" + roles;
   }
 }
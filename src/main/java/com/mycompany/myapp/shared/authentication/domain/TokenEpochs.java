@@ -0,0 +1,19 @@
+package com.mycompany.myapp.shared.authentication.domain;
+
+/**
+ * Per user tokens generation: tokens are issued with the current epoch of their user and are invalid once this epoch was
+ * bumped (password reset, administrator action, ...).
+ */
+public interface TokenEpochs {
+  /**
+   * @return the epoch known by this instance, cheap enough to be checked on every request
+   */
+  long current(Username username);
+
+  /**
+   * Read the user epoch from the store and keep it as the one known by this instance
+   *
+   * @return the stored epoch, to be used when issuing tokens
+   */
+  long load(Username username);
+}
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import org.springframework.security.authentication.AccountExpiredException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsChecker;
+
+/**
+ * Account status checks of the login: unlike the default ones, the activation is only checked once the password
+ * matched, so a login with a wrong password can't tell that an account exists and is not activated yet.
+ */
+final class AccountStatusChecks {
+
+  private AccountStatusChecks() {}
+
+  static final class BeforePassword implements UserDetailsChecker {
+
+    @Override
+    public void check(UserDetails user) {
+      if (!user.isAccountNonLocked()) {
+        throw new LockedException("User account is locked");
+      }
+
+      if (!user.isAccountNonExpired()) {
+        throw new AccountExpiredException("User account has expired");
+      }
+    }
+  }
+
+  static final class AfterPassword implements UserDetailsChecker {
+
+    @Override
+    public void check(UserDetails user) {
+      if (!user.isCredentialsNonExpired()) {
+        throw new CredentialsExpiredException("User credentials have expired");
+      }
+
+      if (!user.isEnabled()) {
+        throw new DisabledException("Account is not activated");
+      }
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.HttpMethod;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Compiled form of the ant patterns of routes that are only ever served anonymously (static resources, SPA pages, ...).
+ *
+ * <p>
+ * Only three pattern shapes are accepted so matching a request is a couple of hash lookups and prefix checks: exact paths
+ * ({@code /login}), directories ({@code /assets/**}) and root files by extension ({@code /*.js}). {@code OPTIONS} requests are
+ * always anonymous.
+ * </p>
+ */
+final class AnonymousRoutes {
+
+  private static final String DIRECTORY_SUFFIX = "/**";
+  private static final String ROOT_EXTENSION_PREFIX = "/*.";
+
+  private final Set<String> paths = new HashSet<>();
+  private final List<String> directories = new ArrayList<>();
+  private final Set<String> rootExtensions = new HashSet<>();
+
+  AnonymousRoutes(Collection<String> patterns) {
+    Assert.notNull("patterns", patterns);
+
+    patterns.forEach(this::compile);
+  }
+
+  private void compile(String pattern) {
+    Assert.notBlank("pattern", pattern);
+
+    if (pattern.endsWith(DIRECTORY_SUFFIX) && !hasWildcard(pattern.substring(0, pattern.length() - DIRECTORY_SUFFIX.length()))) {
+      String directory = pattern.substring(0, pattern.length() - DIRECTORY_SUFFIX.length());
+
+      paths.add(directory.isEmpty() ? "/" : directory);
+      directories.add(directory + "/");
+      return;
+    }
+
+    if (pattern.startsWith(ROOT_EXTENSION_PREFIX) && !hasWildcard(pattern.substring(ROOT_EXTENSION_PREFIX.length()))) {
+      rootExtensions.add(pattern.substring(ROOT_EXTENSION_PREFIX.length() - 1));
+      return;
+    }
+
+    if (hasWildcard(pattern)) {
+      throw new IllegalArgumentException("Unsupported anonymous route pattern: " + pattern);
+    }
+
+    paths.add(pattern);
+  }
+
+  private static boolean hasWildcard(String pattern) {
+    return pattern.indexOf('*') >= 0 || pattern.indexOf('?') >= 0 || pattern.indexOf('{') >= 0;
+  }
+
+  boolean matches(HttpServletRequest request) {
+    if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+      return true;
+    }
+
+    return matches(requestPath(request));
+  }
+
+  private boolean matches(String path) {
+    if (paths.contains(path)) {
+      return true;
+    }
+
+    for (String directory : directories) {
+      if (path.startsWith(directory)) {
+        return true;
+      }
+    }
+
+    return rootFile(path);
+  }
+
+  private boolean rootFile(String path) {
+    if (rootExtensions.isEmpty() || path.lastIndexOf('/') != 0) {
+      return false;
+    }
+
+    int extension = path.lastIndexOf('.');
+
+    return extension >= 0 && rootExtensions.contains(path.substring(extension));
+  }
+
+  private static String requestPath(HttpServletRequest request) {
+    String servletPath = request.getServletPath();
+    String pathInfo = request.getPathInfo();
+
+    if (pathInfo == null) {
+      return servletPath;
+    }
+
+    if (servletPath == null || servletPath.isEmpty()) {
+      return pathInfo;
+    }
+
+    return servletPath + pathInfo;
+  }
+}
@@ -2,11 +2,15 @@ package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import com.mycompany.myapp.shared.authentication.application.NotAuthenticatedUserException;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
 import com.mycompany.myapp.shared.authentication.application.UnknownAuthenticationException;
 
 @ControllerAdvice
@@ -24,6 +28,26 @@ class AuthenticationExceptionAdvice {
     return detail;
   }
 
+  @ExceptionHandler(DisabledException.class)
+  public ProblemDetail handleDisabledAccount(DisabledException ex) {
+    var detail = ProblemDetail.forStatus(HttpStatus.FORBIDDEN);
+    detail.setTitle("account not activated");
+    detail.setProperty(MESSAGE_KEY, "error.http.403");
+
+    return detail;
+  }
+
+  @ExceptionHandler(PasswordHashingSaturatedException.class)
+  public ResponseEntity<ProblemDetail> handlePasswordHashingSaturated(PasswordHashingSaturatedException ex) {
+    var detail = ProblemDetail.forStatus(HttpStatus.SERVICE_UNAVAILABLE);
+    detail.setTitle("password hashing saturated");
+    detail.setProperty(MESSAGE_KEY, "error.http.503");
+
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+      .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.retryAfter().toSeconds())))
+      .body(detail);
+  }
+
   @ExceptionHandler(UnknownAuthenticationException.class)
   public ProblemDetail handleUnknownAuthentication(UnknownAuthenticationException ex) {
     var detail = ProblemDetail.forStatus(HttpStatus.INTERNAL_SERVER_ERROR);
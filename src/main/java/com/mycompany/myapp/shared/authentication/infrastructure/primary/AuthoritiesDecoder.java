@@ -0,0 +1,99 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+
+/**
+ * Decodes {@code auth} claims values (or compact {@code rol} masks) to {@link DecodedAuthorities}.
+ *
+ * <p>
+ * Claims are only built by this application from a small closed set of roles so each distinct value is decoded once and
+ * then shared by all the tokens carrying it. Authorities of known roles are interned. Distinct values are bounded to
+ * {@value #MAX_CACHED_CLAIMS}: past that, values are decoded on each call. Masks are all decoded upfront.
+ * </p>
+ */
+class AuthoritiesDecoder {
+
+  static final int MAX_CACHED_CLAIMS = 256;
+
+  private static final Map<Role, GrantedAuthority> ROLE_AUTHORITIES = buildRoleAuthorities();
+  private static final DecodedAuthorities[] MASKS = buildMasks();
+
+  private final Map<String, DecodedAuthorities> decoded = new ConcurrentHashMap<>();
+
+  private static Map<Role, GrantedAuthority> buildRoleAuthorities() {
+    Map<Role, GrantedAuthority> authorities = new EnumMap<>(Role.class);
+
+    Stream.of(Role.values())
+      .filter(role -> role != Role.UNKNOWN)
+      .forEach(role -> authorities.put(role, new SimpleGrantedAuthority(role.key())));
+
+    return authorities;
+  }
+
+  private static DecodedAuthorities[] buildMasks() {
+    DecodedAuthorities[] masks = new DecodedAuthorities[1 << Role.values().length];
+
+    for (int mask = 0; mask < masks.length; mask++) {
+      Roles roles = Roles.fromMask(mask);
+
+      masks[mask] = new DecodedAuthorities(roles.stream().map(Role::key).map(AuthoritiesDecoder::authority).toList(), roles);
+    }
+
+    return masks;
+  }
+
+  DecodedAuthorities decode(Roles roles) {
+    return MASKS[(int) roles.mask()];
+  }
+
+  DecodedAuthorities decode(String claim) {
+    if (claim == null) {
+      return DecodedAuthorities.EMPTY;
+    }
+
+    DecodedAuthorities cached = decoded.get(claim);
+    if (cached != null) {
+      return cached;
+    }
+
+    DecodedAuthorities result = decodeClaim(claim);
+    if (decoded.size() < MAX_CACHED_CLAIMS) {
+      decoded.putIfAbsent(claim, result);
+    }
+
+    return result;
+  }
+
+  private static DecodedAuthorities decodeClaim(String claim) {
+    List<String> keys = Stream.of(claim.split(",")).filter(StringUtils::isNotBlank).toList();
+
+    if (keys.isEmpty()) {
+      return DecodedAuthorities.EMPTY;
+    }
+
+    List<GrantedAuthority> authorities = keys.stream().map(AuthoritiesDecoder::authority).toList();
+    Roles roles = Roles.of(keys.stream().map(Role::from).collect(Collectors.toSet()));
+
+    return new DecodedAuthorities(authorities, roles);
+  }
+
+  private static GrantedAuthority authority(String key) {
+    Role role = Role.from(key);
+
+    if (role == Role.UNKNOWN) {
+      return new SimpleGrantedAuthority(key);
+    }
+
+    return ROLE_AUTHORITIES.get(role);
+  }
+}
@@ -0,0 +1,64 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Finds the highest BCrypt cost hashing a password within a target duration on the current hardware.
+ *
+ * <p>
+ * Only the lowest allowed cost is measured (best of a few runs, after a warm up), higher costs are extrapolated since each
+ * cost increment doubles the hashing time.
+ * </p>
+ */
+final class BCryptCostCalibration {
+
+  static final int MIN_COST = 4;
+  static final int MAX_COST = 31;
+
+  private static final int MEASURES = 3;
+  private static final String SAMPLE_PASSWORD = "calibration-password";
+
+  private BCryptCostCalibration() {}
+
+  static int calibrate(Duration target, int minCost, int maxCost) {
+    return calibrate(target, minCost, maxCost, BCryptCostCalibration::hashDuration);
+  }
+
+  static int calibrate(Duration target, int minCost, int maxCost, IntFunction<Duration> hashDuration) {
+    Assert.notNull("target", target);
+    Assert.field("minCost", minCost).min(MIN_COST).max(maxCost);
+    Assert.field("maxCost", maxCost).max(MAX_COST);
+    Assert.notNull("hashDuration", hashDuration);
+
+    long minCostNanos = measure(minCost, hashDuration);
+    long targetNanos = target.toNanos();
+
+    int cost = minCost;
+    while (cost < maxCost && minCostNanos << (cost + 1 - minCost) <= targetNanos) {
+      cost++;
+    }
+
+    return cost;
+  }
+
+  private static long measure(int cost, IntFunction<Duration> hashDuration) {
+    hashDuration.apply(cost);
+
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURES; i++) {
+      best = Math.min(best, Math.max(1, hashDuration.apply(cost).toNanos()));
+    }
+
+    return best;
+  }
+
+  private static Duration hashDuration(int cost) {
+    long start = System.nanoTime();
+    BCrypt.hashpw(SAMPLE_PASSWORD, BCrypt.gensalt(cost));
+
+    return Duration.ofNanos(System.nanoTime() - start);
+  }
+}
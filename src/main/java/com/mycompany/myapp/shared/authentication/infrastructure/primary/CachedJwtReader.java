@@ -0,0 +1,158 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.mycompany.myapp.shared.error.domain.Assert;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.security.core.Authentication;
+
+/**
+ * {@link AuthenticationTokenReader} keeping already verified tokens in a bounded cache.
+ *
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the token (so raw bearer tokens are never used as keys) and are evicted at the
+ * token expiration. Size is bounded both by a number of entries and by an estimated memory footprint: each entry weighs at
+ * least {@code maxMemory / maxEntries} so the entries count can't go over {@code maxEntries}.
+ * </p>
+ */
+class CachedJwtReader implements AuthenticationTokenReader {
+
+  static final String CACHE_NAME = "jwt.verified-tokens";
+
+  private static final int ENTRY_OVERHEAD = 256;
+  private static final int AUTHORITY_SIZE = 64;
+
+  private static final ThreadLocal<MessageDigest> DIGESTS = ThreadLocal.withInitial(CachedJwtReader::sha256);
+
+  private final JwtReader reader;
+  private final Cache<TokenDigest, VerifiedToken> cache;
+
+  public CachedJwtReader(JwtReader reader, JwtAuthenticationProperties.TokenCache properties, MeterRegistry meters) {
+    this(reader, properties, meters, Ticker.systemTicker(), Clock.systemUTC());
+  }
+
+  CachedJwtReader(JwtReader reader, JwtAuthenticationProperties.TokenCache properties, MeterRegistry meters, Ticker ticker, Clock clock) {
+    Assert.notNull("reader", reader);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("ticker", ticker);
+    Assert.notNull("clock", clock);
+
+    this.reader = reader;
+    cache = buildCache(properties, ticker, new TokenExpiry(clock.instant(), ticker.read()));
+
+    CaffeineCacheMetrics.monitor(meters, cache, CACHE_NAME);
+  }
+
+  private static Cache<TokenDigest, VerifiedToken> buildCache(
+    JwtAuthenticationProperties.TokenCache properties,
+    Ticker ticker,
+    TokenExpiry expiry
+  ) {
+    long maxMemory = properties.getMaxMemory().toBytes();
+    int minimalWeight = (int) Math.max(1, maxMemory / properties.getMaxEntries());
+
+    return Caffeine.newBuilder()
+      .maximumWeight(maxMemory)
+      .weigher((TokenDigest digest, VerifiedToken token) -> Math.max(minimalWeight, estimatedSize(token)))
+      .expireAfter(expiry)
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .recordStats()
+      .build();
+  }
+
+  private static int estimatedSize(VerifiedToken token) {
+    var authentication = token.authentication();
+
+    return ENTRY_OVERHEAD + authentication.getName().length() * 2 + authentication.getAuthorities().size() * AUTHORITY_SIZE;
+  }
+
+  @Override
+  public Optional<Authentication> read(String token) {
+    if (StringUtils.isBlank(token)) {
+      return reader.read(token);
+    }
+
+    var digest = TokenDigest.of(token);
+    var cached = cache.getIfPresent(digest);
+    if (cached != null) {
+      return Optional.of(cached.authentication());
+    }
+
+    var verified = reader.verify(token);
+    verified.filter(VerifiedToken::expiring).ifPresent(verifiedToken -> cache.put(digest, verifiedToken));
+
+    return verified.map(VerifiedToken::authentication);
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private record TokenDigest(long first, long second, long third, long fourth) {
+    static TokenDigest of(String token) {
+      var buffer = ByteBuffer.wrap(DIGESTS.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+
+      return new TokenDigest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+  }
+
+  /**
+   * Expires entries at the token expiration, reading the current time from the cache ticker (anchored on the clock at
+   * creation) so entries expire on the same time base the cache evicts with.
+   */
+  private static final class TokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+    private static final Duration MAX_EXPIRY = Duration.ofDays(36_500);
+
+    private final Instant origin;
+    private final long originTicks;
+
+    private TokenExpiry(Instant origin, long originTicks) {
+      this.origin = origin;
+      this.originTicks = originTicks;
+    }
+
+    @Override
+    public long expireAfterCreate(TokenDigest digest, VerifiedToken token, long currentTime) {
+      var remaining = Duration.between(origin.plusNanos(currentTime - originTicks), token.expiration());
+
+      if (remaining.isNegative()) {
+        return 0;
+      }
+
+      if (remaining.compareTo(MAX_EXPIRY) > 0) {
+        return MAX_EXPIRY.toNanos();
+      }
+
+      return remaining.toNanos();
+    }
+
+    @Override
+    public long expireAfterUpdate(TokenDigest digest, VerifiedToken token, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    @Override
+    public long expireAfterRead(TokenDigest digest, VerifiedToken token, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
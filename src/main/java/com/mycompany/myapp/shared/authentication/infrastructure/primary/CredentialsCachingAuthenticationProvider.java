@@ -0,0 +1,120 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.function.Supplier;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link DaoAuthenticationProvider} remembering, for a short time, the credentials it successfully checked so logins
+ * repeating them don't pay for a password hash.
+ *
+ * <p>
+ * Only an HMAC of the username and presented password is kept, with a random key generated at startup and never stored.
+ * Entries are bound to the stored password hash they were checked against, so they stop matching as soon as this hash
+ * changes (even on another instance), and are dropped as soon as an account change is published.
+ * </p>
+ */
+class CredentialsCachingAuthenticationProvider extends DaoAuthenticationProvider {
+
+  static final String CACHE_NAME = "authentication.verified-credentials";
+
+  private static final String MAC_ALGORITHM = "HmacSHA256";
+  private static final int KEY_LENGTH = 32;
+
+  private final Cache<String, VerifiedCredentials> cache;
+  private final ThreadLocal<Mac> macs;
+
+  public CredentialsCachingAuthenticationProvider(JwtAuthenticationProperties.CredentialsCache properties, MeterRegistry meters) {
+    this(properties, meters, Ticker.systemTicker());
+  }
+
+  CredentialsCachingAuthenticationProvider(JwtAuthenticationProperties.CredentialsCache properties, MeterRegistry meters, Ticker ticker) {
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("ticker", ticker);
+
+    cache = Caffeine.newBuilder()
+      .maximumSize(properties.getMaxEntries())
+      .expireAfterWrite(properties.getTimeToLive())
+      .ticker(ticker)
+      .executor(Runnable::run)
+      .recordStats()
+      .build();
+    macs = ThreadLocal.withInitial(macBuilder(randomKey()));
+
+    CaffeineCacheMetrics.monitor(meters, cache, CACHE_NAME);
+  }
+
+  private static SecretKey randomKey() {
+    var key = new byte[KEY_LENGTH];
+    new SecureRandom().nextBytes(key);
+
+    return new SecretKeySpec(key, MAC_ALGORITHM);
+  }
+
+  private static Supplier<Mac> macBuilder(SecretKey key) {
+    return () -> {
+      try {
+        var mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(key);
+
+        return mac;
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Can't initialize " + MAC_ALGORITHM, e);
+      }
+    };
+  }
+
+  @Override
+  protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) {
+    if (!(authentication.getCredentials() instanceof String password) || userDetails.getPassword() == null) {
+      super.additionalAuthenticationChecks(userDetails, authentication);
+
+      return;
+    }
+
+    var credentialsMac = mac(userDetails.getUsername(), password);
+    var verified = cache.getIfPresent(userDetails.getUsername());
+    if (verified != null && verified.matches(userDetails.getPassword(), credentialsMac)) {
+      return;
+    }
+
+    super.additionalAuthenticationChecks(userDetails, authentication);
+    cache.put(userDetails.getUsername(), new VerifiedCredentials(userDetails.getPassword(), credentialsMac));
+  }
+
+  private byte[] mac(String username, String password) {
+    var mac = macs.get();
+    mac.update(username.getBytes(StandardCharsets.UTF_8));
+    mac.update((byte) 0);
+
+    return mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @EventListener
+  public void accountChanged(AccountChanged event) {
+    cache.invalidate(event.username());
+  }
+
+  private record VerifiedCredentials(String storedPassword, byte[] credentialsMac) {
+    boolean matches(String currentStoredPassword, byte[] presentedCredentialsMac) {
+      return storedPassword.equals(currentStoredPassword) && MessageDigest.isEqual(credentialsMac, presentedCredentialsMac);
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.util.List;
+import org.springframework.security.core.GrantedAuthority;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Immutable authorities decoded from an {@code auth} claim with their matching {@link Roles}
+ */
+record DecodedAuthorities(List<GrantedAuthority> authorities, Roles roles) {
+  static final DecodedAuthorities EMPTY = new DecodedAuthorities(List.of(), Roles.EMPTY);
+
+  DecodedAuthorities {
+    Assert.notNull("authorities", authorities);
+    Assert.notNull("roles", roles);
+
+    authorities = List.copyOf(authorities);
+  }
+}
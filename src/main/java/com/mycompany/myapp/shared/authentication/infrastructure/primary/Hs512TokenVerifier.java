@@ -0,0 +1,483 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Allocation light verifier dedicated to the tokens built by this application: {@code {"alg":"HS512"}} header and a flat
+ * payload made of {@code sub}, {@code jti}, {@code auth} (or {@code rol}), {@code epc}, {@code auth_time}, {@code iat} and
+ * {@code exp} claims.
+ *
+ * <p>
+ * The token is decoded in per-thread buffers with a per-thread {@link Mac} keyed once, the signature is checked before
+ * reading the payload and only the claims we use are read. Malformed tokens (wrong segments count, oversized, segments
+ * that are not base64url, header that is not a JSON object) are rejected before any cryptographic operation. Well-formed
+ * tokens this verifier doesn't fully understand (other algorithms, other claims) are reported as
+ * {@link Verification#unsupported()} so they can be handed to the generic JJWT parser.
+ * </p>
+ */
+final class Hs512TokenVerifier {
+
+  static final int MAX_TOKEN_LENGTH = 4096;
+
+  private static final String HEADER = "eyJhbGciOiJIUzUxMiJ9";
+  private static final String MAC_ALGORITHM = "HmacSHA512";
+  private static final int MIN_KEY_LENGTH = 64;
+  private static final int SIGNATURE_LENGTH = 64;
+  private static final int ENCODED_SIGNATURE_LENGTH = 86;
+  private static final int MAX_NUMBER_DIGITS = 15;
+  private static final byte[] BASE64_URL = base64UrlTable();
+  private static final byte[] ALGORITHM_KEY = "\"alg\"".getBytes(StandardCharsets.US_ASCII);
+
+  private final ThreadLocal<Buffers> buffers;
+  private final Clock clock;
+
+  Hs512TokenVerifier(SecretKey key) {
+    this(key, Clock.systemUTC());
+  }
+
+  Hs512TokenVerifier(SecretKey key, Clock clock) {
+    Assert.notNull("key", key);
+    Assert.notNull("clock", clock);
+
+    buffers = ThreadLocal.withInitial(() -> new Buffers(key));
+    this.clock = clock;
+  }
+
+  static boolean supports(SecretKey key) {
+    return key != null && key.getEncoded() != null && key.getEncoded().length >= MIN_KEY_LENGTH;
+  }
+
+  Verification verify(String token) {
+    int length = token.length();
+    if (length > MAX_TOKEN_LENGTH) {
+      return Verification.rejected("Token too long");
+    }
+
+    int headerEnd = token.indexOf('.');
+    int payloadEnd = headerEnd < 0 ? -1 : token.indexOf('.', headerEnd + 1);
+    if (payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+      return Verification.rejected("Wrong number of segments");
+    }
+
+    Buffers context = buffers.get();
+    if (!context.ascii(token)) {
+      return Verification.rejected("Non ASCII token");
+    }
+
+    if (headerEnd != HEADER.length() || !token.startsWith(HEADER)) {
+      return context.otherAlgorithm(headerEnd, payloadEnd, length);
+    }
+
+    if (length - payloadEnd - 1 != ENCODED_SIGNATURE_LENGTH) {
+      return Verification.rejected("Wrong signature length");
+    }
+
+    if (!context.validSignature(payloadEnd)) {
+      return Verification.rejected("Invalid signature");
+    }
+
+    return context.readClaims(headerEnd + 1, payloadEnd, clock.millis());
+  }
+
+  private static int decode(byte[] source, int from, int to, byte[] destination) {
+    int length = to - from;
+    if (length % 4 == 1 || (length * 3) / 4 > destination.length) {
+      return -1;
+    }
+
+    int written = 0;
+    int accumulator = 0;
+    int bits = 0;
+    for (int i = from; i < to; i++) {
+      int value = source[i] < 0 ? -1 : BASE64_URL[source[i]];
+      if (value < 0) {
+        return -1;
+      }
+
+      accumulator = (accumulator << 6) | value;
+      bits += 6;
+      if (bits >= 8) {
+        bits -= 8;
+        destination[written++] = (byte) (accumulator >> bits);
+      }
+    }
+
+    if ((accumulator & ((1 << bits) - 1)) != 0) {
+      return -1;
+    }
+
+    return written;
+  }
+
+  private static byte[] base64UrlTable() {
+    byte[] table = new byte[128];
+    Arrays.fill(table, (byte) -1);
+
+    String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+    for (int i = 0; i < alphabet.length(); i++) {
+      table[alphabet.charAt(i)] = (byte) i;
+    }
+
+    return table;
+  }
+
+  /**
+   * Claims read from a token, {@code id} is the {@code jti} claim, {@code rolesMask} the compact {@code rol} claim and
+   * {@code epoch} the {@code epc} claim, they are null when absent
+   */
+  record TokenClaims(String subject, String id, String authorities, Long rolesMask, Long epoch, Instant expiration) {}
+
+  record Verification(Status status, TokenClaims claims, String reason) {
+    private static final Verification UNSUPPORTED = new Verification(Status.UNSUPPORTED, null, null);
+
+    static Verification verified(TokenClaims claims) {
+      return new Verification(Status.VERIFIED, claims, null);
+    }
+
+    static Verification rejected(String reason) {
+      return new Verification(Status.REJECTED, null, reason);
+    }
+
+    static Verification unsupported() {
+      return UNSUPPORTED;
+    }
+
+    enum Status {
+      VERIFIED,
+      REJECTED,
+      UNSUPPORTED
+    }
+  }
+
+  private static final class Buffers {
+
+    private final Mac mac;
+    private final byte[] token = new byte[MAX_TOKEN_LENGTH];
+    private final byte[] payload = new byte[(MAX_TOKEN_LENGTH * 3) / 4];
+    private final byte[] signature = new byte[SIGNATURE_LENGTH];
+    private final byte[] expectedSignature = new byte[SIGNATURE_LENGTH];
+
+    private Buffers(SecretKey key) {
+      try {
+        mac = Mac.getInstance(MAC_ALGORITHM);
+        mac.init(key);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Can't initialize " + MAC_ALGORITHM, e);
+      }
+    }
+
+    private boolean ascii(String value) {
+      for (int i = 0; i < value.length(); i++) {
+        char character = value.charAt(i);
+        if (character > 0x7F) {
+          return false;
+        }
+
+        token[i] = (byte) character;
+      }
+
+      return true;
+    }
+
+    /**
+     * Only well-formed tokens (base64url segments and a JSON object header naming an algorithm) are left to the generic
+     * parser, garbage is rejected here without any allocation
+     */
+    private Verification otherAlgorithm(int headerEnd, int payloadEnd, int length) {
+      int headerLength = decode(token, 0, headerEnd, payload);
+      if (headerLength < 0 || !jsonObjectWithAlgorithm(headerLength)) {
+        return Verification.rejected("Malformed header");
+      }
+
+      if (decode(token, headerEnd + 1, payloadEnd, payload) < 0 || decode(token, payloadEnd + 1, length, payload) < 0) {
+        return Verification.rejected("Malformed token");
+      }
+
+      return Verification.unsupported();
+    }
+
+    private boolean jsonObjectWithAlgorithm(int length) {
+      int start = 0;
+      while (start < length && PayloadReader.isWhitespace(payload[start])) {
+        start++;
+      }
+
+      int end = length - 1;
+      while (end > start && PayloadReader.isWhitespace(payload[end])) {
+        end--;
+      }
+
+      return end > start && payload[start] == '{' && payload[end] == '}' && contains(start, end, ALGORITHM_KEY);
+    }
+
+    private boolean contains(int from, int to, byte[] value) {
+      for (int i = from; i <= to - value.length; i++) {
+        if (Arrays.equals(payload, i, i + value.length, value, 0, value.length)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+
+    private boolean validSignature(int payloadEnd) {
+      int signatureEnd = payloadEnd + 1 + ENCODED_SIGNATURE_LENGTH;
+      if (decode(token, payloadEnd + 1, signatureEnd, signature) != SIGNATURE_LENGTH) {
+        return false;
+      }
+
+      mac.update(token, 0, payloadEnd);
+      try {
+        mac.doFinal(expectedSignature, 0);
+      } catch (GeneralSecurityException e) {
+        throw new IllegalStateException("Can't compute token signature", e);
+      }
+
+      return MessageDigest.isEqual(expectedSignature, signature);
+    }
+
+    private Verification readClaims(int payloadStart, int payloadEnd, long now) {
+      int length = decode(token, payloadStart, payloadEnd, payload);
+      if (length < 0) {
+        return Verification.unsupported();
+      }
+
+      return new PayloadReader(payload, length).read(now);
+    }
+  }
+
+  /**
+   * Reads a flat JSON object made only of the {@code sub}, {@code jti}, {@code auth} (strings without escape sequences),
+   * {@code rol}, {@code epc}, {@code auth_time}, {@code iat} and {@code exp} (integers) claims. Anything else makes the token
+   * unsupported.
+   */
+  private static final class PayloadReader {
+
+    private final byte[] payload;
+    private final int length;
+    private int position;
+
+    private String subject;
+    private String id;
+    private String authorities;
+    private long rolesMask = -1;
+    private long epoch = -1;
+    private long authenticatedAt = -1;
+    private long issuedAt = -1;
+    private long expiration = -1;
+
+    private PayloadReader(byte[] payload, int length) {
+      this.payload = payload;
+      this.length = length;
+    }
+
+    private Verification read(long now) {
+      if (!readObject() || subject == null || expiration < 0) {
+        return Verification.unsupported();
+      }
+
+      if (now > expiration * 1000) {
+        return Verification.rejected("Expired token");
+      }
+
+      Long roles = rolesMask < 0 ? null : rolesMask;
+      Long tokenEpoch = epoch < 0 ? null : epoch;
+
+      return Verification.verified(new TokenClaims(subject, id, authorities, roles, tokenEpoch, Instant.ofEpochSecond(expiration)));
+    }
+
+    private boolean readObject() {
+      if (!consume('{')) {
+        return false;
+      }
+
+      if (consume('}')) {
+        return end();
+      }
+
+      do {
+        if (!readClaim()) {
+          return false;
+        }
+      } while (consume(','));
+
+      return consume('}') && end();
+    }
+
+    private boolean readClaim() {
+      int keyStart = stringStart();
+      int keyEnd = stringEnd(keyStart);
+      if (keyEnd < 0 || !consume(':')) {
+        return false;
+      }
+
+      if (isKey(keyStart, keyEnd, "exp")) {
+        if (expiration >= 0) {
+          return false;
+        }
+
+        expiration = readNumber();
+        return expiration >= 0;
+      }
+
+      if (isKey(keyStart, keyEnd, "rol")) {
+        if (rolesMask >= 0) {
+          return false;
+        }
+
+        rolesMask = readNumber();
+        return rolesMask >= 0;
+      }
+
+      if (isKey(keyStart, keyEnd, "auth_time")) {
+        if (authenticatedAt >= 0) {
+          return false;
+        }
+
+        authenticatedAt = readNumber();
+        return authenticatedAt >= 0;
+      }
+
+      if (isKey(keyStart, keyEnd, "iat")) {
+        if (issuedAt >= 0) {
+          return false;
+        }
+
+        issuedAt = readNumber();
+        return issuedAt >= 0;
+      }
+
+      if (isKey(keyStart, keyEnd, "epc")) {
+        if (epoch >= 0) {
+          return false;
+        }
+
+        epoch = readNumber();
+        return epoch >= 0;
+      }
+
+      int valueStart = stringStart();
+      int valueEnd = stringEnd(valueStart);
+      if (valueEnd < 0) {
+        return false;
+      }
+
+      if (isKey(keyStart, keyEnd, "sub") && subject == null) {
+        subject = new String(payload, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+
+        return true;
+      }
+
+      if (isKey(keyStart, keyEnd, "jti") && id == null) {
+        id = new String(payload, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+
+        return true;
+      }
+
+      if (isKey(keyStart, keyEnd, "auth") && authorities == null) {
+        authorities = new String(payload, valueStart, valueEnd - valueStart, StandardCharsets.UTF_8);
+
+        return true;
+      }
+
+      return false;
+    }
+
+    private long readNumber() {
+      skipWhitespaces();
+
+      int start = position;
+      long value = 0;
+      while (position < length && payload[position] >= '0' && payload[position] <= '9') {
+        value = value * 10 + (payload[position] - '0');
+        position++;
+      }
+
+      int digits = position - start;
+      if (digits == 0 || digits > MAX_NUMBER_DIGITS) {
+        return -1;
+      }
+
+      return value;
+    }
+
+    private int stringStart() {
+      if (!consume('"')) {
+        return -1;
+      }
+
+      return position;
+    }
+
+    private int stringEnd(int start) {
+      if (start < 0) {
+        return -1;
+      }
+
+      while (position < length) {
+        byte current = payload[position];
+        if (current == '\\') {
+          return -1;
+        }
+
+        if (current == '"') {
+          return position++;
+        }
+
+        position++;
+      }
+
+      return -1;
+    }
+
+    private boolean isKey(int start, int end, String key) {
+      if (end - start != key.length()) {
+        return false;
+      }
+
+      for (int i = 0; i < key.length(); i++) {
+        if (payload[start + i] != key.charAt(i)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    private boolean consume(char expected) {
+      skipWhitespaces();
+
+      if (position < length && payload[position] == expected) {
+        position++;
+
+        return true;
+      }
+
+      return false;
+    }
+
+    private boolean end() {
+      skipWhitespaces();
+
+      return position == length;
+    }
+
+    private void skipWhitespaces() {
+      while (position < length && isWhitespace(payload[position])) {
+        position++;
+      }
+    }
+
+    private static boolean isWhitespace(byte value) {
+      return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link PasswordEncoder} running the (CPU heavy) delegate on a dedicated, bounded, pool of threads.
+ *
+ * <p>
+ * Callers still wait for the result but at most {@code threads} hashes are computed at once, so a burst of logins can't
+ * take all the CPU from the other requests. When all threads are busy and {@code queueCapacity} hashes are already waiting,
+ * calls fail right away with a {@link PasswordHashingSaturatedException}.
+ * </p>
+ */
+class IsolatedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+  static final String QUEUE_WAIT = "password.hashing.queue.wait";
+  static final String REJECTED = "password.hashing.rejected";
+  static final String QUEUE_SIZE = "password.hashing.queue.size";
+
+  private final PasswordEncoder delegate;
+  private final Duration retryAfter;
+  private final ThreadPoolExecutor executor;
+  private final Timer queueWait;
+  private final Counter rejected;
+
+  public IsolatedPasswordEncoder(PasswordEncoder delegate, JwtAuthenticationProperties.PasswordHashing properties, MeterRegistry meters) {
+    Assert.notNull("delegate", delegate);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+
+    this.delegate = delegate;
+    retryAfter = properties.getRetryAfter();
+    executor = executor(properties.getThreads(), properties.getQueueCapacity());
+    queueWait = Timer.builder(QUEUE_WAIT).description("Time spent by password hashes waiting for a thread").register(meters);
+    rejected = Counter.builder(REJECTED).description("Password hashes rejected because all threads were busy").register(meters);
+    Gauge.builder(QUEUE_SIZE, executor, pool -> pool.getQueue().size())
+      .description("Password hashes waiting for a thread")
+      .register(meters);
+  }
+
+  private static ThreadPoolExecutor executor(int threads, int queueCapacity) {
+    var threadsCount = new AtomicInteger();
+
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+      var thread = new Thread(runnable, "password-hashing-" + threadsCount.incrementAndGet());
+      thread.setDaemon(true);
+
+      return thread;
+    });
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return run(() -> delegate.encode(rawPassword));
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    return run(() -> delegate.matches(rawPassword, encodedPassword));
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> T run(Callable<T> hashing) {
+    long submitted = System.nanoTime();
+
+    return await(submit(() -> {
+      queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+
+      return hashing.call();
+    }));
+  }
+
+  private <T> Future<T> submit(Callable<T> task) {
+    try {
+      return executor.submit(task);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+
+      throw new PasswordHashingSaturatedException(retryAfter);
+    }
+  }
+
+  private static <T> T await(Future<T> result) {
+    try {
+      return result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      result.cancel(true);
+
+      throw new IllegalStateException("Interrupted while hashing password", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException runtimeException) {
+        throw runtimeException;
+      }
+
+      throw new IllegalStateException("Error while hashing password", e.getCause());
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.security.config.annotation.SecurityConfigurerAdapter;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.web.DefaultSecurityFilterChain;
@@ -8,14 +9,20 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 class JWTConfigurer extends SecurityConfigurerAdapter<DefaultSecurityFilterChain, HttpSecurity> {
 
   private final AuthenticationTokenReader jwt;
+  private final AnonymousRoutes anonymousRoutes;
+  private final MeterRegistry meters;
+  private final boolean deferred;
 
-  public JWTConfigurer(AuthenticationTokenReader jwt) {
+  public JWTConfigurer(AuthenticationTokenReader jwt, AnonymousRoutes anonymousRoutes, MeterRegistry meters, boolean deferred) {
     this.jwt = jwt;
+    this.anonymousRoutes = anonymousRoutes;
+    this.meters = meters;
+    this.deferred = deferred;
   }
 
   @Override
   public void configure(HttpSecurity http) {
-    var jwtFilter = new JWTFilter(jwt);
+    var jwtFilter = new JWTFilter(jwt, anonymousRoutes, meters, deferred);
 
     http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
   }
@@ -1,5 +1,7 @@
 package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
@@ -8,34 +10,97 @@ import jakarta.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 import com.mycompany.myapp.shared.error.domain.Assert;
 
 class JWTFilter extends GenericFilterBean {
 
+  static final String SKIPPED_VERIFICATIONS = "jwt.verifications.skipped";
+  static final String DEFERRED_VERIFICATIONS = "jwt.verifications.deferred";
+
   private static final String TOKEN_PREFIX = "Bearer ";
 
   private final AuthenticationTokenReader tokens;
+  private final AnonymousRoutes anonymousRoutes;
+  private final boolean deferred;
+  private final Counter skippedVerifications;
+  private final Counter resolvedVerifications;
+  private final Counter unresolvedVerifications;
+
+  public JWTFilter(AuthenticationTokenReader tokens, AnonymousRoutes anonymousRoutes, MeterRegistry meters) {
+    this(tokens, anonymousRoutes, meters, false);
+  }
 
-  public JWTFilter(AuthenticationTokenReader tokens) {
+  public JWTFilter(AuthenticationTokenReader tokens, AnonymousRoutes anonymousRoutes, MeterRegistry meters, boolean deferred) {
     Assert.notNull("tokens", tokens);
+    Assert.notNull("anonymousRoutes", anonymousRoutes);
+    Assert.notNull("meters", meters);
 
     this.tokens = tokens;
+    this.anonymousRoutes = anonymousRoutes;
+    this.deferred = deferred;
+    skippedVerifications = Counter.builder(SKIPPED_VERIFICATIONS)
+      .description("Bearer tokens not verified because they were sent to an anonymous route")
+      .register(meters);
+    resolvedVerifications = deferredVerifications(meters, true);
+    unresolvedVerifications = deferredVerifications(meters, false);
+  }
+
+  private static Counter deferredVerifications(MeterRegistry meters, boolean resolved) {
+    return Counter.builder(DEFERRED_VERIFICATIONS)
+      .description("Bearer tokens captured for a deferred verification, by whether the authentication was needed")
+      .tag("resolved", String.valueOf(resolved))
+      .register(meters);
   }
 
   @Override
   public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
-    readToken(request).flatMap(tokens::read).ifPresent(loadAuthentication());
+    HttpServletRequest httpRequest = (HttpServletRequest) request;
+    Optional<String> token = readToken(httpRequest);
+
+    if (token.isEmpty()) {
+      chain.doFilter(request, response);
+      return;
+    }
+
+    if (anonymousRoutes.matches(httpRequest)) {
+      skippedVerifications.increment();
+      chain.doFilter(request, response);
+      return;
+    }
 
+    if (deferred) {
+      deferredFilter(token.get(), request, response, chain);
+      return;
+    }
+
+    tokens.read(token.get()).ifPresent(loadAuthentication());
     chain.doFilter(request, response);
   }
 
-  private Optional<String> readToken(ServletRequest request) {
-    HttpServletRequest httpRequest = (HttpServletRequest) request;
+  private void deferredFilter(String token, ServletRequest request, ServletResponse response, FilterChain chain)
+    throws IOException, ServletException {
+    var context = new DeferredTokenContext(token);
+    SecurityContextHolder.setDeferredContext(context);
+
+    try {
+      chain.doFilter(request, response);
+    } finally {
+      if (context.resolved()) {
+        resolvedVerifications.increment();
+      } else {
+        unresolvedVerifications.increment();
+      }
+    }
+  }
+
+  private Optional<String> readToken(HttpServletRequest httpRequest) {
     String authorization = httpRequest.getHeader(HttpHeaders.AUTHORIZATION);
 
     if (StringUtils.isBlank(authorization) || !authorization.startsWith(TOKEN_PREFIX)) {
@@ -48,4 +113,32 @@ class JWTFilter extends GenericFilterBean {
   private Consumer<Authentication> loadAuthentication() {
     return authentication -> SecurityContextHolder.getContext().setAuthentication(authentication);
   }
+
+  /**
+   * Security context only reading the token the first time it is needed (by the authorization manager, to get the
+   * authenticated user, ...).
+   */
+  private final class DeferredTokenContext implements Supplier<SecurityContext> {
+
+    private final String token;
+    private SecurityContext context;
+
+    private DeferredTokenContext(String token) {
+      this.token = token;
+    }
+
+    @Override
+    public SecurityContext get() {
+      if (context == null) {
+        context = SecurityContextHolder.createEmptyContext();
+        tokens.read(token).ifPresent(context::setAuthentication);
+      }
+
+      return context;
+    }
+
+    private boolean resolved() {
+      return context != null;
+    }
+  }
 }
@@ -0,0 +1,104 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import com.mycompany.myapp.shared.authentication.application.RolesAuthentication;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Immutable authentication built from a verified JWT, it can safely be shared between requests carrying the same token
+ */
+final class JwtAuthentication implements Authentication, RolesAuthentication {
+
+  private final User principal;
+  private final String token;
+  private final String tokenId;
+  private final long tokenEpoch;
+  private final Instant expiration;
+  private final DecodedAuthorities authorities;
+
+  JwtAuthentication(User principal, String token, String tokenId, long tokenEpoch, Instant expiration, DecodedAuthorities authorities) {
+    Assert.notNull("principal", principal);
+    Assert.notBlank("token", token);
+    Assert.notNull("authorities", authorities);
+
+    this.principal = principal;
+    this.token = token;
+    this.tokenId = tokenId;
+    this.tokenEpoch = tokenEpoch;
+    this.expiration = expiration;
+    this.authorities = authorities;
+  }
+
+  /**
+   * @return the token {@code jti} claim, null for tokens built without it
+   */
+  String tokenId() {
+    return tokenId;
+  }
+
+  /**
+   * @return the token {@code epc} claim, 0 for tokens built without it
+   */
+  long tokenEpoch() {
+    return tokenEpoch;
+  }
+
+  /**
+   * @return the token expiration, null for tokens that never expire
+   */
+  Instant expiration() {
+    return expiration;
+  }
+
+  @Override
+  public String getName() {
+    return principal.getUsername();
+  }
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities.authorities();
+  }
+
+  @Override
+  public Roles roles() {
+    return authorities.roles();
+  }
+
+  @Override
+  public Object getCredentials() {
+    return token;
+  }
+
+  @Override
+  public Object getDetails() {
+    return null;
+  }
+
+  @Override
+  public User getPrincipal() {
+    return principal;
+  }
+
+  @Override
+  public boolean isAuthenticated() {
+    return true;
+  }
+
+  @Override
+  public void setAuthenticated(boolean authenticated) {
+    if (!authenticated) {
+      throw new IllegalArgumentException("JWT authentications can't be marked as not authenticated");
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "JwtAuthentication[principal=" + getName() + ", authorities=" + authorities.authorities() + "]";
+  }
+}
@@ -1,7 +1,13 @@
 package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 import org.springframework.validation.annotation.Validated;
 
 @Validated
@@ -19,6 +25,15 @@ class JwtAuthenticationProperties {
 
   private String jwtBase64Secret;
 
+  /**
+   * Only read the bearer token when the authentication is needed (authorization, authenticated user, ...)
+   */
+  private boolean deferredAuthentication;
+
+  private final TokenCache tokenCache = new TokenCache();
+  private final PasswordHashing passwordHashing = new PasswordHashing();
+  private final CredentialsCache credentialsCache = new CredentialsCache();
+
   @NotBlank
   public String getContentSecurityPolicy() {
     return contentSecurityPolicy;
@@ -36,4 +51,219 @@ class JwtAuthenticationProperties {
   public void setJwtBase64Secret(String jwtBase64Secret) {
     this.jwtBase64Secret = jwtBase64Secret;
   }
+
+  public boolean isDeferredAuthentication() {
+    return deferredAuthentication;
+  }
+
+  public void setDeferredAuthentication(boolean deferredAuthentication) {
+    this.deferredAuthentication = deferredAuthentication;
+  }
+
+  @Valid
+  public TokenCache getTokenCache() {
+    return tokenCache;
+  }
+
+  @Valid
+  public PasswordHashing getPasswordHashing() {
+    return passwordHashing;
+  }
+
+  @Valid
+  public CredentialsCache getCredentialsCache() {
+    return credentialsCache;
+  }
+
+  static class TokenCache {
+
+    /**
+     * Keep verified tokens in memory until they expire
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum number of cached tokens
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * Maximum (estimated) memory used by the cached tokens
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(8);
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    @Min(1)
+    public int getMaxEntries() {
+      return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+
+    @NotNull
+    public DataSize getMaxMemory() {
+      return maxMemory;
+    }
+
+    public void setMaxMemory(DataSize maxMemory) {
+      this.maxMemory = maxMemory;
+    }
+  }
+
+  static class PasswordHashing {
+
+    /**
+     * Number of threads dedicated to password hashing
+     */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of password hashes waiting for a thread, the next ones are rejected
+     */
+    private int queueCapacity = 4 * Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Delay sent to clients (Retry-After header) when password hashes are rejected
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Fixed BCrypt cost, the cost is calibrated at startup when not set
+     */
+    private Integer cost;
+
+    /**
+     * Expected duration of one BCrypt hash, used to calibrate the cost
+     */
+    private Duration targetDuration = Duration.ofMillis(250);
+
+    /**
+     * Lowest calibrated BCrypt cost, whatever the hardware is
+     */
+    private int minCost = 10;
+
+    /**
+     * Highest calibrated BCrypt cost
+     */
+    private int maxCost = 14;
+
+    @Min(1)
+    public int getThreads() {
+      return threads;
+    }
+
+    public void setThreads(int threads) {
+      this.threads = threads;
+    }
+
+    @Min(1)
+    public int getQueueCapacity() {
+      return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+    }
+
+    @NotNull
+    public Duration getRetryAfter() {
+      return retryAfter;
+    }
+
+    public void setRetryAfter(Duration retryAfter) {
+      this.retryAfter = retryAfter;
+    }
+
+    @Min(BCryptCostCalibration.MIN_COST)
+    @Max(BCryptCostCalibration.MAX_COST)
+    public Integer getCost() {
+      return cost;
+    }
+
+    public void setCost(Integer cost) {
+      this.cost = cost;
+    }
+
+    @NotNull
+    public Duration getTargetDuration() {
+      return targetDuration;
+    }
+
+    public void setTargetDuration(Duration targetDuration) {
+      this.targetDuration = targetDuration;
+    }
+
+    @Min(BCryptCostCalibration.MIN_COST)
+    @Max(BCryptCostCalibration.MAX_COST)
+    public int getMinCost() {
+      return minCost;
+    }
+
+    public void setMinCost(int minCost) {
+      this.minCost = minCost;
+    }
+
+    @Min(BCryptCostCalibration.MIN_COST)
+    @Max(BCryptCostCalibration.MAX_COST)
+    public int getMaxCost() {
+      return maxCost;
+    }
+
+    public void setMaxCost(int maxCost) {
+      this.maxCost = maxCost;
+    }
+  }
+
+  static class CredentialsCache {
+
+    /**
+     * Skip the password hash check of logins repeating a recently verified username and password
+     */
+    private boolean enabled;
+
+    /**
+     * How long a verified username and password is kept
+     */
+    private Duration timeToLive = Duration.ofMinutes(1);
+
+    /**
+     * Maximum number of kept usernames
+     */
+    private int maxEntries = 10_000;
+
+    public boolean isEnabled() {
+      return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    @NotNull
+    public Duration getTimeToLive() {
+      return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+    }
+
+    @Min(1)
+    public int getMaxEntries() {
+      return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+    }
+  }
 }
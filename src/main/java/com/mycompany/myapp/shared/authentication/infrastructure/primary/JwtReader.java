@@ -3,40 +3,68 @@ package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
-import java.util.List;
+import java.time.Instant;
 import java.util.Optional;
-import java.util.stream.Stream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.authentication.infrastructure.primary.Hs512TokenVerifier.TokenClaims;
+import com.mycompany.myapp.shared.authentication.infrastructure.primary.Hs512TokenVerifier.Verification;
+import com.mycompany.myapp.shared.authentication.infrastructure.primary.Hs512TokenVerifier.Verification.Status;
 import com.mycompany.myapp.shared.error.domain.Assert;
 
 class JwtReader implements AuthenticationTokenReader {
 
   private static final Logger log = LoggerFactory.getLogger(JwtReader.class);
 
+  private final AuthoritiesDecoder authorities = new AuthoritiesDecoder();
   private final JwtParser parser;
+  private final Hs512TokenVerifier fastVerifier;
 
   public JwtReader(JwtParser parser) {
     Assert.notNull("parser", parser);
 
     this.parser = parser;
+    this.fastVerifier = null;
+  }
+
+  public JwtReader(JwtParser parser, Hs512TokenVerifier fastVerifier) {
+    Assert.notNull("parser", parser);
+    Assert.notNull("fastVerifier", fastVerifier);
+
+    this.parser = parser;
+    this.fastVerifier = fastVerifier;
   }
 
   @Override
   public Optional<Authentication> read(String token) {
+    return verify(token).map(VerifiedToken::authentication);
+  }
+
+  Optional<VerifiedToken> verify(String token) {
     if (StringUtils.isBlank(token)) {
       log.info("Invalid empty JWT token");
 
       return Optional.empty();
     }
 
+    var verification = fastVerification(token);
+    if (verification.status() == Status.VERIFIED) {
+      return Optional.of(toVerifiedToken(token, verification.claims()));
+    }
+
+    if (verification.status() == Status.REJECTED) {
+      log.info("Invalid JWT token");
+      log.trace("Invalid JWT token: {}", verification.reason());
+
+      return Optional.empty();
+    }
+
     try {
-      return parseToken(token);
+      return Optional.of(parseToken(token));
     } catch (JwtException e) {
       log.info("Invalid JWT token");
       log.trace("Invalid JWT token: {}", e.getMessage(), e);
@@ -45,26 +73,70 @@ class JwtReader implements AuthenticationTokenReader {
     }
   }
 
-  private Optional<Authentication> parseToken(String token) {
-    var claims = parser.parseSignedClaims(token).getPayload();
+  private Verification fastVerification(String token) {
+    if (fastVerifier == null) {
+      return Verification.unsupported();
+    }
+
+    return fastVerifier.verify(token);
+  }
+
+  private VerifiedToken parseToken(String token) {
+    Claims claims = parser.parseSignedClaims(token).getPayload();
+
+    return toVerifiedToken(
+      token,
+      new TokenClaims(
+        claims.getSubject(),
+        claims.getId(),
+        readAuthorities(claims),
+        readNumber(claims, "rol"),
+        readNumber(claims, "epc"),
+        readExpiration(claims)
+      )
+    );
+  }
+
+  private VerifiedToken toVerifiedToken(String token, TokenClaims claims) {
+    DecodedAuthorities decodedAuthorities = decodeAuthorities(claims);
+    User principal = new User(claims.subject(), "", decodedAuthorities.authorities());
 
-    List<SimpleGrantedAuthority> authorities = readAuthorities(claims);
+    var tokenEpoch = claims.epoch() == null ? 0 : claims.epoch();
 
-    User principal = buildPrincipal(claims, authorities);
-    return Optional.of(new UsernamePasswordAuthenticationToken(principal, token, authorities));
+    return new VerifiedToken(new JwtAuthentication(principal, token, claims.id(), tokenEpoch, claims.expiration(), decodedAuthorities));
   }
 
-  private User buildPrincipal(Claims claims, List<SimpleGrantedAuthority> authorities) {
-    return new User(claims.getSubject(), "", authorities);
+  private DecodedAuthorities decodeAuthorities(TokenClaims claims) {
+    if (claims.rolesMask() != null) {
+      return authorities.decode(Roles.fromMask(claims.rolesMask()));
+    }
+
+    return authorities.decode(claims.authorities());
   }
 
-  private List<SimpleGrantedAuthority> readAuthorities(Claims claims) {
+  private Long readNumber(Claims claims, String claim) {
+    if (claims.get(claim) instanceof Number value) {
+      return value.longValue();
+    }
+
+    return null;
+  }
+
+  private String readAuthorities(Claims claims) {
     Object tokenauthorities = claims.get("auth");
 
     if (tokenauthorities == null) {
-      return List.of();
+      return null;
+    }
+
+    return tokenauthorities.toString();
+  }
+
+  private Instant readExpiration(Claims claims) {
+    if (claims.getExpiration() == null) {
+      return null;
     }
 
-    return Stream.of(tokenauthorities.toString().split(",")).filter(StringUtils::isNotBlank).map(SimpleGrantedAuthority::new).toList();
+    return claims.getExpiration().toInstant();
   }
 }
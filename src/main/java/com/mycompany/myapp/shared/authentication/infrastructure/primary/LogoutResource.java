@@ -0,0 +1,28 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.swagger.v3.oas.annotations.Operation;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+
+@RestController
+class LogoutResource {
+
+  private final RevokedTokens revokedTokens;
+
+  public LogoutResource(RevokedTokens revokedTokens) {
+    this.revokedTokens = revokedTokens;
+  }
+
+  @PostMapping("/api/logout")
+  @ResponseStatus(HttpStatus.NO_CONTENT)
+  @Operation(description = "Revoke the token used to authenticate this request")
+  public void logout(Authentication authentication) {
+    if (authentication instanceof JwtAuthentication token && token.tokenId() != null && token.expiration() != null) {
+      revokedTokens.revoke(token.tokenId(), token.expiration());
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link AuthenticationTokenReader} rejecting tokens revoked on logout and tokens issued before their user epoch was
+ * bumped. It decorates the (possibly cached) reader so a revocation applies to already verified tokens too.
+ */
+class RevocationCheckingTokenReader implements AuthenticationTokenReader {
+
+  static final String REJECTED_TOKENS = "jwt.revocations.rejected";
+
+  private static final Logger log = LoggerFactory.getLogger(RevocationCheckingTokenReader.class);
+
+  private final AuthenticationTokenReader reader;
+  private final RevokedTokens revokedTokens;
+  private final TokenEpochs epochs;
+  private final Counter revokedRejections;
+  private final Counter outdatedRejections;
+
+  public RevocationCheckingTokenReader(
+    AuthenticationTokenReader reader,
+    RevokedTokens revokedTokens,
+    TokenEpochs epochs,
+    MeterRegistry meters
+  ) {
+    Assert.notNull("reader", reader);
+    Assert.notNull("revokedTokens", revokedTokens);
+    Assert.notNull("epochs", epochs);
+    Assert.notNull("meters", meters);
+
+    this.reader = reader;
+    this.revokedTokens = revokedTokens;
+    this.epochs = epochs;
+    revokedRejections = rejectedTokens(meters, "revoked");
+    outdatedRejections = rejectedTokens(meters, "outdated-epoch");
+  }
+
+  private static Counter rejectedTokens(MeterRegistry meters, String reason) {
+    return Counter.builder(REJECTED_TOKENS)
+      .description("Verified tokens rejected because they were revoked, by reason")
+      .tag("reason", reason)
+      .register(meters);
+  }
+
+  @Override
+  public Optional<Authentication> read(String token) {
+    return reader.read(token).filter(this::notRevoked);
+  }
+
+  private boolean notRevoked(Authentication authentication) {
+    if (!(authentication instanceof JwtAuthentication jwtAuthentication)) {
+      return true;
+    }
+
+    if (jwtAuthentication.tokenEpoch() < epochs.current(new Username(jwtAuthentication.getName()))) {
+      log.info("Outdated JWT token epoch");
+      outdatedRejections.increment();
+
+      return false;
+    }
+
+    if (jwtAuthentication.tokenId() != null && revokedTokens.revoked(jwtAuthentication.tokenId())) {
+      log.info("Revoked JWT token");
+      revokedRejections.increment();
+
+      return false;
+    }
+
+    return true;
+  }
+}
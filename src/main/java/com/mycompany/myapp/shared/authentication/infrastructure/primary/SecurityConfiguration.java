@@ -2,12 +2,19 @@ package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
 import static org.springframework.security.web.util.matcher.AntPathRequestMatcher.*;
 
-import com.mycompany.myapp.account.infrastructure.secondary.CustomUserDetailsService;
+import com.mycompany.myapp.account.infrastructure.secondary.CachedUserDetailsService;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
 import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 import javax.crypto.SecretKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -21,13 +28,18 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer.FrameOptionsConfig;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.ReferrerPolicyHeaderWriter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
@@ -37,6 +49,37 @@ import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 @EnableMethodSecurity(securedEnabled = true)
 class SecurityConfiguration {
 
+  private static final Logger log = LoggerFactory.getLogger(SecurityConfiguration.class);
+
+  private static final String BCRYPT = "bcrypt";
+  private static final String PBKDF2 = "pbkdf2@SpringSecurity_v5_8";
+
+  /**
+   * Routes only ever served anonymously: bearer tokens sent to them are not even read
+   */
+  private static final List<String> ANONYMOUS_ROUTES = List.of(
+    "/app/**",
+    "/i18n/**",
+    "/content/**",
+    "/swagger-ui/**",
+    "/swagger-ui.html",
+    "/v3/api-docs/**",
+    "/",
+    "/login",
+    "/register",
+    "/activate",
+    "/password-reset",
+    "/index.html",
+    "/*.js",
+    "/*.css",
+    "/*.ico",
+    "/*.png",
+    "/*.svg",
+    "/*.woff",
+    "/*.woff2",
+    "/assets/**"
+  );
+
   private final JwtAuthenticationProperties properties;
   private final CorsFilter corsFilter;
   private final HandlerMappingIntrospector introspector;
@@ -48,25 +91,71 @@ class SecurityConfiguration {
   }
 
   @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  public PasswordEncoder passwordEncoder(MeterRegistry meters) {
+    return new IsolatedPasswordEncoder(delegatingPasswordEncoder(), properties.getPasswordHashing(), meters);
+  }
+
+  private PasswordEncoder delegatingPasswordEncoder() {
+    var bcrypt = new BCryptPasswordEncoder(bcryptCost());
+    var encoder = new DelegatingPasswordEncoder(
+      BCRYPT,
+      Map.of(BCRYPT, bcrypt, PBKDF2, Pbkdf2PasswordEncoder.defaultsForSpringSecurity_v5_8())
+    );
+    // Hashes stored before encodings were prefixed are all BCrypt ones
+    encoder.setDefaultPasswordEncoderForMatches(bcrypt);
+
+    return encoder;
+  }
+
+  private int bcryptCost() {
+    var hashing = properties.getPasswordHashing();
+    if (hashing.getCost() != null) {
+      return hashing.getCost();
+    }
+
+    int cost = BCryptCostCalibration.calibrate(hashing.getTargetDuration(), hashing.getMinCost(), hashing.getMaxCost());
+    log.info("BCrypt cost calibrated to {} for a {} target", cost, hashing.getTargetDuration());
+
+    return cost;
   }
 
   @Bean
-  public UserDetailsService userDetailsService(CustomUserDetailsService customUserDetailsService) {
-    return customUserDetailsService;
+  public UserDetailsService userDetailsService(CachedUserDetailsService cachedUserDetailsService) {
+    return cachedUserDetailsService;
   }
 
   @Bean
-  public DaoAuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
-    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+  public DaoAuthenticationProvider authenticationProvider(
+    UserDetailsService userDetailsService,
+    PasswordEncoder passwordEncoder,
+    MeterRegistry meters
+  ) {
+    DaoAuthenticationProvider provider = daoAuthenticationProvider(meters);
     provider.setUserDetailsService(userDetailsService);
     provider.setPasswordEncoder(passwordEncoder);
+    provider.setPreAuthenticationChecks(new AccountStatusChecks.BeforePassword());
+    provider.setPostAuthenticationChecks(new AccountStatusChecks.AfterPassword());
+    if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+      provider.setUserDetailsPasswordService(passwordService);
+    }
     return provider;
   }
 
+  private DaoAuthenticationProvider daoAuthenticationProvider(MeterRegistry meters) {
+    if (properties.getCredentialsCache().isEnabled()) {
+      return new CredentialsCachingAuthenticationProvider(properties.getCredentialsCache(), meters);
+    }
+
+    return new DaoAuthenticationProvider();
+  }
+
   @Bean
-  public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
+  public SecurityFilterChain filterChain(
+    HttpSecurity http,
+    DaoAuthenticationProvider authenticationProvider,
+    AuthenticationTokenReader authenticationTokenReader,
+    MeterRegistry meters
+  ) throws Exception {
     // @formatter:off
     http
       .authenticationProvider(authenticationProvider)
@@ -84,30 +173,13 @@ class SecurityConfiguration {
       .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
       .authorizeHttpRequests(authz -> authz
         .requestMatchers(antMatcher(HttpMethod.OPTIONS, "/**")).permitAll()
-        .requestMatchers(antMatcher("/app/**")).permitAll()
-        .requestMatchers(antMatcher("/i18n/**")).permitAll()
-        .requestMatchers(antMatcher("/content/**")).permitAll()
-        .requestMatchers(antMatcher("/swagger-ui/**")).permitAll()
-        .requestMatchers(antMatcher("/swagger-ui.html")).permitAll()
-        .requestMatchers(antMatcher("/v3/api-docs/**")).permitAll()
+        .requestMatchers(anonymousMatchers()).permitAll()
         .requestMatchers(antMatcher("/test/**")).permitAll()
-        .requestMatchers(antMatcher("/")).permitAll()
-        .requestMatchers(antMatcher("/login")).permitAll()
-        .requestMatchers(antMatcher("/register")).permitAll()
-        .requestMatchers(antMatcher("/activate")).permitAll()
-        .requestMatchers(antMatcher("/password-reset")).permitAll()
-        .requestMatchers(antMatcher("/index.html")).permitAll()
-        .requestMatchers(antMatcher("/*.js")).permitAll()
-        .requestMatchers(antMatcher("/*.css")).permitAll()
-        .requestMatchers(antMatcher("/*.ico")).permitAll()
-        .requestMatchers(antMatcher("/*.png")).permitAll()
-        .requestMatchers(antMatcher("/*.svg")).permitAll()
-        .requestMatchers(antMatcher("/*.woff")).permitAll()
-        .requestMatchers(antMatcher("/*.woff2")).permitAll()
-        .requestMatchers(antMatcher("/assets/**")).permitAll()
         .requestMatchers(antMatcher(HttpMethod.POST,"/api/authenticate")).permitAll()
+        .requestMatchers(antMatcher(HttpMethod.POST,"/api/authenticate/renew")).permitAll()
         .requestMatchers(new MvcRequestMatcher(introspector, "/api/authenticate")).permitAll()
         .requestMatchers(new MvcRequestMatcher(introspector, "/api/register")).permitAll()
+        .requestMatchers(new MvcRequestMatcher(introspector, "/api/register/availability")).permitAll()
         .requestMatchers(new MvcRequestMatcher(introspector, "/api/activate")).permitAll()
         .requestMatchers(new MvcRequestMatcher(introspector, "/api/account/reset-password/init")).permitAll()
         .requestMatchers(new MvcRequestMatcher(introspector, "/api/account/reset-password/finish")).permitAll()
@@ -121,16 +193,45 @@ class SecurityConfiguration {
         .anyRequest().authenticated()
       );
 
-      var jwtConfigurer = new JWTConfigurer(authenticationTokenReader());
+      var jwtConfigurer = new JWTConfigurer(
+        authenticationTokenReader,
+        new AnonymousRoutes(ANONYMOUS_ROUTES),
+        meters,
+        properties.isDeferredAuthentication()
+      );
       http.with(jwtConfigurer, Customizer.withDefaults());
       return http.build();
     // @formatter:on
   }
 
+  private static RequestMatcher[] anonymousMatchers() {
+    return ANONYMOUS_ROUTES.stream().map(AntPathRequestMatcher::antMatcher).toArray(RequestMatcher[]::new);
+  }
+
   @Bean
   @ConditionalOnMissingBean
-  AuthenticationTokenReader authenticationTokenReader() {
-    return new JwtReader(Jwts.parser().verifyWith(signingKey()).build());
+  AuthenticationTokenReader authenticationTokenReader(MeterRegistry meters, RevokedTokens revokedTokens, TokenEpochs epochs) {
+    return new RevocationCheckingTokenReader(verifyingReader(meters), revokedTokens, epochs, meters);
+  }
+
+  private AuthenticationTokenReader verifyingReader(MeterRegistry meters) {
+    var reader = jwtReader(signingKey());
+
+    if (!properties.getTokenCache().isEnabled()) {
+      return reader;
+    }
+
+    return new CachedJwtReader(reader, properties.getTokenCache(), meters);
+  }
+
+  private JwtReader jwtReader(SecretKey key) {
+    var parser = Jwts.parser().verifyWith(key).build();
+
+    if (!Hs512TokenVerifier.supports(key)) {
+      return new JwtReader(parser);
+    }
+
+    return new JwtReader(parser, new Hs512TokenVerifier(key));
   }
 
   private SecretKey signingKey() {
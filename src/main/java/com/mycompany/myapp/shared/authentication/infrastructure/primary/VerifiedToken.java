@@ -0,0 +1,21 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import java.time.Instant;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Result of a successful token verification: the immutable authentication it carries
+ */
+record VerifiedToken(JwtAuthentication authentication) {
+  VerifiedToken {
+    Assert.notNull("authentication", authentication);
+  }
+
+  Instant expiration() {
+    return authentication.expiration();
+  }
+
+  boolean expiring() {
+    return expiration() != null;
+  }
+}
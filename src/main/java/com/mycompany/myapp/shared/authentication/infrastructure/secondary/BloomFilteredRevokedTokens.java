@@ -0,0 +1,119 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+import com.mycompany.myapp.shared.collection.domain.BloomFilter;
+import com.mycompany.myapp.shared.concurrency.domain.SingleFlight;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link RevokedTokens} persisted in database with an in memory {@link BloomFilter} in front of it: only tokens hitting the
+ * filter (revoked ones and false positives) need a database lookup.
+ *
+ * <p>
+ * The filter is rebuilt from the database every {@code refresh-delay}, dropping expired revocations and picking up the ones
+ * made by other instances. Until the first load every check goes to the database. Concurrent lookups of the same token (a
+ * client retrying a request with a token hitting the filter) share a single database query.
+ * </p>
+ */
+@Repository
+class BloomFilteredRevokedTokens implements RevokedTokens {
+
+  static final String LOOKUPS = "jwt.revocations.lookups";
+  static final String COALESCED_LOOKUPS = "jwt.revocations.lookups.coalesced";
+
+  private static final Logger log = LoggerFactory.getLogger(BloomFilteredRevokedTokens.class);
+
+  private final JpaRevokedTokensRepository revocations;
+  private final RevokedTokensProperties properties;
+  private final Clock clock;
+  private final Counter revokedLookups;
+  private final Counter falsePositiveLookups;
+  private final SingleFlight<String, Boolean> lookups = new SingleFlight<>();
+
+  private volatile BloomFilter filter;
+
+  @Autowired
+  public BloomFilteredRevokedTokens(JpaRevokedTokensRepository revocations, RevokedTokensProperties properties, MeterRegistry meters) {
+    this(revocations, properties, meters, Clock.systemUTC());
+  }
+
+  BloomFilteredRevokedTokens(JpaRevokedTokensRepository revocations, RevokedTokensProperties properties, MeterRegistry meters, Clock clock) {
+    Assert.notNull("revocations", revocations);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("clock", clock);
+
+    this.revocations = revocations;
+    this.properties = properties;
+    this.clock = clock;
+    revokedLookups = lookups(meters, "revoked");
+    falsePositiveLookups = lookups(meters, "false-positive");
+    FunctionCounter.builder(COALESCED_LOOKUPS, lookups, SingleFlight::coalesced)
+      .description("Revoked tokens lookups that waited for an identical running database lookup")
+      .register(meters);
+  }
+
+  private static Counter lookups(MeterRegistry meters, String result) {
+    return Counter.builder(LOOKUPS).description("Database lookups of revoked tokens, by result").tag("result", result).register(meters);
+  }
+
+  @Override
+  public synchronized void revoke(String tokenId, Instant expiration) {
+    Assert.notBlank("tokenId", tokenId);
+    Assert.notNull("expiration", expiration);
+
+    revocations.save(new RevokedTokenEntity(tokenId, expiration));
+
+    BloomFilter current = filter;
+    if (current != null) {
+      current.put(tokenId);
+    }
+  }
+
+  @Override
+  public boolean revoked(String tokenId) {
+    Assert.notBlank("tokenId", tokenId);
+
+    BloomFilter current = filter;
+    if (current != null && !current.mightContain(tokenId)) {
+      return false;
+    }
+
+    boolean revoked = lookups.load(tokenId, () -> revocations.existsById(tokenId));
+    if (revoked) {
+      revokedLookups.increment();
+    } else {
+      falsePositiveLookups.increment();
+    }
+
+    return revoked;
+  }
+
+  @Scheduled(fixedDelayString = "${application.security.token-revocation.refresh-delay:PT1M}")
+  synchronized void refresh() {
+    Instant now = clock.instant();
+
+    int purged = revocations.deleteExpired(now);
+    List<String> active = revocations.findActiveIds(now);
+
+    BloomFilter refreshed = BloomFilter.of(
+      Math.max(properties.getExpectedRevocations(), active.size() * 2),
+      properties.getFalsePositiveProbability()
+    );
+    active.forEach(refreshed::put);
+    filter = refreshed;
+
+    log.debug("Revoked tokens filter refreshed: {} active revocations, {} purged", active.size(), purged);
+  }
+}
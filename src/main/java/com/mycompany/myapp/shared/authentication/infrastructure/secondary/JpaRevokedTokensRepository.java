@@ -0,0 +1,28 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+interface JpaRevokedTokensRepository extends JpaRepository<RevokedTokenEntity, String> {
+  @Override
+  @Transactional
+  <S extends RevokedTokenEntity> S save(S entity);
+
+  @Override
+  @Transactional(readOnly = true)
+  boolean existsById(String id);
+
+  @Transactional(readOnly = true)
+  @Query("select token.id from RevokedTokenEntity token where token.expiration > :now")
+  List<String> findActiveIds(@Param("now") Instant now);
+
+  @Modifying
+  @Transactional
+  @Query("delete from RevokedTokenEntity token where token.expiration <= :now")
+  int deleteExpired(@Param("now") Instant now);
+}
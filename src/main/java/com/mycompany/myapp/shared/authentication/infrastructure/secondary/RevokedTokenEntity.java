@@ -0,0 +1,34 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens")
+class RevokedTokenEntity {
+
+  @Id
+  @Column(length = 64)
+  private String id;
+
+  @Column(nullable = false)
+  private Instant expiration;
+
+  protected RevokedTokenEntity() {}
+
+  RevokedTokenEntity(String id, Instant expiration) {
+    this.id = id;
+    this.expiration = expiration;
+  }
+
+  String getId() {
+    return id;
+  }
+
+  Instant getExpiration() {
+    return expiration;
+  }
+}
@@ -0,0 +1,8 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(RevokedTokensProperties.class)
+class RevokedTokensConfiguration {}
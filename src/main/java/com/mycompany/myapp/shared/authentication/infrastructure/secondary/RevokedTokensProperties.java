@@ -0,0 +1,57 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.security.token-revocation")
+class RevokedTokensProperties {
+
+  /**
+   * Number of simultaneously revoked (and not yet expired) tokens the in memory filter is sized for
+   */
+  private int expectedRevocations = 100_000;
+
+  /**
+   * Probability for a not revoked token to need a database lookup
+   */
+  private double falsePositiveProbability = 0.001;
+
+  /**
+   * Delay between two purges of expired revocations, also used to load revocations made by other instances
+   */
+  private Duration refreshDelay = Duration.ofMinutes(1);
+
+  @Min(1)
+  public int getExpectedRevocations() {
+    return expectedRevocations;
+  }
+
+  public void setExpectedRevocations(int expectedRevocations) {
+    this.expectedRevocations = expectedRevocations;
+  }
+
+  @DecimalMin(value = "0", inclusive = false)
+  @DecimalMax(value = "1", inclusive = false)
+  public double getFalsePositiveProbability() {
+    return falsePositiveProbability;
+  }
+
+  public void setFalsePositiveProbability(double falsePositiveProbability) {
+    this.falsePositiveProbability = falsePositiveProbability;
+  }
+
+  @NotNull
+  public Duration getRefreshDelay() {
+    return refreshDelay;
+  }
+
+  public void setRefreshDelay(Duration refreshDelay) {
+    this.refreshDelay = refreshDelay;
+  }
+}
@@ -0,0 +1,119 @@
+package com.mycompany.myapp.shared.collection.domain;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Thread safe Bloom filter of strings.
+ *
+ * <p>
+ * {@link #mightContain(String)} never returns false for an added value and returns true for a value that was not added with
+ * (about) the false positive probability given at build time, as long as no more than the expected insertions were added.
+ * Values can't be removed: filters are meant to be rebuilt.
+ * </p>
+ */
+public final class BloomFilter {
+
+  private static final long SEED = 0x9E3779B97F4A7C15L;
+
+  private final AtomicLongArray bits;
+  private final long bitsCount;
+  private final int hashesCount;
+
+  private BloomFilter(long bitsCount, int hashesCount) {
+    this.bits = new AtomicLongArray((int) ((bitsCount + 63) / 64));
+    this.bitsCount = bitsCount;
+    this.hashesCount = hashesCount;
+  }
+
+  /**
+   * Build an empty filter sized for the given insertions and false positive probability
+   *
+   * @param expectedInsertions
+   *          number of values expected in this filter
+   * @param falsePositiveProbability
+   *          expected probability of {@link #mightContain(String)} returning true for a value that was not added
+   * @return An empty filter
+   */
+  public static BloomFilter of(int expectedInsertions, double falsePositiveProbability) {
+    Assert.field("expectedInsertions", expectedInsertions).min(1);
+    Assert.field("falsePositiveProbability", falsePositiveProbability).over(0).under(1);
+
+    double optimalBits = -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2));
+    long bitsCount = Math.max(64, (long) Math.ceil(optimalBits));
+    int hashesCount = Math.max(1, (int) Math.round((double) bitsCount / expectedInsertions * Math.log(2)));
+
+    return new BloomFilter(bitsCount, hashesCount);
+  }
+
+  public void put(String value) {
+    Assert.notNull("value", value);
+
+    long hash = hash(value);
+    long step = (hash >>> 32) | 1;
+
+    for (int i = 1; i <= hashesCount; i++) {
+      set(index(hash, step, i));
+    }
+  }
+
+  public boolean mightContain(String value) {
+    Assert.notNull("value", value);
+
+    long hash = hash(value);
+    long step = (hash >>> 32) | 1;
+
+    for (int i = 1; i <= hashesCount; i++) {
+      if (!isSet(index(hash, step, i))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public long bitsCount() {
+    return bitsCount;
+  }
+
+  public int hashesCount() {
+    return hashesCount;
+  }
+
+  private long index(long hash, long step, int hashIndex) {
+    return ((hash + hashIndex * step) & Long.MAX_VALUE) % bitsCount;
+  }
+
+  private void set(long index) {
+    int word = (int) (index >>> 6);
+    long mask = 1L << index;
+
+    long current;
+    do {
+      current = bits.get(word);
+      if ((current & mask) != 0) {
+        return;
+      }
+    } while (!bits.compareAndSet(word, current, current | mask));
+  }
+
+  private boolean isSet(long index) {
+    return (bits.get((int) (index >>> 6)) & (1L << index)) != 0;
+  }
+
+  private static long hash(String value) {
+    long hash = SEED;
+
+    for (int i = 0; i < value.length(); i++) {
+      hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+    }
+
+    hash ^= hash >>> 33;
+    hash *= 0xFF51AFD7ED558CCDL;
+    hash ^= hash >>> 33;
+    hash *= 0xC4CEB9FE1A85EC53L;
+    hash ^= hash >>> 33;
+
+    return hash;
+  }
+}
@@ -0,0 +1,96 @@
+package com.mycompany.myapp.shared.concurrency.domain;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Coalesces concurrent identical loads.
+ *
+ * <p>
+ * While a load is running for a key, callers asking for the same key wait for it and share its result (or its exception)
+ * instead of running their own load. Nothing is kept once the load is done: a caller arriving after that runs a new load, so
+ * this is not a cache. Only use it for reads that don't need to see writes made by the caller just before.
+ * </p>
+ *
+ * @param <K>
+ *          Type of the loads keys
+ * @param <V>
+ *          Type of the loaded values, null values are shared as any other value
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+  private final LongAdder executed = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+
+  /**
+   * Get the result of the load running for this key or run the given one
+   *
+   * @param key
+   *          key of the load
+   * @param loader
+   *          load to run if none is running for this key
+   * @return The loaded value
+   */
+  public V load(K key, Supplier<V> loader) {
+    Assert.notNull("key", key);
+    Assert.notNull("loader", loader);
+
+    var flight = new CompletableFuture<V>();
+    var running = flights.putIfAbsent(key, flight);
+    if (running != null) {
+      coalesced.increment();
+
+      return await(running);
+    }
+
+    executed.increment();
+    try {
+      V value = loader.get();
+      flight.complete(value);
+
+      return value;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+
+      throw e;
+    } finally {
+      flights.remove(key, flight);
+    }
+  }
+
+  private static <V> V await(CompletableFuture<V> flight) {
+    try {
+      return flight.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException exception) {
+        throw exception;
+      }
+
+      if (e.getCause() instanceof Error error) {
+        throw error;
+      }
+
+      throw e;
+    }
+  }
+
+  /**
+   * @return The number of loads actually run
+   */
+  public long executed() {
+    return executed.sum();
+  }
+
+  /**
+   * @return The number of calls that waited for a running load instead of running their own
+   */
+  public long coalesced() {
+    return coalesced.sum();
+  }
+}
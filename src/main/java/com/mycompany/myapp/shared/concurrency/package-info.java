@@ -0,0 +1,2 @@
+@com.mycompany.myapp.SharedKernel
+package com.mycompany.myapp.shared.concurrency;
@@ -1,16 +1,33 @@
 package com.mycompany.myapp.shared.email.application;
 
+import com.mycompany.myapp.shared.email.domain.Email;
+import com.mycompany.myapp.shared.email.domain.EmailContent;
+import com.mycompany.myapp.shared.email.domain.EmailOutbox;
+import com.mycompany.myapp.shared.email.domain.EmailTemplates;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.stereotype.Service;
 
+/**
+ * Builds the emails sent to the users and adds them to the {@link EmailOutbox}: they are sent in background once the
+ * calling transaction commits, callers don't wait for the mail server. Emails are rendered from the {@link EmailTemplates}
+ * in the locale of the current request, with links to {@code application.email.base-url}.
+ */
 @Service
 public class EmailService {
 
   @Autowired
-  private JavaMailSender mailSender;
+  private EmailOutbox outbox;
+
+  @Autowired
+  private EmailTemplates templates;
+
+  @Value("${application.email.base-url:http://localhost:8080}")
+  private String baseUrl;
 
   @Value("${spring.mail.username:}")
   private String fromEmail;
@@ -19,63 +36,25 @@ public class EmailService {
   private String defaultFromEmail;
 
   public void sendRegistrationEmail(String toEmail, String username, String activationToken) {
-    String subject = "Welcome to MyApp - Activate Your Account";
-    String message = String.format(
-      "Hello %s,\n\n" +
-      "Thank you for registering with MyApp! To complete your registration, please click the link below to activate your account:\n\n" +
-      "http://localhost:8080/activate?token=%s\n\n" +
-      "If you did not create this account, please ignore this email.\n\n" +
-      "Best regards,\n" +
-      "The MyApp Team",
-      username,
-      activationToken
-    );
-
-    sendEmail(toEmail, subject, message);
+    sendEmail(toEmail, "registration", Map.of("username", username, "activationUrl", link("/activate?token=", activationToken)));
   }
 
   public void sendPasswordResetEmail(String toEmail, String resetToken) {
-    String subject = "MyApp - Password Reset Request";
-    String message = String.format(
-      "Hello,\n\n" +
-      "You have requested to reset your password for your MyApp account. Please click the link below to reset your password:\n\n" +
-      "http://localhost:8080/password-reset?token=%s\n\n" +
-      "This link will expire in 24 hours. If you did not request this password reset, please ignore this email.\n\n" +
-      "Best regards,\n" +
-      "The MyApp Team",
-      resetToken
-    );
-
-    sendEmail(toEmail, subject, message);
+    sendEmail(toEmail, "password-reset", Map.of("resetUrl", link("/password-reset?token=", resetToken)));
   }
 
   public void sendAccountActivatedEmail(String toEmail, String username) {
-    String subject = "MyApp - Account Activated Successfully";
-    String message = String.format(
-      "Hello %s,\n\n" +
-      "Your MyApp account has been successfully activated! You can now log in to your account.\n\n" +
-      "http://localhost:8080/login\n\n" +
-      "Best regards,\n" +
-      "The MyApp Team",
-      username
-    );
+    sendEmail(toEmail, "account-activated", Map.of("username", username, "loginUrl", baseUrl + "/login"));
+  }
 
-    sendEmail(toEmail, subject, message);
+  private String link(String path, String token) {
+    return baseUrl + path + URLEncoder.encode(token, StandardCharsets.UTF_8);
   }
 
-  private void sendEmail(String to, String subject, String text) {
-    SimpleMailMessage message = new SimpleMailMessage();
-    message.setFrom(getFromEmail());
-    message.setTo(to);
-    message.setSubject(subject);
-    message.setText(text);
+  private void sendEmail(String to, String template, Map<String, String> values) {
+    EmailContent content = templates.render(template, LocaleContextHolder.getLocale(), values);
 
-    try {
-      mailSender.send(message);
-    } catch (Exception e) {
-      // Log the error but don't throw it to avoid breaking the application flow
-      System.err.println("Failed to send email to " + to + ": " + e.getMessage());
-    }
+    outbox.add(new Email(getFromEmail(), to, content));
   }
 
   private String getFromEmail() {
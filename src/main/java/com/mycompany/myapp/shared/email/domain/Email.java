@@ -0,0 +1,19 @@
+package com.mycompany.myapp.shared.email.domain;
+
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Email to send, as plain text with an optional HTML alternative
+ */
+public record Email(String from, String to, String subject, String text, String html) {
+  public Email {
+    Assert.notBlank("from", from);
+    Assert.notBlank("to", to);
+    Assert.notBlank("subject", subject);
+    Assert.notNull("text", text);
+  }
+
+  public Email(String from, String to, EmailContent content) {
+    this(from, to, content.subject(), content.text(), content.html());
+  }
+}
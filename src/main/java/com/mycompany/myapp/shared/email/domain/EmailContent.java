@@ -0,0 +1,13 @@
+package com.mycompany.myapp.shared.email.domain;
+
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Rendered email, the HTML variant is optional
+ */
+public record EmailContent(String subject, String text, String html) {
+  public EmailContent {
+    Assert.notBlank("subject", subject);
+    Assert.notNull("text", text);
+  }
+}
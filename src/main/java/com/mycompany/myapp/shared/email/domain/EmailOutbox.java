@@ -0,0 +1,9 @@
+package com.mycompany.myapp.shared.email.domain;
+
+/**
+ * Emails waiting to be sent. Emails are added in the current transaction: they are only sent once it commits, and never if
+ * it rolls back.
+ */
+public interface EmailOutbox {
+  void add(Email email);
+}
@@ -0,0 +1,116 @@
+package com.mycompany.myapp.shared.email.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Email template compiled once, rendered many times.
+ *
+ * <p>
+ * Sources use {@code {{name}}} placeholders. Compilation splits them in literal parts and placeholder names so rendering
+ * only appends, with the values escaped for the template format, to a buffer reused by the rendering thread.
+ * </p>
+ */
+public final class EmailTemplate {
+
+  private static final String PLACEHOLDER_START = "{{";
+  private static final String PLACEHOLDER_END = "}}";
+  private static final int BUFFER_SIZE = 2048;
+  private static final int MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+  private static final ThreadLocal<StringBuilder> BUFFERS = ThreadLocal.withInitial(() -> new StringBuilder(BUFFER_SIZE));
+
+  private final String[] literals;
+  private final String[] placeholders;
+  private final Escaping escaping;
+
+  private EmailTemplate(String[] literals, String[] placeholders, Escaping escaping) {
+    this.literals = literals;
+    this.placeholders = placeholders;
+    this.escaping = escaping;
+  }
+
+  public static EmailTemplate compile(String source, Escaping escaping) {
+    Assert.notNull("source", source);
+    Assert.notNull("escaping", escaping);
+
+    List<String> literals = new ArrayList<>();
+    List<String> placeholders = new ArrayList<>();
+
+    int position = 0;
+    int start;
+    while ((start = source.indexOf(PLACEHOLDER_START, position)) != -1) {
+      int end = source.indexOf(PLACEHOLDER_END, start + PLACEHOLDER_START.length());
+      if (end == -1) {
+        throw new IllegalArgumentException("Unclosed placeholder at " + start + " in email template");
+      }
+
+      String placeholder = source.substring(start + PLACEHOLDER_START.length(), end).strip();
+      Assert.notBlank("placeholder", placeholder);
+
+      literals.add(source.substring(position, start));
+      placeholders.add(placeholder);
+      position = end + PLACEHOLDER_END.length();
+    }
+    literals.add(source.substring(position));
+
+    return new EmailTemplate(literals.toArray(String[]::new), placeholders.toArray(String[]::new), escaping);
+  }
+
+  public String render(Map<String, String> values) {
+    StringBuilder buffer = BUFFERS.get();
+    buffer.setLength(0);
+
+    renderTo(values, buffer);
+    String rendered = buffer.toString();
+
+    if (buffer.capacity() > MAX_POOLED_BUFFER_SIZE) {
+      BUFFERS.remove();
+    }
+
+    return rendered;
+  }
+
+  public void renderTo(Map<String, String> values, StringBuilder output) {
+    Assert.notNull("values", values);
+    Assert.notNull("output", output);
+
+    for (int i = 0; i < placeholders.length; i++) {
+      output.append(literals[i]);
+
+      String value = values.get(placeholders[i]);
+      Assert.notNull(placeholders[i], value);
+      escaping.append(value, output);
+    }
+    output.append(literals[placeholders.length]);
+  }
+
+  public enum Escaping {
+    NONE {
+      @Override
+      void append(String value, StringBuilder output) {
+        output.append(value);
+      }
+    },
+    HTML {
+      @Override
+      void append(String value, StringBuilder output) {
+        for (int i = 0; i < value.length(); i++) {
+          char character = value.charAt(i);
+
+          switch (character) {
+            case '&' -> output.append("&amp;");
+            case '<' -> output.append("&lt;");
+            case '>' -> output.append("&gt;");
+            case '"' -> output.append("&quot;");
+            case '\'' -> output.append("&#39;");
+            default -> output.append(character);
+          }
+        }
+      }
+    };
+
+    abstract void append(String value, StringBuilder output);
+  }
+}
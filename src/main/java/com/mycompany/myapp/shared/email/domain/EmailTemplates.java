@@ -0,0 +1,14 @@
+package com.mycompany.myapp.shared.email.domain;
+
+import java.util.Locale;
+import java.util.Map;
+
+public interface EmailTemplates {
+  /**
+   * Render the template with the given name in the closest available locale
+   *
+   * @throws IllegalArgumentException
+   *           if there is no such template
+   */
+  EmailContent render(String name, Locale locale, Map<String, String> values);
+}
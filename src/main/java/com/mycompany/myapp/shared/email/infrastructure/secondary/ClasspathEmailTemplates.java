@@ -0,0 +1,136 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import com.mycompany.myapp.shared.email.domain.EmailContent;
+import com.mycompany.myapp.shared.email.domain.EmailTemplate;
+import com.mycompany.myapp.shared.email.domain.EmailTemplate.Escaping;
+import com.mycompany.myapp.shared.email.domain.EmailTemplates;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link EmailTemplates} read from the {@code mails} classpath folder and compiled once, at startup.
+ *
+ * <p>
+ * Each template has a {@code <name>[_<locale>].txt} file whose first line is the subject, followed by an empty line and the
+ * text body, and an optional {@code <name>[_<locale>].html} file for the HTML body. Templates are looked up for the
+ * language and country of the requested locale, then its language, then without locale.
+ * </p>
+ */
+@Component
+class ClasspathEmailTemplates implements EmailTemplates {
+
+  private static final Logger log = LoggerFactory.getLogger(ClasspathEmailTemplates.class);
+
+  private static final String LOCATION = "classpath*:mails/";
+  private static final String TEXT_EXTENSION = ".txt";
+  private static final String HTML_EXTENSION = ".html";
+
+  private final Map<String, LocalizedTemplate> templates;
+
+  public ClasspathEmailTemplates() {
+    this(new PathMatchingResourcePatternResolver());
+  }
+
+  ClasspathEmailTemplates(ResourcePatternResolver resources) {
+    Assert.notNull("resources", resources);
+
+    templates = load(resources);
+    log.info("Loaded {} email templates", templates.size());
+  }
+
+  private static Map<String, LocalizedTemplate> load(ResourcePatternResolver resources) {
+    Map<String, LocalizedTemplate> loaded = new HashMap<>();
+
+    for (Resource text : resources(resources, TEXT_EXTENSION)) {
+      String key = key(text, TEXT_EXTENSION);
+      String[] parts = read(text).split("\\R", 2);
+      if (parts.length < 2) {
+        throw new IllegalStateException("Email template " + key + " needs a subject line and a body");
+      }
+
+      loaded.put(
+        key,
+        new LocalizedTemplate(
+          EmailTemplate.compile(parts[0].strip(), Escaping.NONE),
+          EmailTemplate.compile(parts[1].replaceFirst("^\\R", ""), Escaping.NONE),
+          null
+        )
+      );
+    }
+
+    for (Resource html : resources(resources, HTML_EXTENSION)) {
+      String key = key(html, HTML_EXTENSION);
+      LocalizedTemplate template = loaded.get(key);
+      if (template == null) {
+        throw new IllegalStateException("Email template " + key + " has an HTML body without text body");
+      }
+
+      loaded.put(key, new LocalizedTemplate(template.subject(), template.text(), EmailTemplate.compile(read(html), Escaping.HTML)));
+    }
+
+    return Map.copyOf(loaded);
+  }
+
+  private static List<Resource> resources(ResourcePatternResolver resources, String extension) {
+    try {
+      return List.of(resources.getResources(LOCATION + "*" + extension));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static String key(Resource resource, String extension) {
+    String filename = resource.getFilename();
+
+    return filename.substring(0, filename.length() - extension.length());
+  }
+
+  private static String read(Resource resource) {
+    try {
+      return resource.getContentAsString(StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public EmailContent render(String name, Locale locale, Map<String, String> values) {
+    Assert.notBlank("name", name);
+    Assert.notNull("locale", locale);
+    Assert.notNull("values", values);
+
+    return resolve(name, locale).render(values);
+  }
+
+  private LocalizedTemplate resolve(String name, Locale locale) {
+    String language = name + "_" + locale.getLanguage();
+
+    for (String key : List.of(language + "_" + locale.getCountry(), language, name)) {
+      LocalizedTemplate template = templates.get(key);
+
+      if (template != null) {
+        return template;
+      }
+    }
+
+    throw new IllegalArgumentException("Unknown email template: " + name);
+  }
+
+  private record LocalizedTemplate(EmailTemplate subject, EmailTemplate text, EmailTemplate html) {
+    EmailContent render(Map<String, String> values) {
+      return new EmailContent(subject.render(values), text.render(values), html == null ? null : html.render(values));
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Validated
+@ConfigurationProperties("application.email.outbox")
+class EmailOutboxProperties {
+
+  /**
+   * Delay between two runs of the dispatcher, each run sends all the emails due
+   */
+  private Duration dispatchDelay = Duration.ofSeconds(5);
+
+  /**
+   * Number of emails claimed (and sent) at once by the dispatcher
+   */
+  private int batchSize = 50;
+
+  /**
+   * Maximum number of emails sent over a single SMTP connection, a batch needing more uses several connections
+   */
+  private int maxMessagesPerConnection = 50;
+
+  /**
+   * Time given to the dispatcher to send the emails it claimed, they are claimed again by the next run after it (in case
+   * the instance died while sending them)
+   */
+  private Duration lease = Duration.ofMinutes(5);
+
+  /**
+   * Number of attempts to send an email before abandoning it
+   */
+  private int maxAttempts = 10;
+
+  /**
+   * Delay before the first retry of an email, doubled for each following retry
+   */
+  private Duration backoff = Duration.ofSeconds(30);
+
+  /**
+   * Longest delay between two retries of an email
+   */
+  private Duration maxBackoff = Duration.ofHours(1);
+
+  @NotNull
+  public Duration getDispatchDelay() {
+    return dispatchDelay;
+  }
+
+  public void setDispatchDelay(Duration dispatchDelay) {
+    this.dispatchDelay = dispatchDelay;
+  }
+
+  @Min(1)
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  @Min(1)
+  public int getMaxMessagesPerConnection() {
+    return maxMessagesPerConnection;
+  }
+
+  public void setMaxMessagesPerConnection(int maxMessagesPerConnection) {
+    this.maxMessagesPerConnection = maxMessagesPerConnection;
+  }
+
+  @NotNull
+  public Duration getLease() {
+    return lease;
+  }
+
+  public void setLease(Duration lease) {
+    this.lease = lease;
+  }
+
+  @Min(1)
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  public void setMaxAttempts(int maxAttempts) {
+    this.maxAttempts = maxAttempts;
+  }
+
+  @NotNull
+  public Duration getBackoff() {
+    return backoff;
+  }
+
+  public void setBackoff(Duration backoff) {
+    this.backoff = backoff;
+  }
+
+  @NotNull
+  public Duration getMaxBackoff() {
+    return maxBackoff;
+  }
+
+  public void setMaxBackoff(Duration maxBackoff) {
+    this.maxBackoff = maxBackoff;
+  }
+}
@@ -0,0 +1,30 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import java.time.Clock;
+import org.springframework.stereotype.Repository;
+import com.mycompany.myapp.shared.email.domain.Email;
+import com.mycompany.myapp.shared.email.domain.EmailOutbox;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * {@link EmailOutbox} stored in the {@code email_outbox} table, drained by the {@link OutboxEmailDispatcher}
+ */
+@Repository
+class JpaEmailOutbox implements EmailOutbox {
+
+  private final JpaOutboxEmailsRepository emails;
+  private final Clock clock = Clock.systemUTC();
+
+  public JpaEmailOutbox(JpaOutboxEmailsRepository emails) {
+    Assert.notNull("emails", emails);
+
+    this.emails = emails;
+  }
+
+  @Override
+  public void add(Email email) {
+    Assert.notNull("email", email);
+
+    emails.save(new OutboxEmailEntity(email, clock.instant()));
+  }
+}
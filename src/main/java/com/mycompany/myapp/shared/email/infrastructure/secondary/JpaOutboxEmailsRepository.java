@@ -0,0 +1,33 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+interface JpaOutboxEmailsRepository extends JpaRepository<OutboxEmailEntity, Long> {
+  @Override
+  @Transactional
+  <S extends OutboxEmailEntity> S save(S entity);
+
+  /**
+   * Locks the emails to send now, skipping the ones locked by other instances: must be called in a transaction
+   */
+  @Query(
+    value = "select * from email_outbox where next_attempt <= :now order by next_attempt limit :limit for update skip locked",
+    nativeQuery = true
+  )
+  List<OutboxEmailEntity> lockDue(@Param("now") Instant now, @Param("limit") int limit);
+
+  @Transactional(readOnly = true)
+  long countByNextAttemptIsNotNull();
+
+  @Transactional(readOnly = true)
+  long countByNextAttemptIsNull();
+
+  @Transactional(readOnly = true)
+  Optional<OutboxEmailEntity> findFirstByNextAttemptIsNotNullOrderByCreatedAsc();
+}
@@ -0,0 +1,290 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.shared.email.domain.Email;
+import com.mycompany.myapp.shared.error.domain.Assert;
+
+/**
+ * Sends the emails of the outbox in background.
+ *
+ * <p>
+ * Each run claims batches of due emails until none is left: a short transaction locks them (skipping the ones locked by
+ * other instances) and leases them, the emails are then sent without any transaction or database connection held and a
+ * second short transaction deletes the sent ones. Failed emails are retried with an exponential backoff, then abandoned
+ * (kept in the table, without next attempt) after {@code max-attempts}.
+ * </p>
+ *
+ * <p>
+ * Emails of a batch are sent together, over a single SMTP connection for up to {@code max-messages-per-connection} emails,
+ * instead of a connection per email. When some emails of a send fail, only those are retried. Emails still to send once
+ * the lease is over are left to the run claiming them again, so they are not sent twice. Emails with an HTML body
+ * are sent as multipart messages, with the text body as alternative.
+ * </p>
+ */
+@Component
+class OutboxEmailDispatcher {
+
+  static final String SENT = "email.outbox.sent";
+  static final String FAILURES = "email.outbox.failures";
+  static final String ABANDONED = "email.outbox.abandoned";
+  static final String DEPTH = "email.outbox.depth";
+  static final String AGE = "email.outbox.age";
+  static final String CONNECTIONS = "email.outbox.connections";
+  static final String CONNECTION_MESSAGES = "email.outbox.connection.messages";
+
+  private static final Logger log = LoggerFactory.getLogger(OutboxEmailDispatcher.class);
+
+  private final JpaOutboxEmailsRepository emails;
+  private final JavaMailSender mailSender;
+  private final TransactionOperations transactions;
+  private final EmailOutboxProperties properties;
+  private final Clock clock;
+  private final Counter sent;
+  private final Counter failures;
+  private final Counter abandoned;
+  private final Counter connections;
+  private final DistributionSummary connectionMessages;
+
+  private volatile long depth;
+  private volatile long abandonedDepth;
+  private volatile Instant oldest;
+
+  @Autowired
+  public OutboxEmailDispatcher(
+    JpaOutboxEmailsRepository emails,
+    JavaMailSender mailSender,
+    PlatformTransactionManager transactionManager,
+    EmailOutboxProperties properties,
+    MeterRegistry meters
+  ) {
+    this(emails, mailSender, new TransactionTemplate(transactionManager), properties, meters, Clock.systemUTC());
+  }
+
+  OutboxEmailDispatcher(
+    JpaOutboxEmailsRepository emails,
+    JavaMailSender mailSender,
+    TransactionOperations transactions,
+    EmailOutboxProperties properties,
+    MeterRegistry meters,
+    Clock clock
+  ) {
+    Assert.notNull("emails", emails);
+    Assert.notNull("mailSender", mailSender);
+    Assert.notNull("transactions", transactions);
+    Assert.notNull("properties", properties);
+    Assert.notNull("meters", meters);
+    Assert.notNull("clock", clock);
+
+    this.emails = emails;
+    this.mailSender = mailSender;
+    this.transactions = transactions;
+    this.properties = properties;
+    this.clock = clock;
+    sent = Counter.builder(SENT).description("Emails of the outbox sent").register(meters);
+    failures = Counter.builder(FAILURES).description("Failed attempts to send an email of the outbox").register(meters);
+    abandoned = Counter.builder(ABANDONED).description("Emails of the outbox abandoned after too many failures").register(meters);
+    connections = Counter.builder(CONNECTIONS).description("SMTP connections opened to send emails of the outbox").register(meters);
+    connectionMessages = DistributionSummary.builder(CONNECTION_MESSAGES)
+      .description("Emails of the outbox sent over a single SMTP connection")
+      .register(meters);
+    Gauge.builder(DEPTH, this, dispatcher -> dispatcher.depth)
+      .description("Emails of the outbox waiting to be sent, by state")
+      .tag("state", "pending")
+      .register(meters);
+    Gauge.builder(DEPTH, this, dispatcher -> dispatcher.abandonedDepth)
+      .description("Emails of the outbox waiting to be sent, by state")
+      .tag("state", "abandoned")
+      .register(meters);
+    Gauge.builder(AGE, this, OutboxEmailDispatcher::oldestAge)
+      .description("Time spent in the outbox by the oldest email waiting to be sent")
+      .baseUnit("seconds")
+      .register(meters);
+  }
+
+  private double oldestAge() {
+    Instant current = oldest;
+    if (current == null) {
+      return 0;
+    }
+
+    return Duration.between(current, clock.instant()).toMillis() / (double) TimeUnit.SECONDS.toMillis(1);
+  }
+
+  @Scheduled(
+    initialDelayString = "${application.email.outbox.dispatch-delay:PT5S}",
+    fixedDelayString = "${application.email.outbox.dispatch-delay:PT5S}"
+  )
+  void dispatch() {
+    List<ClaimedEmail> claimed;
+    do {
+      Instant leaseEnd = clock.instant().plus(properties.getLease());
+      claimed = transactions.execute(status -> claim(leaseEnd));
+
+      List<FailedEmail> failed = new ArrayList<>();
+      List<Long> sentIds = new ArrayList<>();
+      int connectionSize = properties.getMaxMessagesPerConnection();
+      for (int start = 0; start < claimed.size(); start += connectionSize) {
+        if (!clock.instant().isBefore(leaseEnd)) {
+          log.warn("Lease of outbox emails expired while sending them, {} emails left to the next run", claimed.size() - start);
+          break;
+        }
+
+        send(claimed.subList(start, Math.min(start + connectionSize, claimed.size())), sentIds, failed);
+      }
+
+      transactions.executeWithoutResult(status -> record(sentIds, failed));
+    } while (claimed.size() == properties.getBatchSize());
+
+    refreshStatistics();
+  }
+
+  private List<ClaimedEmail> claim(Instant leaseEnd) {
+    return emails
+      .lockDue(clock.instant(), properties.getBatchSize())
+      .stream()
+      .map(email -> {
+        email.leaseUntil(leaseEnd);
+
+        return new ClaimedEmail(email.getId(), email.toDomain());
+      })
+      .toList();
+  }
+
+  private void send(List<ClaimedEmail> emailsToSend, List<Long> sentIds, List<FailedEmail> failed) {
+    List<ClaimedEmail> built = new ArrayList<>(emailsToSend.size());
+    List<MimeMessage> messages = new ArrayList<>(emailsToSend.size());
+    for (ClaimedEmail email : emailsToSend) {
+      try {
+        messages.add(message(email.email()));
+        built.add(email);
+      } catch (MessagingException e) {
+        log.debug("Can't build email {}: {}", email.id(), e.getMessage());
+        failed.add(new FailedEmail(email.id(), e.getMessage()));
+      }
+    }
+
+    if (messages.isEmpty()) {
+      return;
+    }
+
+    connections.increment();
+    connectionMessages.record(messages.size());
+
+    try {
+      mailSender.send(messages.toArray(MimeMessage[]::new));
+      built.forEach(email -> sentIds.add(email.id()));
+    } catch (MailException e) {
+      Map<Object, Exception> messageFailures = failedMessages(e);
+
+      for (int i = 0; i < messages.size(); i++) {
+        ClaimedEmail email = built.get(i);
+        Exception failure = messageFailures.isEmpty() ? e : messageFailures.get(messages.get(i));
+
+        if (failure == null) {
+          sentIds.add(email.id());
+        } else {
+          log.debug("Can't send email {}: {}", email.id(), failure.getMessage());
+          failed.add(new FailedEmail(email.id(), failure.getMessage()));
+        }
+      }
+    }
+  }
+
+  private static Map<Object, Exception> failedMessages(MailException exception) {
+    if (exception instanceof MailSendException sendException) {
+      return sendException.getFailedMessages();
+    }
+
+    return Map.of();
+  }
+
+  private MimeMessage message(Email email) throws MessagingException {
+    MimeMessage message = mailSender.createMimeMessage();
+    var helper = new MimeMessageHelper(message, email.html() != null, StandardCharsets.UTF_8.name());
+    helper.setFrom(email.from());
+    helper.setTo(email.to());
+    helper.setSubject(email.subject());
+
+    if (email.html() == null) {
+      helper.setText(email.text());
+    } else {
+      helper.setText(email.text(), email.html());
+    }
+
+    return message;
+  }
+
+  private void record(List<Long> sentIds, List<FailedEmail> failed) {
+    if (!sentIds.isEmpty()) {
+      emails.deleteAllByIdInBatch(sentIds);
+      sent.increment(sentIds.size());
+    }
+
+    Instant now = clock.instant();
+    for (FailedEmail failure : failed) {
+      failures.increment();
+
+      emails
+        .findById(failure.id())
+        .ifPresent(email -> {
+          Instant retry = retry(email.getAttempts() + 1, now);
+          if (retry == null) {
+            abandoned.increment();
+            log.warn("Abandoning email {} after {} attempts: {}", email.getId(), email.getAttempts() + 1, failure.error());
+          }
+
+          email.failed(failure.error(), retry);
+        });
+    }
+  }
+
+  private Instant retry(int attempts, Instant now) {
+    if (attempts >= properties.getMaxAttempts()) {
+      return null;
+    }
+
+    Duration maxBackoff = properties.getMaxBackoff();
+    int exponent = Math.min(attempts - 1, 30);
+    Duration backoff = properties.getBackoff();
+    if (backoff.compareTo(maxBackoff.dividedBy(1L << exponent)) > 0) {
+      return now.plus(maxBackoff);
+    }
+
+    return now.plus(backoff.multipliedBy(1L << exponent));
+  }
+
+  private void refreshStatistics() {
+    depth = emails.countByNextAttemptIsNotNull();
+    abandonedDepth = emails.countByNextAttemptIsNull();
+    oldest = emails.findFirstByNextAttemptIsNotNullOrderByCreatedAsc().map(OutboxEmailEntity::getCreated).orElse(null);
+  }
+
+  private record ClaimedEmail(Long id, Email email) {}
+
+  private record FailedEmail(Long id, String error) {}
+}
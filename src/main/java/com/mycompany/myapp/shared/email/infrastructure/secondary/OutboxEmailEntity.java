@@ -0,0 +1,99 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.time.Instant;
+import com.mycompany.myapp.shared.email.domain.Email;
+
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_next_attempt", columnList = "next_attempt"))
+class OutboxEmailEntity {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "email_outbox_seq")
+  @SequenceGenerator(name = "email_outbox_seq", sequenceName = "email_outbox_seq", allocationSize = 50)
+  private Long id;
+
+  @Column(name = "sender", nullable = false)
+  private String from;
+
+  @Column(name = "recipient", nullable = false)
+  private String to;
+
+  @Column(nullable = false)
+  private String subject;
+
+  @Column(nullable = false, columnDefinition = "text")
+  private String text;
+
+  @Column(columnDefinition = "text")
+  private String html;
+
+  @Column(nullable = false)
+  private Instant created;
+
+  /**
+   * When the email can be (re)sent, null once sending was abandoned
+   */
+  private Instant nextAttempt;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(length = MAX_ERROR_LENGTH)
+  private String lastError;
+
+  protected OutboxEmailEntity() {}
+
+  OutboxEmailEntity(Email email, Instant created) {
+    from = email.from();
+    to = email.to();
+    subject = email.subject();
+    text = email.text();
+    html = email.html();
+    this.created = created;
+    nextAttempt = created;
+  }
+
+  Long getId() {
+    return id;
+  }
+
+  Instant getCreated() {
+    return created;
+  }
+
+  Instant getNextAttempt() {
+    return nextAttempt;
+  }
+
+  int getAttempts() {
+    return attempts;
+  }
+
+  String getLastError() {
+    return lastError;
+  }
+
+  Email toDomain() {
+    return new Email(from, to, subject, text, html);
+  }
+
+  void leaseUntil(Instant date) {
+    nextAttempt = date;
+  }
+
+  void failed(String error, Instant retry) {
+    attempts++;
+    lastError = error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    nextAttempt = retry;
+  }
+}
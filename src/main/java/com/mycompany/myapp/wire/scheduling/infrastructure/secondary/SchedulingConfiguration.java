@@ -0,0 +1,8 @@
+package com.mycompany.myapp.wire.scheduling.infrastructure.secondary;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+class SchedulingConfiguration {}
@@ -33,10 +33,22 @@ describe('Auth JWT', () => {
   });
 
   describe('Logout', () => {
-    it('should clear storage', () => {
+    it('should revoke token and clear storage', () => {
       jest.spyOn(Storage.prototype, 'removeItem');
 
       service.logout().subscribe();
+      const request = httpMock.expectOne('api/logout');
+      expect(request.request.method).toBe('POST');
+      request.flush(null, { status: 204, statusText: 'No Content' });
+
+      expect(localStorage.removeItem).toHaveBeenCalledWith('authenticationToken');
+    });
+
+    it('should clear storage when revocation fails', () => {
+      jest.spyOn(Storage.prototype, 'removeItem');
+
+      service.logout().subscribe();
+      httpMock.expectOne('api/logout').flush(null, { status: 401, statusText: 'Unauthorized' });
 
       expect(localStorage.removeItem).toHaveBeenCalledWith('authenticationToken');
     });
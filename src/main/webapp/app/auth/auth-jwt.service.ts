@@ -1,7 +1,7 @@
 import { HttpClient } from '@angular/common/http';
 import { inject, Injectable } from '@angular/core';
-import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { Observable, of } from 'rxjs';
+import { catchError, map } from 'rxjs/operators';
 
 import { Login } from '../login/login.model';
 
@@ -18,10 +18,10 @@ export class AuthServerProvider {
   }
 
   logout(): Observable<void> {
-    return new Observable(observer => {
-      localStorage.removeItem('authenticationToken');
-      observer.complete();
-    });
+    return this.http.post<void>('api/logout', null).pipe(
+      catchError(() => of(undefined)),
+      map(() => localStorage.removeItem('authenticationToken')),
+    );
   }
 
   private authenticateSuccess(response: JwtToken): void {
@@ -0,0 +1,112 @@
+package com.mycompany.myapp.account.application;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.LoginAttempts;
+import com.mycompany.myapp.account.domain.RegisteredAccounts;
+import com.mycompany.myapp.account.domain.TokensRepository;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserRepository;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+import com.mycompany.myapp.shared.email.application.EmailService;
+
+@UnitTest
+class AccountApplicationServiceTest {
+
+  private final UserRepository users = mock(UserRepository.class);
+  private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+  private final LoginAttempts loginAttempts = mock(LoginAttempts.class);
+  private final RegisteredAccounts registeredAccounts = mock(RegisteredAccounts.class);
+  private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+  private final AccountApplicationService accounts = new AccountApplicationService(
+    mock(TokensRepository.class),
+    users,
+    passwordEncoder,
+    mock(EmailService.class),
+    events,
+    loginAttempts,
+    registeredAccounts
+  );
+
+  @Test
+  void shouldRegisterUserWithHashedPassword() {
+    when(passwordEncoder.encode("password")).thenReturn("hash");
+
+    accounts.registerUser(registration());
+
+    verify(users).saveAndFlush(argThat(user -> user.getUsername().equals("user") && user.getPassword().equals("hash")));
+    verify(events).publishEvent(new AccountRegistered("user", "user@example.com"));
+  }
+
+  @Test
+  void shouldNotHashPasswordForTakenUsername() {
+    when(registeredAccounts.usernameTaken("user")).thenReturn(true);
+
+    assertThatThrownBy(() -> accounts.registerUser(registration()))
+      .isExactlyInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Username already exists");
+    verifyNoInteractions(passwordEncoder);
+    verify(users, never()).saveAndFlush(any());
+  }
+
+  @Test
+  void shouldNotHashPasswordForTakenEmail() {
+    when(registeredAccounts.emailTaken("user@example.com")).thenReturn(true);
+
+    assertThatThrownBy(() -> accounts.registerUser(registration()))
+      .isExactlyInstanceOf(IllegalArgumentException.class)
+      .hasMessage("Email already exists");
+    verifyNoInteractions(passwordEncoder);
+  }
+
+  @Test
+  void shouldRecordFailedLoginOfRegisteredUser() {
+    when(registeredAccounts.usernameTaken("user")).thenReturn(true);
+
+    accounts.loginFailed("user");
+
+    verify(loginAttempts).failed(new Username("user"));
+  }
+
+  @Test
+  void shouldNotRecordFailedLoginsOfUnknownUsers() {
+    accounts.loginFailed("unknown-1");
+    accounts.loginFailed("unknown-2");
+
+    verify(loginAttempts, never()).failed(any());
+  }
+
+  @Test
+  void shouldPublishTokenEpochChangeWhenInvalidatingTokens() {
+    when(users.findByUsername("user")).thenReturn(Optional.of(new User("user", "user@example.com", "hash")));
+
+    accounts.invalidateTokens("user");
+
+    verify(events).publishEvent(new AccountChanged("user", true));
+  }
+
+  @Test
+  void shouldNotRecordFailedLoginWithoutUsername() {
+    accounts.loginFailed(" ");
+
+    verifyNoInteractions(loginAttempts, registeredAccounts);
+  }
+
+  private static RegistrationDTO registration() {
+    var registration = new RegistrationDTO();
+    registration.setUsername("user");
+    registration.setEmail("user@example.com");
+    registration.setPassword("password");
+
+    return registration;
+  }
+}
@@ -0,0 +1,151 @@
+package com.mycompany.myapp.account.application;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.application.UserImportResult.Status;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.BulkAccountsRepository;
+import com.mycompany.myapp.account.domain.NewAccount;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
+import com.mycompany.myapp.shared.email.application.EmailService;
+
+@UnitTest
+class AccountImportApplicationServiceTest {
+
+  private final BulkAccountsRepository accounts = mock(BulkAccountsRepository.class);
+  private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+  private final EmailService emailService = mock(EmailService.class);
+  private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final AccountImportApplicationService imports = new AccountImportApplicationService(
+    accounts,
+    passwordEncoder,
+    Validation.buildDefaultValidatorFactory().getValidator(),
+    emailService,
+    events,
+    meters,
+    2,
+    2
+  );
+  private final List<List<UserImportResult>> batches = new ArrayList<>();
+
+  @AfterEach
+  void shutdown() {
+    imports.shutdown();
+  }
+
+  @Test
+  void shouldImportByBatches() {
+    when(passwordEncoder.encode(any())).thenAnswer(invocation -> "hash-" + invocation.getArgument(0));
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(row(1, "first"), row(2, "second"), row(3, "third")), false, true, batches::add);
+
+    assertThat(batches).hasSize(2);
+    assertThat(batches.get(0)).extracting(UserImportResult::status).containsExactly(Status.CREATED, Status.CREATED);
+    assertThat(batches.get(1)).extracting(UserImportResult::line).containsExactly(3L);
+    verify(accounts, times(2)).insertNew(anyList());
+    assertThat(meters.get(AccountImportApplicationService.IMPORTED).tag("status", "created").counter().count()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldInsertHashedPasswords() {
+    when(passwordEncoder.encode("password-first")).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(row(1, "first")), true, true, batches::add);
+
+    verify(accounts).insertNew(List.of(new NewAccount("first", "first@example.com", "hash", true, null)));
+  }
+
+  @Test
+  void shouldReportInvalidUsersWithoutInsertingThem() {
+    when(passwordEncoder.encode(any())).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(new UserImportRow(1, "first", "not-an-email", "password")), false, true, batches::add);
+
+    assertThat(batches.get(0).get(0).status()).isEqualTo(Status.INVALID);
+    assertThat(batches.get(0).get(0).message()).contains("email");
+    verify(accounts).insertNew(List.of());
+    verify(passwordEncoder, never()).encode(any());
+  }
+
+  @Test
+  void shouldReportDuplicates() {
+    when(passwordEncoder.encode(any())).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenReturn(List.of(true, false));
+
+    imports.importUsers(Stream.of(row(1, "first"), row(2, "second")), false, true, batches::add);
+
+    assertThat(batches.get(0)).extracting(UserImportResult::status).containsExactly(Status.CREATED, Status.DUPLICATE);
+    verify(emailService).sendRegistrationEmail(eq("first@example.com"), eq("first"), anyString());
+    verify(emailService, never()).sendRegistrationEmail(eq("second@example.com"), any(), any());
+    verify(events).publishEvent(new AccountRegistered("first", "first@example.com"));
+    verify(events).publishEvent(new AccountChanged("first"));
+  }
+
+  @Test
+  void shouldNotSendActivationEmailsWhenNotRequested() {
+    when(passwordEncoder.encode(any())).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(row(1, "first")), false, false, batches::add);
+
+    verifyNoInteractions(emailService);
+  }
+
+  @Test
+  void shouldReportHashingFailures() {
+    when(passwordEncoder.encode(any())).thenThrow(new IllegalStateException("broken"));
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(row(1, "first")), false, true, batches::add);
+
+    assertThat(batches.get(0).get(0)).isEqualTo(new UserImportResult(1, "first", Status.FAILED, "broken"));
+  }
+
+  @Test
+  void shouldWaitForHashingSlotsWhenSaturated() {
+    when(passwordEncoder.encode(any())).thenThrow(new PasswordHashingSaturatedException(Duration.ofMillis(1))).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenAnswer(invocation -> allInserted(invocation.getArgument(0)));
+
+    imports.importUsers(Stream.of(row(1, "first")), false, true, batches::add);
+
+    assertThat(batches.get(0).get(0).status()).isEqualTo(Status.CREATED);
+    assertThat(meters.get(AccountImportApplicationService.HASHING_RETRIES).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportInsertFailures() {
+    when(passwordEncoder.encode(any())).thenReturn("hash");
+    when(accounts.insertNew(anyList())).thenThrow(new QueryTimeoutException("timeout"));
+
+    imports.importUsers(Stream.of(row(1, "first")), false, true, batches::add);
+
+    assertThat(batches.get(0).get(0)).isEqualTo(new UserImportResult(1, "first", Status.FAILED, "timeout"));
+  }
+
+  private static UserImportRow row(long line, String username) {
+    return new UserImportRow(line, username, username + "@example.com", "password-" + username);
+  }
+
+  private static List<Boolean> allInserted(List<NewAccount> inserted) {
+    return inserted.stream().map(account -> true).toList();
+  }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.account.application;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@IntegrationTest
+class RegistrationConcurrencyIT {
+
+  private static final int REGISTRATIONS = 16;
+
+  @Autowired
+  private AccountApplicationService accounts;
+
+  @Autowired
+  private UserRepository users;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void shouldRegisterConcurrentSameUsernameOnce() throws Exception {
+    var results = register(i -> registration("concurrent", "concurrent-" + i + "@localhost"));
+
+    assertThat(results).filteredOn("registered"::equals).hasSize(1);
+    assertThat(results).filteredOn("Username already exists"::equals).hasSize(REGISTRATIONS - 1);
+    var registered = new TransactionTemplate(transactionManager).execute(status -> users.findByUsername("concurrent").isPresent());
+    assertThat(registered).isTrue();
+  }
+
+  @Test
+  void shouldRegisterConcurrentSameEmailOnce() throws Exception {
+    var results = register(i -> registration("concurrent-email-" + i, "concurrent-email@localhost"));
+
+    assertThat(results).filteredOn("registered"::equals).hasSize(1);
+    assertThat(results).filteredOn("Email already exists"::equals).hasSize(REGISTRATIONS - 1);
+  }
+
+  private List<String> register(IntFunction<RegistrationDTO> registrations) throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(REGISTRATIONS);
+    try {
+      var start = new CountDownLatch(1);
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < REGISTRATIONS; i++) {
+        var registration = registrations.apply(i);
+        futures.add(
+          executor.submit(() -> {
+            start.await();
+            try {
+              accounts.registerUser(registration);
+              return "registered";
+            } catch (IllegalArgumentException e) {
+              return e.getMessage();
+            }
+          })
+        );
+      }
+
+      start.countDown();
+
+      List<String> results = new ArrayList<>();
+      for (var future : futures) {
+        results.add(future.get());
+      }
+      return results;
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static RegistrationDTO registration(String username, String email) {
+    var registration = new RegistrationDTO();
+    registration.setUsername(username);
+    registration.setEmail(email);
+    registration.setPassword("password");
+
+    return registration;
+  }
+}
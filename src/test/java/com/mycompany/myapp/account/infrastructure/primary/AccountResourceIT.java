@@ -34,4 +34,20 @@ class AccountResourceIT {
   void shouldNotGetAccountForNotAuthenticatedUser() throws Exception {
     mockMvc.perform(get("/api/account")).andExpect(status().isForbidden());
   }
+
+  @Test
+  @WithAnonymousUser
+  void shouldGetAvailabilityForNotAuthenticatedUser() throws Exception {
+    mockMvc
+      .perform(get("/api/register/availability").param("username", "not-registered").param("email", "not-registered@example.com"))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.username").value(true))
+      .andExpect(jsonPath("$.email").value(true));
+  }
+
+  @Test
+  @WithAnonymousUser
+  void shouldNotGetAvailabilityWithoutValue() throws Exception {
+    mockMvc.perform(get("/api/register/availability")).andExpect(status().isBadRequest());
+  }
 }
@@ -4,21 +4,39 @@ import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserRepository;
 
 @IntegrationTest
 @AutoConfigureMockMvc
 class AuthenticationResourceIT {
 
+  private static final String NOT_ACTIVATED = "not-activated";
+
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private UserRepository users;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
   @Test
   void shouldAuthorizeKnownAccount() throws Exception {
     String query = authenticationBuilder().build();
@@ -65,12 +83,75 @@ class AuthenticationResourceIT {
       .andExpect(header().doesNotExist("Authorization"));
   }
 
+  @Test
+  void shouldNotTellNotActivatedAccountWithBadPassword() throws Exception {
+    createNotActivatedUser();
+    String query = authenticationBuilder().username(NOT_ACTIVATED).password("dummy").build();
+
+    mockMvc
+      .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(query))
+      .andExpect(status().isForbidden())
+      .andExpect(jsonPath("$.title").doesNotExist())
+      .andExpect(header().doesNotExist("Authorization"));
+  }
+
+  @Test
+  void shouldNotAuthorizeNotActivatedAccount() throws Exception {
+    createNotActivatedUser();
+    String query = authenticationBuilder().username(NOT_ACTIVATED).password(NOT_ACTIVATED).build();
+
+    mockMvc
+      .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(query))
+      .andExpect(status().isForbidden())
+      .andExpect(jsonPath("$.title").value("account not activated"))
+      .andExpect(header().doesNotExist("Authorization"));
+  }
+
+  @Test
+  void shouldRenewToken() throws Exception {
+    String token = JsonPath.read(
+      mockMvc
+        .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(authenticationBuilder().build()))
+        .andReturn()
+        .getResponse()
+        .getContentAsString(),
+      "$.id_token"
+    );
+
+    mockMvc
+      .perform(post("/api/authenticate/renew").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.id_token").isString())
+      .andExpect(jsonPath("$.id_token", not(is(token))))
+      .andExpect(header().string("Authorization", not(is(emptyString()))));
+  }
+
+  @Test
+  void shouldNotRenewInvalidToken() throws Exception {
+    mockMvc
+      .perform(post("/api/authenticate/renew").header(HttpHeaders.AUTHORIZATION, "Bearer invalid"))
+      .andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void shouldNotRenewWithoutToken() throws Exception {
+    mockMvc.perform(post("/api/authenticate/renew")).andExpect(status().isUnauthorized());
+  }
+
   @Test
   @WithMockUser
   void shouldGetAuthenticatedUserUsername() throws Exception {
     mockMvc.perform(get("/api/authenticate")).andExpect(status().isOk()).andExpect(content().string(containsString("user")));
   }
 
+  private void createNotActivatedUser() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      if (users.findByUsername(NOT_ACTIVATED).isEmpty()) {
+        users.save(new User(NOT_ACTIVATED, NOT_ACTIVATED + "@localhost", passwordEncoder.encode(NOT_ACTIVATED)));
+      }
+    });
+  }
+
   private static TestAuthenticationQueryBuilder authenticationBuilder() {
     return new TestAuthenticationQueryBuilder();
   }
@@ -0,0 +1,85 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@IntegrationTest(
+  properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true", "application.security.token-revocation.refresh-delay=PT1H",
+  }
+)
+@AutoConfigureMockMvc
+class LoginStatementsIT {
+
+  private static final String USERNAME = "single-query";
+  private static final String PASSWORD = "password";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository users;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @BeforeEach
+  void createActivatedUser() {
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      if (users.findByUsername(USERNAME).isPresent()) {
+        return;
+      }
+
+      var user = new User(USERNAME, USERNAME + "@localhost", passwordEncoder.encode(PASSWORD));
+      user.setActivated(true);
+      users.save(user);
+    });
+  }
+
+  @Test
+  void shouldLoginWithASingleStatementWithoutLoadingEntities() throws Exception {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    mockMvc
+      .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(credentials()))
+      .andExpect(status().isOk())
+      .andExpect(jsonPath("$.id_token").isNotEmpty());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+  }
+
+  private static String credentials() {
+    return """
+    {
+      "username": "%s",
+      "password": "%s",
+      "rememberMe": false
+    }
+    """.formatted(USERNAME, PASSWORD);
+  }
+}
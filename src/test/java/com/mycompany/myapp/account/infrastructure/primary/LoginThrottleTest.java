@@ -0,0 +1,174 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+
+@UnitTest
+class LoginThrottleTest {
+
+  private static final String ADDRESS = "127.0.0.1";
+
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final AtomicLong time = new AtomicLong(1_000);
+
+  @Test
+  void shouldNotThrottleWhenDisabled() {
+    var properties = properties();
+    properties.setEnabled(false);
+    var throttle = new LoginThrottle(properties, meters, time::get);
+
+    for (int i = 0; i < 10; i++) {
+      throttle.failed("user", ADDRESS);
+      throttle.acquire("user", ADDRESS);
+    }
+  }
+
+  @Test
+  void shouldThrottleUsernameBurst() {
+    var throttle = throttle();
+    acquireUsernameBurst(throttle);
+
+    assertThatThrownBy(() -> throttle.acquire("user", "127.0.0.2"))
+      .isExactlyInstanceOf(LoginThrottledException.class)
+      .extracting(exception -> ((LoginThrottledException) exception).retryAfter())
+      .isEqualTo(Duration.ofSeconds(10));
+    assertThat(throttled("username")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotThrottleOtherUsernames() {
+    var throttle = throttle();
+    acquireUsernameBurst(throttle);
+
+    assertThatCode(() -> throttle.acquire("admin", ADDRESS)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldRefillUsernameBucket() {
+    var throttle = throttle();
+    acquireUsernameBurst(throttle);
+
+    time.addAndGet(Duration.ofSeconds(10).toMillis());
+
+    assertThatCode(() -> throttle.acquire("user", ADDRESS)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldThrottleClientAddressBurst() {
+    var throttle = throttle();
+    for (int i = 0; i < 20; i++) {
+      throttle.acquire("user-" + i, ADDRESS);
+    }
+
+    assertThatThrownBy(() -> throttle.acquire("other", ADDRESS)).isExactlyInstanceOf(LoginThrottledException.class);
+    assertThat(throttled("client-address")).isEqualTo(1);
+    assertThatCode(() -> throttle.acquire("other", "127.0.0.2")).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldExponentiallyBackoffAfterFreeFailures() {
+    var throttle = throttle();
+    fail(throttle);
+    fail(throttle);
+
+    assertThat(retryAfter(throttle)).isEqualTo(Duration.ofSeconds(1));
+
+    time.addAndGet(1_000);
+    fail(throttle);
+
+    assertThat(retryAfter(throttle)).isEqualTo(Duration.ofSeconds(2));
+
+    time.addAndGet(2_000);
+    fail(throttle);
+
+    assertThat(retryAfter(throttle)).isEqualTo(Duration.ofSeconds(4));
+  }
+
+  @Test
+  void shouldCapBackoff() {
+    var throttle = throttle();
+    for (int i = 0; i < 8; i++) {
+      time.addAndGet(retryAfter(throttle).toMillis());
+      fail(throttle);
+    }
+
+    assertThat(retryAfter(throttle)).isEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void shouldForgetFailuresAfterMaxBackoff() {
+    var throttle = throttle();
+    for (int i = 0; i < 4; i++) {
+      time.addAndGet(retryAfter(throttle).toMillis());
+      fail(throttle);
+    }
+
+    time.addAndGet(Duration.ofMinutes(1).toMillis());
+    fail(throttle);
+
+    assertThatCode(() -> throttle.acquire("user", ADDRESS)).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldResetFailuresOnSuccess() {
+    var throttle = throttle();
+    fail(throttle);
+    time.addAndGet(10_000);
+    throttle.acquire("user", ADDRESS);
+    throttle.succeeded("user", ADDRESS);
+    time.addAndGet(10_000);
+
+    fail(throttle);
+
+    assertThatCode(() -> throttle.acquire("user", ADDRESS)).doesNotThrowAnyException();
+  }
+
+  private static void acquireUsernameBurst(LoginThrottle throttle) {
+    for (int i = 0; i < 10; i++) {
+      throttle.acquire("user", ADDRESS);
+    }
+  }
+
+  private static void fail(LoginThrottle throttle) {
+    throttle.acquire("user", ADDRESS);
+    throttle.failed("user", ADDRESS);
+  }
+
+  private static Duration retryAfter(LoginThrottle throttle) {
+    try {
+      throttle.acquire("user", ADDRESS);
+    } catch (LoginThrottledException e) {
+      return e.retryAfter();
+    }
+
+    return Duration.ZERO;
+  }
+
+  private double throttled(String limit) {
+    return meters.get(LoginThrottle.THROTTLED).tag("limit", limit).counter().count();
+  }
+
+  private LoginThrottle throttle() {
+    return new LoginThrottle(properties(), meters, time::get);
+  }
+
+  private static LoginThrottlingProperties properties() {
+    var properties = new LoginThrottlingProperties();
+    properties.setStripes(1024);
+    properties.setBackoff(Duration.ofSeconds(1));
+    properties.setMaxBackoff(Duration.ofMinutes(1));
+    properties.getUsername().setCapacity(10);
+    properties.getUsername().setRefillPeriod(Duration.ofSeconds(10));
+    properties.getUsername().setFreeFailures(1);
+    properties.getClientAddress().setCapacity(20);
+    properties.getClientAddress().setRefillPeriod(Duration.ofSeconds(1));
+    properties.getClientAddress().setFreeFailures(10);
+
+    return properties;
+  }
+}
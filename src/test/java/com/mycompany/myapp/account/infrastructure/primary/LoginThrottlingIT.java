@@ -0,0 +1,48 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import com.mycompany.myapp.IntegrationTest;
+
+@IntegrationTest(
+  properties = {
+    "application.security.login-throttling.enabled=true",
+    "application.security.login-throttling.username.capacity=1",
+    "application.security.login-throttling.username.refill-period=PT1H",
+  }
+)
+@AutoConfigureMockMvc
+class LoginThrottlingIT {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Test
+  void shouldRejectTooFrequentLogins() throws Exception {
+    mockMvc.perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(credentials()));
+
+    mockMvc
+      .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(credentials()))
+      .andExpect(status().isTooManyRequests())
+      .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3600"))
+      .andExpect(jsonPath("title").value("too many login attempts"))
+      .andExpect(jsonPath("message").value("error.http.429"));
+  }
+
+  private static String credentials() {
+    return """
+    {
+      "username": "throttled",
+      "password": "password",
+      "rememberMe": false
+    }
+    """;
+  }
+}
@@ -0,0 +1,21 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.JsonHelper;
+import com.mycompany.myapp.UnitTest;
+
+@UnitTest
+class RestAvailabilityTest {
+
+  @Test
+  void shouldSerializeToJson() {
+    assertThat(JsonHelper.writeAsString(new RestAvailability(true, false))).isEqualTo("{\"username\":true,\"email\":false}");
+  }
+
+  @Test
+  void shouldNotSerializeNotRequestedValues() {
+    assertThat(JsonHelper.writeAsString(new RestAvailability(null, true))).isEqualTo("{\"email\":true}");
+  }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class UserImportIT {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository users;
+
+  @Test
+  @WithMockUser(authorities = "ROLE_ADMIN")
+  void shouldImportCsvUsers() throws Exception {
+    String result = mockMvc
+      .perform(
+        post("/api/admin/users/import")
+          .param("activated", "true")
+          .contentType(UserImportResource.CSV)
+          .content(
+            """
+            username,email,password
+            imported-first,imported-first@example.com,password
+            imported-second,imported-second@example.com,password
+            imported-first,imported-other@example.com,password
+            imported-invalid,not-an-email,password
+            """
+          )
+      )
+      .andExpect(status().isOk())
+      .andReturn()
+      .getResponse()
+      .getContentAsString();
+
+    assertThat(result.lines()).hasSize(4);
+    assertThat(result).contains("\"status\":\"created\"", "\"status\":\"duplicate\"", "\"status\":\"invalid\"");
+    assertThat(users.existsByUsername("imported-second")).isTrue();
+    assertThat(users.existsByEmail("imported-other@example.com")).isFalse();
+  }
+
+  @Test
+  @WithMockUser
+  void shouldNotImportUsersWithoutAdminRole() throws Exception {
+    mockMvc
+      .perform(post("/api/admin/users/import").contentType(UserImportResource.NDJSON).content("{}"))
+      .andExpect(status().isForbidden());
+  }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.account.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.application.UserImportRow;
+
+@UnitTest
+class UserImportRowsTest {
+
+  @Test
+  void shouldReadCsvColumnsInHeaderOrder() {
+    var rows = UserImportRows.csv(input("email,password,username\nuser@example.com,secret,user\n"));
+
+    assertThat(rows).containsExactly(new UserImportRow(2, "user", "user@example.com", "secret"));
+  }
+
+  @Test
+  void shouldReadQuotedCsvValues() {
+    var rows = UserImportRows.csv(input("username,email,password\n\"user\",user@example.com,\"se,\"\"cret\"\n"));
+
+    assertThat(rows).containsExactly(new UserImportRow(2, "user", "user@example.com", "se,\"cret"));
+  }
+
+  @Test
+  void shouldSkipBlankCsvLines() {
+    var rows = UserImportRows.csv(input("username,email,password\n\nuser,user@example.com,secret\n"));
+
+    assertThat(rows).containsExactly(new UserImportRow(3, "user", "user@example.com", "secret"));
+  }
+
+  @Test
+  void shouldReadMissingCsvValuesAsNull() {
+    var rows = UserImportRows.csv(input("username,email,password\nuser\n"));
+
+    assertThat(rows).containsExactly(new UserImportRow(2, "user", null, null));
+  }
+
+  @Test
+  void shouldNotReadCsvWithoutPasswordColumn() {
+    assertThatThrownBy(() -> UserImportRows.csv(input("username,email\nuser,user@example.com\n")))
+      .isExactlyInstanceOf(IllegalArgumentException.class)
+      .hasMessageContaining("password");
+  }
+
+  @Test
+  void shouldReadNdjson() {
+    var rows = UserImportRows.ndjson(
+      input(
+        """
+        {"username":"first","email":"first@example.com","password":"secret"}
+        {"username":"second","email":"second@example.com"}
+        """
+      ),
+      new ObjectMapper()
+    );
+
+    assertThat(rows).containsExactly(
+      new UserImportRow(1, "first", "first@example.com", "secret"),
+      new UserImportRow(2, "second", "second@example.com", null)
+    );
+  }
+
+  @Test
+  void shouldReadGzippedFile() throws IOException {
+    var rows = UserImportRows.csv(gzipped("username,email,password\nuser,user@example.com,secret\n"));
+
+    assertThat(rows).containsExactly(new UserImportRow(2, "user", "user@example.com", "secret"));
+  }
+
+  private static InputStream input(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static InputStream gzipped(String content) throws IOException {
+    var compressed = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(compressed)) {
+      gzip.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    return new ByteArrayInputStream(compressed.toByteArray());
+  }
+}
@@ -0,0 +1,163 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.RegisteredAccount;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@UnitTest
+class BloomFilteredRegisteredAccountsTest {
+
+  private final UserRepository users = mock(UserRepository.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final BloomFilteredRegisteredAccounts accounts = new BloomFilteredRegisteredAccounts(
+    users,
+    TransactionOperations.withoutTransaction(),
+    properties(),
+    meters
+  );
+
+  @Test
+  void shouldCheckDatabaseBeforeFirstRefresh() {
+    when(users.existsByUsername("user")).thenReturn(true);
+
+    assertThat(accounts.usernameTaken("user")).isTrue();
+    assertThat(lookups("username", "unfiltered")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCheckDatabaseForUnknownUsername() {
+    refresh(new RegisteredAccount("user", "user@example.com"));
+
+    assertThat(accounts.usernameTaken("other")).isFalse();
+
+    verify(users, never()).existsByUsername(any());
+    assertThat(lookups("username", "filtered")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCheckDatabaseForKnownUsername() {
+    refresh(new RegisteredAccount("user", "user@example.com"));
+    when(users.existsByUsername("user")).thenReturn(true);
+
+    assertThat(accounts.usernameTaken("user")).isTrue();
+    assertThat(lookups("username", "taken")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCheckDatabaseForNormalizedHit() {
+    refresh(new RegisteredAccount("user", "user@example.com"));
+
+    assertThat(accounts.emailTaken(" USER@example.com")).isFalse();
+
+    verify(users).existsByEmail(" USER@example.com");
+    assertThat(lookups("email", "false-positive")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareConcurrentIdenticalLookups() throws Exception {
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(users.existsByUsername("user")).thenAnswer(invocation -> {
+      started.countDown();
+
+      return release.await(5, TimeUnit.SECONDS);
+    });
+
+    try (var executor = Executors.newFixedThreadPool(2)) {
+      var first = executor.submit(() -> accounts.usernameTaken("user"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      var second = executor.submit(() -> accounts.usernameTaken("user"));
+      await().atMost(Duration.ofSeconds(5)).until(() -> coalesced("username") == 1);
+      release.countDown();
+
+      assertThat(first.get()).isTrue();
+      assertThat(second.get()).isTrue();
+    }
+    verify(users).existsByUsername("user");
+  }
+
+  @Test
+  void shouldAddRegisteredAccounts() {
+    refresh();
+
+    accounts.accountRegistered(new AccountRegistered("user", "user@example.com"));
+    accounts.emailTaken("user@example.com");
+
+    verify(users).existsByEmail("user@example.com");
+  }
+
+  @Test
+  void shouldKeepAccountsRegisteredDuringRefresh() {
+    when(users.streamRegisteredAccounts()).thenAnswer(invocation -> {
+      accounts.accountRegistered(new AccountRegistered("user", "user@example.com"));
+
+      return Stream.empty();
+    });
+    accounts.refresh();
+
+    accounts.usernameTaken("user");
+
+    verify(users).existsByUsername("user");
+  }
+
+  @Test
+  void shouldKeepAccountsRegisteredBeforeReadingAccounts() {
+    when(users.count()).thenAnswer(invocation -> {
+      accounts.accountRegistered(new AccountRegistered("user", "user@example.com"));
+
+      return 0L;
+    });
+    when(users.streamRegisteredAccounts()).thenReturn(Stream.empty());
+    accounts.refresh();
+
+    accounts.usernameTaken("user");
+
+    verify(users).existsByUsername("user");
+  }
+
+  @Test
+  void shouldReportFiltersFootprint() {
+    refresh(new RegisteredAccount("user", "user@example.com"));
+
+    assertThat(meters.get(BloomFilteredRegisteredAccounts.FILTER_SIZE).tag("field", "email").gauge().value()).isPositive();
+    assertThat(
+      meters.get(BloomFilteredRegisteredAccounts.FILTER_FALSE_POSITIVE_PROBABILITY).tag("field", "username").gauge().value()
+    ).isBetween(0.0, 0.01);
+  }
+
+  private void refresh(RegisteredAccount... registered) {
+    when(users.count()).thenReturn((long) registered.length);
+    when(users.streamRegisteredAccounts()).thenReturn(Stream.of(registered));
+
+    accounts.refresh();
+  }
+
+  private double lookups(String field, String result) {
+    return meters.get(BloomFilteredRegisteredAccounts.LOOKUPS).tag("field", field).tag("result", result).counter().count();
+  }
+
+  private double coalesced(String field) {
+    return meters.get(BloomFilteredRegisteredAccounts.COALESCED_LOOKUPS).tag("field", field).functionCounter().count();
+  }
+
+  private static RegisteredAccountsProperties properties() {
+    var properties = new RegisteredAccountsProperties();
+    properties.setExpectedAccounts(100);
+
+    return properties;
+  }
+}
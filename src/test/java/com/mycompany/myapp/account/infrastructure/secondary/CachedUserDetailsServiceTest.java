@@ -0,0 +1,119 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AccountChanged;
+
+@UnitTest
+class CachedUserDetailsServiceTest {
+
+  private final CustomUserDetailsService loader = mock(CustomUserDetailsService.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final AtomicLong time = new AtomicLong();
+  private final CachedUserDetailsService service = new CachedUserDetailsService(loader, properties(), meters, time::get);
+
+  @Test
+  void shouldLoadAccountOnce() {
+    when(loader.loadUserByUsername("user")).thenReturn(account("hash"));
+
+    service.loadUserByUsername("user");
+    var details = (AccountUserDetails) service.loadUserByUsername("user");
+
+    verify(loader).loadUserByUsername("user");
+    assertThat(details.getPassword()).isEqualTo("hash");
+    assertThat(details.tokenEpoch()).isEqualTo(2);
+    assertThat(meters.get("cache.gets").tag("cache", CachedUserDetailsService.USERS_CACHE_NAME).tag("result", "hit").functionCounter().count())
+      .isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotShareCachedCredentials() {
+    when(loader.loadUserByUsername("user")).thenReturn(account("hash"));
+
+    ((AccountUserDetails) service.loadUserByUsername("user")).eraseCredentials();
+
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("hash");
+  }
+
+  @Test
+  void shouldReloadExpiredAccount() {
+    when(loader.loadUserByUsername("user")).thenReturn(account("hash"), account("new-hash"));
+    service.loadUserByUsername("user");
+
+    time.addAndGet(Duration.ofMinutes(2).toNanos());
+
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("new-hash");
+  }
+
+  @Test
+  void shouldReloadChangedAccount() {
+    when(loader.loadUserByUsername("user")).thenReturn(account("hash"), account("new-hash"));
+    service.loadUserByUsername("user");
+
+    service.accountChanged(new AccountChanged("user"));
+
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("new-hash");
+  }
+
+  @Test
+  void shouldReloadAccountWithUpdatedPassword() {
+    when(loader.loadUserByUsername("user")).thenReturn(account("hash"), account("new-hash"));
+    var details = service.loadUserByUsername("user");
+
+    service.updatePassword(details, "new-hash");
+
+    verify(loader).updatePassword(details, "new-hash");
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("new-hash");
+  }
+
+  @Test
+  void shouldCacheUnknownUsers() {
+    when(loader.loadUserByUsername("unknown")).thenThrow(new UsernameNotFoundException("User not found"));
+
+    assertThatThrownBy(() -> service.loadUserByUsername("unknown")).isExactlyInstanceOf(UsernameNotFoundException.class);
+    assertThatThrownBy(() -> service.loadUserByUsername("unknown")).isExactlyInstanceOf(UsernameNotFoundException.class);
+
+    verify(loader).loadUserByUsername("unknown");
+  }
+
+  @Test
+  void shouldLoadRegisteredUnknownUser() {
+    when(loader.loadUserByUsername("user")).thenThrow(new UsernameNotFoundException("User not found")).thenReturn(account("hash"));
+    assertThatThrownBy(() -> service.loadUserByUsername("user")).isExactlyInstanceOf(UsernameNotFoundException.class);
+
+    service.accountChanged(new AccountChanged("user"));
+
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("hash");
+  }
+
+  @Test
+  void shouldReloadExpiredUnknownUser() {
+    when(loader.loadUserByUsername("user")).thenThrow(new UsernameNotFoundException("User not found")).thenReturn(account("hash"));
+    assertThatThrownBy(() -> service.loadUserByUsername("user")).isExactlyInstanceOf(UsernameNotFoundException.class);
+
+    time.addAndGet(Duration.ofSeconds(11).toNanos());
+
+    assertThat(service.loadUserByUsername("user").getPassword()).isEqualTo("hash");
+  }
+
+  private static AccountUserDetails account(String password) {
+    return new AccountUserDetails("user", password, true, List.of(new SimpleGrantedAuthority("ROLE_USER")), 2);
+  }
+
+  private static UserDetailsCacheProperties properties() {
+    var properties = new UserDetailsCacheProperties();
+    properties.setTimeToLive(Duration.ofMinutes(1));
+    properties.setUnknownUsersTimeToLive(Duration.ofSeconds(10));
+
+    return properties;
+  }
+}
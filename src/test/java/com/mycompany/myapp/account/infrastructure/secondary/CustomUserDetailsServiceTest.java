@@ -0,0 +1,56 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.UserCredentials;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class CustomUserDetailsServiceTest {
+
+  @Mock
+  private UserRepository users;
+
+  @InjectMocks
+  private CustomUserDetailsService service;
+
+  @Test
+  void shouldNotLoadUnknownUser() {
+    when(users.findCredentialsByUsername("unknown")).thenReturn(Optional.empty());
+
+    assertThatThrownBy(() -> service.loadUserByUsername("unknown")).isExactlyInstanceOf(UsernameNotFoundException.class);
+  }
+
+  @Test
+  void shouldLoadAccountState() {
+    when(users.findCredentialsByUsername("user")).thenReturn(Optional.of(new UserCredentials("user", "hash", false, 1)));
+
+    var details = (AccountUserDetails) service.loadUserByUsername("user");
+
+    assertThat(details.getPassword()).isEqualTo("hash");
+    assertThat(details.isEnabled()).isFalse();
+    assertThat(details.tokenEpoch()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldUpdatePasswordKeepingAccountState() {
+    when(users.findCredentialsByUsername("user")).thenReturn(Optional.of(new UserCredentials("user", "hash", true, 1)));
+
+    var updated = (AccountUserDetails) service.updatePassword(service.loadUserByUsername("user"), "{bcrypt}new-hash");
+
+    verify(users).updatePassword("user", "{bcrypt}new-hash");
+    assertThat(updated.getPassword()).isEqualTo("{bcrypt}new-hash");
+    assertThat(updated.isEnabled()).isTrue();
+    assertThat(updated.tokenEpoch()).isEqualTo(1);
+  }
+}
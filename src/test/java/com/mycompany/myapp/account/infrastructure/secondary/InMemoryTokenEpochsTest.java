@@ -0,0 +1,152 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AccountChanged;
+import com.mycompany.myapp.account.infrastructure.secondary.JpaTokenEpochsRepository.UserTokenEpoch;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class InMemoryTokenEpochsTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+  private static final Username USER = new Username("user");
+
+  @Mock
+  private JpaTokenEpochsRepository users;
+
+  @Mock
+  private ApplicationEventPublisher events;
+
+  @Test
+  void shouldNotLoadEpochsBeforeFirstUse() {
+    epochs().refresh();
+
+    verifyNoInteractions(users);
+  }
+
+  @Test
+  void shouldLoadAllChangedEpochsOnFirstUse() {
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of(epoch("user", 2)));
+    var epochs = epochs();
+
+    assertThat(epochs.current(USER)).isEqualTo(2);
+    assertThat(epochs.current(new Username("other"))).isZero();
+    verify(users, times(1)).findTokenEpochsByTokenEpochUpdateAfter(any());
+  }
+
+  @Test
+  void shouldRefreshEpochsChangedSinceLastLoad() {
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of());
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(NOW.minusSeconds(60))).thenReturn(List.of(epoch("user", 1)));
+    var epochs = epochs();
+
+    assertThat(epochs.current(USER)).isZero();
+    epochs.refresh();
+
+    assertThat(epochs.current(USER)).isEqualTo(1);
+    verify(events).publishEvent(new AccountChanged("user"));
+  }
+
+  @Test
+  void shouldNotPublishEpochsLoadedOnFirstUse() {
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of(epoch("user", 2)));
+
+    epochs().current(USER);
+
+    verifyNoInteractions(events);
+  }
+
+  @Test
+  void shouldNotPublishUnchangedEpochs() {
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of(epoch("user", 2)));
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(NOW.minusSeconds(60))).thenReturn(List.of(epoch("user", 2)));
+    var epochs = epochs();
+    epochs.current(USER);
+
+    epochs.refresh();
+
+    verifyNoInteractions(events);
+  }
+
+  @Test
+  void shouldLoadStoredEpoch() {
+    when(users.findTokenEpochByUsername("user")).thenReturn(Optional.of(epoch("user", 5)));
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of());
+    var epochs = epochs();
+
+    assertThat(epochs.load(USER)).isEqualTo(5);
+    assertThat(epochs.current(USER)).isEqualTo(5);
+  }
+
+  @Test
+  void shouldLoadEpochOfChangedAccount() {
+    when(users.findTokenEpochByUsername("user")).thenReturn(Optional.of(epoch("user", 3)));
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of());
+    var epochs = epochs();
+
+    epochs.accountChanged(new AccountChanged("user", true));
+
+    assertThat(epochs.current(USER)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldNotLoadEpochOfAccountChangedWithoutEpochChange() {
+    epochs().accountChanged(new AccountChanged("user"));
+
+    verify(users, never()).findTokenEpochByUsername(any());
+  }
+
+  @Test
+  void shouldNotLowerEpochWithOlderRefresh() {
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(Instant.EPOCH)).thenReturn(List.of());
+    when(users.findTokenEpochByUsername("user")).thenReturn(Optional.of(epoch("user", 3)));
+    when(users.findTokenEpochsByTokenEpochUpdateAfter(NOW.minusSeconds(60))).thenReturn(List.of(epoch("user", 2)));
+    var epochs = epochs();
+    epochs.current(USER);
+    epochs.load(USER);
+
+    epochs.refresh();
+
+    assertThat(epochs.current(USER)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldLoadUnknownUserAtFirstEpoch() {
+    when(users.findTokenEpochByUsername("user")).thenReturn(Optional.empty());
+
+    assertThat(epochs().load(USER)).isZero();
+  }
+
+  private InMemoryTokenEpochs epochs() {
+    return new InMemoryTokenEpochs(users, events, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private static UserTokenEpoch epoch(String username, long epoch) {
+    return new UserTokenEpoch() {
+      @Override
+      public String getUsername() {
+        return username;
+      }
+
+      @Override
+      public long getTokenEpoch() {
+        return epoch;
+      }
+    };
+  }
+}
@@ -0,0 +1,253 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AuthenticationQuery;
+import com.mycompany.myapp.account.domain.Token;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@UnitTest
+class JwtTokensRepositoryTest {
+
+  private static final String SECRET = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+
+  private final TokenEpochs epochs = mock(TokenEpochs.class);
+  private final RevokedTokens revokedTokens = mock(RevokedTokens.class);
+
+  @Test
+  void shouldBuildTokenWithAuthorities() {
+    Claims claims = claims(tokens(false));
+
+    assertThat(claims.getSubject()).isEqualTo("user");
+    assertThat(claims.get("auth", String.class)).contains("ROLE_ADMIN", "ROLE_USER");
+    assertThat(claims).doesNotContainKey("rol");
+  }
+
+  @Test
+  void shouldBuildTokensWithUniqueIds() {
+    var tokens = tokens(false);
+
+    assertThat(claims(tokens).getId()).isNotBlank().isNotEqualTo(claims(tokens).getId());
+  }
+
+  @Test
+  void shouldBuildTokenWithStoredUserEpoch() {
+    when(epochs.load(new Username("user"))).thenReturn(3L);
+
+    Claims claims = claims(tokens(false));
+
+    assertThat(claims.get("epc", Long.class)).isEqualTo(3);
+  }
+
+  @Test
+  void shouldBuildTokenWithAlreadyLoadedUserEpoch() {
+    var query = AuthenticationQuery.builder().username("user").roles(Roles.of(Set.of(Role.USER))).rememberMe(false).withTokenEpoch(2);
+
+    Claims claims = parse(tokens(false).buildToken(query));
+
+    assertThat(claims.get("epc", Long.class)).isEqualTo(2);
+    verify(epochs, never()).load(any());
+  }
+
+  @Test
+  void shouldBuildTokenWithKnownEpochNewerThanLoadedOne() {
+    when(epochs.current(new Username("user"))).thenReturn(4L);
+    var query = AuthenticationQuery.builder().username("user").roles(Roles.of(Set.of(Role.USER))).rememberMe(false).withTokenEpoch(2);
+
+    Claims claims = parse(tokens(false).buildToken(query));
+
+    assertThat(claims.get("epc", Long.class)).isEqualTo(4);
+  }
+
+  @Test
+  void shouldBuildTokenWithAuthenticationTime() {
+    var before = Instant.now().getEpochSecond();
+
+    Claims claims = claims(tokens(false));
+
+    assertThat(claims.get("auth_time", Long.class)).isBetween(before, Instant.now().getEpochSecond());
+  }
+
+  @Test
+  void shouldBuildTokenWithCompactRoles() {
+    Claims claims = claims(tokens(true));
+
+    assertThat(Roles.fromMask(claims.get("rol", Long.class))).isEqualTo(Roles.of(Set.of(Role.ADMIN, Role.USER)));
+    assertThat(claims).doesNotContainKey("auth");
+  }
+
+  @Test
+  void shouldNotRenewInvalidToken() {
+    assertThat(tokens(false).renew(new Token("invalid"))).isEmpty();
+  }
+
+  @Test
+  void shouldNotRenewTokenWithoutIssueDate() {
+    var token = Jwts.builder().subject("user").signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(Instant.now().plusSeconds(60))).compact();
+
+    assertThat(tokens(false).renew(new Token(token))).isEmpty();
+  }
+
+  @Test
+  void shouldRenewValidTokenWithSameRolesAndLifetime() {
+    var token = token(Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    var renewed = parse(tokens(false).renew(token).orElseThrow());
+
+    assertThat(renewed.getSubject()).isEqualTo("user");
+    assertThat(renewed.getId()).isNotBlank();
+    assertThat(renewed.get("auth", String.class)).isEqualTo("ROLE_ADMIN");
+    assertThat(Duration.between(renewed.getIssuedAt().toInstant(), renewed.getExpiration().toInstant())).isEqualTo(Duration.ofMinutes(1));
+  }
+
+  @Test
+  void shouldRevokeRenewedToken() {
+    var token = token(Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    tokens(false).renew(token);
+
+    verify(revokedTokens).revoke(eq("token-id"), any());
+  }
+
+  @Test
+  void shouldNotRenewSameTokenTwice() {
+    var revoked = new HashSet<String>();
+    doAnswer(invocation -> revoked.add(invocation.getArgument(0))).when(revokedTokens).revoke(any(), any());
+    when(revokedTokens.revoked(any())).thenAnswer(invocation -> revoked.contains(invocation.getArgument(0)));
+    var tokens = tokens(false);
+    var token = token(Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    assertThat(tokens.renew(token)).isPresent();
+    assertThat(tokens.renew(token)).isEmpty();
+  }
+
+  @Test
+  void shouldNotRenewTokenWithoutId() {
+    var token = Jwts.builder()
+      .subject("user")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .issuedAt(new Date())
+      .expiration(Date.from(Instant.now().plusSeconds(60)))
+      .compact();
+
+    assertThat(tokens(false).renew(new Token(token))).isEmpty();
+  }
+
+  @Test
+  void shouldKeepAuthenticationTimeWhenRenewing() {
+    var authenticatedAt = Instant.now().minus(Duration.ofHours(2));
+    var token = token(authenticatedAt, Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    var renewed = parse(tokens(false).renew(token).orElseThrow());
+
+    assertThat(renewed.get("auth_time", Long.class)).isEqualTo(authenticatedAt.getEpochSecond());
+  }
+
+  @Test
+  void shouldNotRenewPastRememberMeValidity() {
+    var token = token(Instant.now().minus(Duration.ofDays(2)), Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    assertThat(tokens(false).renew(token)).isEmpty();
+    verify(revokedTokens, never()).revoke(any(), any());
+  }
+
+  @Test
+  void shouldNotExtendRenewedTokenPastRememberMeValidity() {
+    var authenticatedAt = Instant.now().minus(Duration.ofDays(1)).plusSeconds(10);
+    var token = token(authenticatedAt, Instant.now().minusSeconds(30), Instant.now().plusSeconds(30));
+
+    var renewed = parse(tokens(false).renew(token).orElseThrow());
+
+    assertThat(renewed.getExpiration().toInstant()).isBeforeOrEqualTo(authenticatedAt.plus(Duration.ofDays(1)));
+  }
+
+  @Test
+  void shouldRenewTokenExpiredDuringGracePeriod() {
+    var token = token(Instant.now().minusSeconds(120), Instant.now().minusSeconds(60));
+
+    assertThat(tokens(false).renew(token)).isPresent();
+  }
+
+  @Test
+  void shouldNotRenewTokenExpiredBeforeGracePeriod() {
+    var token = token(Instant.now().minus(Duration.ofMinutes(20)), Instant.now().minus(Duration.ofMinutes(10)));
+
+    assertThat(tokens(false).renew(token)).isEmpty();
+  }
+
+  @Test
+  void shouldNotRenewTokenWithOutdatedEpoch() {
+    when(epochs.current(new Username("user"))).thenReturn(1L);
+
+    assertThat(tokens(false).renew(token(Instant.now(), Instant.now().plusSeconds(60)))).isEmpty();
+  }
+
+  @Test
+  void shouldNotRenewRevokedToken() {
+    when(revokedTokens.revoked("token-id")).thenReturn(true);
+
+    assertThat(tokens(false).renew(token(Instant.now(), Instant.now().plusSeconds(60)))).isEmpty();
+  }
+
+  private JwtTokensRepository tokens(boolean compactRoles) {
+    return new JwtTokensRepository(properties(compactRoles), epochs, revokedTokens);
+  }
+
+  private static Token token(Instant issuedAt, Instant expiration) {
+    return token(issuedAt, issuedAt, expiration);
+  }
+
+  private static Token token(Instant authenticatedAt, Instant issuedAt, Instant expiration) {
+    return new Token(
+      Jwts.builder()
+        .subject("user")
+        .id("token-id")
+        .claim("auth", "ROLE_ADMIN")
+        .claim("epc", 0)
+        .claim("auth_time", authenticatedAt.getEpochSecond())
+        .signWith(KEY, Jwts.SIG.HS512)
+        .issuedAt(Date.from(issuedAt))
+        .expiration(Date.from(expiration))
+        .compact()
+    );
+  }
+
+  private static Claims claims(JwtTokensRepository tokens) {
+    var query = AuthenticationQuery.builder().username("user").roles(Roles.of(Set.of(Role.ADMIN, Role.USER))).rememberMe(false);
+
+    return parse(tokens.buildToken(query));
+  }
+
+  private static Claims parse(Token token) {
+    return Jwts.parser().verifyWith(KEY).build().parseSignedClaims(token.get()).getPayload();
+  }
+
+  private static JwtTokensProperties properties(boolean compactRoles) {
+    var properties = new JwtTokensProperties();
+    properties.setJwtBase64Secret(SECRET);
+    properties.setTokenValidity(Duration.ofMinutes(5));
+    properties.setRememberMeTokenValidity(Duration.ofDays(1));
+    properties.setCompactRoles(compactRoles);
+    properties.setRenewalGracePeriod(Duration.ofMinutes(5));
+
+    return properties;
+  }
+}
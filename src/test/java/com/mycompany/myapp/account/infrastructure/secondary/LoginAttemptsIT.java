@@ -0,0 +1,76 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.application.AccountApplicationService;
+import com.mycompany.myapp.account.domain.AccountRegistered;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserRepository;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@IntegrationTest(
+  properties = { "application.security.login-attempts.flush-delay=PT1H", "application.security.login-attempts.max-pending=1" }
+)
+class LoginAttemptsIT {
+
+  private static final String USERNAME = "write-behind";
+
+  @Autowired
+  private WriteBehindLoginAttempts loginAttempts;
+
+  @Autowired
+  private AccountApplicationService accounts;
+
+  @Autowired
+  private ApplicationEventPublisher events;
+
+  @Autowired
+  private UserRepository users;
+
+  @Autowired
+  private PasswordEncoder passwordEncoder;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void shouldWriteLoginAttemptsOnFlush() {
+    var transaction = new TransactionTemplate(transactionManager);
+    transaction.executeWithoutResult(status -> users.save(new User(USERNAME, USERNAME + "@localhost", passwordEncoder.encode("password"))));
+    var login = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+    loginAttempts.failed(new Username(USERNAME));
+    loginAttempts.flush();
+    loginAttempts.succeeded(new Username(USERNAME), login);
+    loginAttempts.failed(new Username(USERNAME));
+    loginAttempts.flush();
+
+    var user = transaction.execute(status -> users.findByUsername(USERNAME).orElseThrow());
+    assertThat(user.getLastLoginAt()).isEqualTo(login);
+    assertThat(user.getFailedLoginAttempts()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotTakePendingSlotsWithUnknownUsernames() {
+    var transaction = new TransactionTemplate(transactionManager);
+    transaction.executeWithoutResult(status -> users.save(new User("sprayed", "sprayed@localhost", passwordEncoder.encode("password"))));
+    events.publishEvent(new AccountRegistered("sprayed", "sprayed@localhost"));
+
+    accounts.loginFailed("unknown-1");
+    accounts.loginFailed("unknown-2");
+    accounts.loginFailed("sprayed");
+    loginAttempts.flush();
+
+    var user = transaction.execute(status -> users.findByUsername("sprayed").orElseThrow());
+    assertThat(user.getFailedLoginAttempts()).isEqualTo(1);
+  }
+}
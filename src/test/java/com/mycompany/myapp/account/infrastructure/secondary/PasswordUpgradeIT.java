@@ -0,0 +1,55 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.User;
+import com.mycompany.myapp.account.domain.UserRepository;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class PasswordUpgradeIT {
+
+  private static final String USERNAME = "outdated-hash";
+  private static final String PASSWORD = "password";
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private UserRepository users;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void shouldUpgradeOutdatedHashOnLogin() throws Exception {
+    var transaction = new TransactionTemplate(transactionManager);
+    transaction.executeWithoutResult(status -> {
+      var user = new User(USERNAME, USERNAME + "@localhost", new BCryptPasswordEncoder(4).encode(PASSWORD));
+      user.setActivated(true);
+      users.save(user);
+    });
+
+    mockMvc
+      .perform(
+        post("/api/authenticate")
+          .contentType(MediaType.APPLICATION_JSON)
+          .content("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\",\"rememberMe\":false}")
+      )
+      .andExpect(status().isOk());
+
+    var password = transaction.execute(status -> users.findByUsername(USERNAME).orElseThrow().getPassword());
+    assertThat(password).startsWith("{bcrypt}$2a$04$");
+  }
+}
@@ -0,0 +1,159 @@
+package com.mycompany.myapp.account.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionOperations;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@UnitTest
+class WriteBehindLoginAttemptsTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+  private static final Username USER = new Username("user");
+
+  private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+  @Test
+  void shouldNotWriteWithoutAttempts() {
+    attempts(10).flush();
+
+    verifyNoInteractions(jdbc);
+  }
+
+  @Test
+  void shouldMergeAttemptsOfAUser() {
+    var attempts = attempts(10);
+    attempts.failed(USER);
+    attempts.succeeded(USER, NOW);
+    attempts.failed(USER);
+    attempts.failed(USER);
+
+    attempts.flush();
+
+    assertThat(batches()).singleElement().satisfies(batch ->
+      assertThat(batch).singleElement().isEqualTo(new Object[] { NOW.atOffset(ZoneOffset.UTC), true, 2, 2, "user" })
+    );
+  }
+
+  @Test
+  void shouldAddFailuresWithoutSuccessfulLogin() {
+    var attempts = attempts(10);
+    attempts.failed(USER);
+    attempts.failed(USER);
+
+    attempts.flush();
+
+    assertThat(batches().get(0)).singleElement().isEqualTo(new Object[] { null, false, 2, 2, "user" });
+  }
+
+  @Test
+  void shouldWriteAttemptsOnce() {
+    var attempts = attempts(10);
+    attempts.failed(USER);
+    attempts.flush();
+
+    attempts.flush();
+
+    assertThat(batches()).hasSize(1);
+  }
+
+  @Test
+  void shouldSplitBatches() {
+    var attempts = attempts(2);
+    attempts.failed(new Username("first"));
+    attempts.failed(new Username("second"));
+    attempts.failed(new Username("third"));
+
+    attempts.flush();
+
+    assertThat(batches()).extracting(List::size).containsExactlyInAnyOrder(2, 1);
+    assertThat(meters.get(WriteBehindLoginAttempts.BATCH_SIZE).summary().totalAmount()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldMeasureFlushLag() {
+    var clock = mock(Clock.class);
+    when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(5));
+    var attempts = new WriteBehindLoginAttempts(jdbc, TransactionOperations.withoutTransaction(), properties(10), meters, clock);
+    attempts.failed(USER);
+
+    attempts.flush();
+
+    assertThat(meters.get(WriteBehindLoginAttempts.FLUSH_LAG).timer().max(TimeUnit.SECONDS)).isEqualTo(5);
+  }
+
+  @Test
+  void shouldDropAttemptsOfNewUsersOverMaxPending() {
+    var properties = properties(10);
+    properties.setMaxPending(1);
+    var attempts = new WriteBehindLoginAttempts(jdbc, TransactionOperations.withoutTransaction(), properties, meters, Clock.systemUTC());
+    attempts.failed(USER);
+    attempts.failed(USER);
+
+    attempts.failed(new Username("other"));
+
+    assertThat(meters.get(WriteBehindLoginAttempts.DROPPED).counter().count()).isEqualTo(1);
+    attempts.flush();
+    assertThat(batches().get(0)).singleElement().isEqualTo(new Object[] { null, false, 2, 2, "user" });
+  }
+
+  @Test
+  void shouldKeepFlushingAfterWriteFailure() {
+    when(jdbc.batchUpdate(anyString(), anyList(), any(int[].class))).thenThrow(new DataAccessResourceFailureException("down"));
+    var attempts = attempts(10);
+    attempts.failed(USER);
+
+    assertThatCode(attempts::flush).doesNotThrowAnyException();
+  }
+
+  @Test
+  void shouldFlushOnShutdown() {
+    var attempts = attempts(10);
+    attempts.failed(USER);
+
+    attempts.shutdown();
+
+    assertThat(batches()).hasSize(1);
+  }
+
+  @SuppressWarnings("unchecked")
+  private List<List<Object[]>> batches() {
+    ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+    verify(jdbc, atLeastOnce()).batchUpdate(anyString(), batches.capture(), any(int[].class));
+
+    return batches.getAllValues();
+  }
+
+  private WriteBehindLoginAttempts attempts(int batchSize) {
+    return new WriteBehindLoginAttempts(
+      jdbc,
+      TransactionOperations.withoutTransaction(),
+      properties(batchSize),
+      meters,
+      Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+  }
+
+  private static LoginAttemptsProperties properties(int batchSize) {
+    var properties = new LoginAttemptsProperties();
+    properties.setBatchSize(batchSize);
+    properties.setFlushDelay(Duration.ofSeconds(5));
+
+    return properties;
+  }
+}
@@ -5,6 +5,7 @@ import static com.mycompany.myapp.shared.authentication.application.Authenticate
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +24,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.User;
 import com.mycompany.myapp.UnitTest;
 import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
 import com.mycompany.myapp.shared.authentication.domain.Username;
 
 @UnitTest
@@ -101,6 +103,14 @@ class AuthenticatedUserTest {
 
       assertThat(roles().get()).containsExactly(Role.ADMIN);
     }
+
+    @Test
+    void shouldGetRolesFromRolesAuthentication() {
+      var roles = Roles.of(Set.of(Role.USER));
+      authenticate(new RolesTestingAuthentication(roles));
+
+      assertThat(roles()).isSameAs(roles);
+    }
   }
 
   private static UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken() {
@@ -114,6 +124,21 @@ class AuthenticatedUserTest {
     return List.of(new SimpleGrantedAuthority(Role.ADMIN.key()));
   }
 
+  private static final class RolesTestingAuthentication extends TestingAuthenticationToken implements RolesAuthentication {
+
+    private final transient Roles roles;
+
+    private RolesTestingAuthentication(Roles roles) {
+      super("admin", "admin");
+      this.roles = roles;
+    }
+
+    @Override
+    public Roles roles() {
+      return roles;
+    }
+  }
+
   private void authenticate(Authentication token) {
     var securityContext = SecurityContextHolder.createEmptyContext();
     securityContext.setAuthentication(token);
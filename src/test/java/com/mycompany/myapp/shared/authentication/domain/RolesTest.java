@@ -2,40 +2,83 @@ package com.mycompany.myapp.shared.authentication.domain;
 
 import static org.assertj.core.api.Assertions.*;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import org.junit.jupiter.api.Test;
 import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.error.domain.MissingMandatoryValueException;
 
 @UnitTest
 class RolesTest {
 
   @Test
   void shouldNotHaveRoleWithoutRoles() {
-    assertThat(new Roles(null).hasRole()).isFalse();
+    assertThat(Roles.of(null).hasRole()).isFalse();
   }
 
   @Test
   void shouldHaveRoleWithRoles() {
-    assertThat(new Roles(Set.of(Role.ADMIN)).hasRole()).isTrue();
+    assertThat(Roles.of(Set.of(Role.ADMIN)).hasRole()).isTrue();
   }
 
   @Test
   void shouldNotHaveNotAffectedRole() {
-    assertThat(new Roles(Set.of(Role.ADMIN)).hasRole(Role.USER)).isFalse();
+    assertThat(Roles.of(Set.of(Role.ADMIN)).hasRole(Role.USER)).isFalse();
   }
 
   @Test
   void shouldHaveAffectedRole() {
-    assertThat(new Roles(Set.of(Role.ADMIN)).hasRole(Role.ADMIN)).isTrue();
+    assertThat(Roles.of(Set.of(Role.ADMIN)).hasRole(Role.ADMIN)).isTrue();
   }
 
   @Test
   void shouldStreamRoles() {
-    assertThat(new Roles(Set.of(Role.ADMIN)).stream()).containsExactly(Role.ADMIN);
+    assertThat(Roles.of(Set.of(Role.ADMIN)).stream()).containsExactly(Role.ADMIN);
   }
 
   @Test
   void shouldGetRoles() {
-    assertThat(new Roles(Set.of(Role.ADMIN)).get()).containsExactly(Role.ADMIN);
+    assertThat(Roles.of(Set.of(Role.ADMIN)).get()).containsExactly(Role.ADMIN);
+  }
+
+  @Test
+  void shouldShareInstanceForSameRoles() {
+    assertThat(Roles.of(List.of(Role.ADMIN, Role.USER))).isSameAs(Roles.of(Set.of(Role.USER, Role.ADMIN)));
+  }
+
+  @Test
+  void shouldGetEmptyRolesFromEmptyCollection() {
+    assertThat(Roles.of(List.of())).isSameAs(Roles.EMPTY);
+  }
+
+  @Test
+  void shouldNotBuildRolesWithNullRole() {
+    assertThatThrownBy(() -> Roles.of(Collections.singleton(null))).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldConvertRolesToAndFromMask() {
+    var roles = Roles.of(Set.of(Role.ADMIN, Role.USER));
+
+    assertThat(roles.mask()).isEqualTo(Role.ADMIN.bit() | Role.USER.bit());
+    assertThat(Roles.fromMask(roles.mask())).isSameAs(roles);
+  }
+
+  @Test
+  void shouldIgnoreUnknownBitsInMask() {
+    assertThat(Roles.fromMask(Role.USER.bit() | (1L << 40))).isSameAs(Roles.of(Set.of(Role.USER)));
+  }
+
+  @Test
+  void shouldHaveImmutableRoles() {
+    var roles = Roles.of(Set.of(Role.ADMIN)).get();
+
+    assertThatThrownBy(() -> roles.add(Role.USER)).isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void shouldHaveRolesInToString() {
+    assertThat(Roles.of(Set.of(Role.ADMIN))).hasToString("Roles[ADMIN]");
   }
 }
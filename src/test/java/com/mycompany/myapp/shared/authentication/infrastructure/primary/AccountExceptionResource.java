@@ -1,9 +1,11 @@
 package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 
+import java.time.Duration;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import com.mycompany.myapp.shared.authentication.application.NotAuthenticatedUserException;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
 import com.mycompany.myapp.shared.authentication.application.UnknownAuthenticationException;
 
 @RestController
@@ -15,6 +17,11 @@ class AccountExceptionResource {
     throw new NotAuthenticatedUserException();
   }
 
+  @GetMapping("/password-hashing-saturated")
+  public void passwordHashingSaturated() {
+    throw new PasswordHashingSaturatedException(Duration.ofSeconds(2));
+  }
+
   @GetMapping("/unknown-authentication")
   public void unknownAuthentication() {
     throw new UnknownAuthenticationException();
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.UnitTest;
+
+@UnitTest
+class AccountStatusChecksTest {
+
+  private final UserDetailsService users = mock(UserDetailsService.class);
+  private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+  private final DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+
+  @BeforeEach
+  void loadNotActivatedUser() {
+    provider.setUserDetailsService(users);
+    provider.setPasswordEncoder(passwordEncoder);
+    provider.setPreAuthenticationChecks(new AccountStatusChecks.BeforePassword());
+    provider.setPostAuthenticationChecks(new AccountStatusChecks.AfterPassword());
+    when(users.loadUserByUsername("user")).thenReturn(User.withUsername("user").password("hash").disabled(true).build());
+    when(passwordEncoder.matches("password", "hash")).thenReturn(true);
+  }
+
+  @Test
+  void shouldRejectBadPasswordOfNotActivatedAccountAsBadCredentials() {
+    assertThatThrownBy(() -> provider.authenticate(credentials("wrong"))).isExactlyInstanceOf(BadCredentialsException.class);
+  }
+
+  @Test
+  void shouldRejectNotActivatedAccountOnceThePasswordMatches() {
+    assertThatThrownBy(() -> provider.authenticate(credentials("password")))
+      .isExactlyInstanceOf(DisabledException.class)
+      .hasMessage("Account is not activated");
+  }
+
+  private static UsernamePasswordAuthenticationToken credentials(String password) {
+    return UsernamePasswordAuthenticationToken.unauthenticated("user", password);
+  }
+}
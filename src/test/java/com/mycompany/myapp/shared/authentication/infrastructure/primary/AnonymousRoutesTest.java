@@ -0,0 +1,62 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import com.mycompany.myapp.UnitTest;
+
+@UnitTest
+class AnonymousRoutesTest {
+
+  private static final AnonymousRoutes ROUTES = new AnonymousRoutes(List.of("/", "/login", "/assets/**", "/*.js", "/*.woff2"));
+
+  @ParameterizedTest
+  @ValueSource(strings = { "/", "/login", "/assets", "/assets/", "/assets/images/logo.png", "/main.js", "/main.4f2a.js", "/font.woff2" })
+  void shouldMatchAnonymousRoutes(String path) {
+    assertThat(ROUTES.matches(request("GET", path))).isTrue();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "/api/account", "/login/other", "/assetsother", "/app/main.js", "/main.json", "/font.woff", "/logout", "" })
+  void shouldNotMatchOtherRoutes(String path) {
+    assertThat(ROUTES.matches(request("GET", path))).isFalse();
+  }
+
+  @Test
+  void shouldMatchOptionsRequests() {
+    assertThat(ROUTES.matches(request("OPTIONS", "/api/account"))).isTrue();
+  }
+
+  @Test
+  void shouldMatchServletPathAndPathInfo() {
+    var request = new MockHttpServletRequest("GET", "/assets/logo.png");
+    request.setServletPath("/assets");
+    request.setPathInfo("/logo.png");
+
+    assertThat(ROUTES.matches(request)).isTrue();
+  }
+
+  @Test
+  void shouldMatchPathInfoOnly() {
+    var request = new MockHttpServletRequest("GET", "/login");
+    request.setPathInfo("/login");
+
+    assertThat(ROUTES.matches(request)).isTrue();
+  }
+
+  @Test
+  void shouldNotBuildFromUnsupportedPattern() {
+    assertThatThrownBy(() -> new AnonymousRoutes(List.of("/api/*/account"))).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static MockHttpServletRequest request(String method, String path) {
+    var request = new MockHttpServletRequest(method, path);
+    request.setServletPath(path);
+
+    return request;
+  }
+}
@@ -27,6 +27,17 @@ class AuthenticationExceptionAdviceIT {
       .andExpect(jsonPath("$.title").value("not authenticated"));
   }
 
+  @Test
+  void shouldHandlePasswordHashingSaturatedException() throws Exception {
+    mockMvc
+      .perform(get("/api/account-exceptions/password-hashing-saturated"))
+      .andExpect(status().isServiceUnavailable())
+      .andExpect(header().string("Retry-After", "2"))
+      .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+      .andExpect(jsonPath("$.message").value("error.http.503"))
+      .andExpect(jsonPath("$.title").value("password hashing saturated"));
+  }
+
   @Test
   void shouldHandleUnknownAuthenticationException() throws Exception {
     mockMvc
@@ -0,0 +1,77 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+
+@UnitTest
+class AuthoritiesDecoderTest {
+
+  private final AuthoritiesDecoder decoder = new AuthoritiesDecoder();
+
+  @Test
+  void shouldDecodeMissingClaimToEmptyAuthorities() {
+    assertThat(decoder.decode((String) null)).isEqualTo(DecodedAuthorities.EMPTY);
+  }
+
+  @Test
+  void shouldDecodeBlankClaimToEmptyAuthorities() {
+    assertThat(decoder.decode(" , ")).isEqualTo(DecodedAuthorities.EMPTY);
+  }
+
+  @Test
+  void shouldDecodeAuthoritiesAndRoles() {
+    var decoded = decoder.decode("ROLE_USER,,ROLE_ADMIN,OTHER");
+
+    assertThat(decoded.authorities()).containsExactly(
+      new SimpleGrantedAuthority("ROLE_USER"),
+      new SimpleGrantedAuthority("ROLE_ADMIN"),
+      new SimpleGrantedAuthority("OTHER")
+    );
+    assertThat(decoded.roles().get()).containsExactlyInAnyOrder(Role.USER, Role.ADMIN, Role.UNKNOWN);
+  }
+
+  @Test
+  void shouldDecodeClaimOnlyOnce() {
+    assertThat(decoder.decode("ROLE_USER")).isSameAs(decoder.decode(new String("ROLE_USER")));
+  }
+
+  @Test
+  void shouldShareRoleAuthoritiesBetweenClaims() {
+    var user = decoder.decode("ROLE_USER").authorities().get(0);
+
+    assertThat(decoder.decode("ROLE_ADMIN,ROLE_USER").authorities().get(1)).isSameAs(user);
+  }
+
+  @Test
+  void shouldNotCacheMoreThanMaxClaims() {
+    for (int i = 0; i < AuthoritiesDecoder.MAX_CACHED_CLAIMS; i++) {
+      decoder.decode("ROLE_" + i);
+    }
+
+    assertThat(decoder.decode("ROLE_USER")).isNotSameAs(decoder.decode("ROLE_USER")).isEqualTo(decoder.decode("ROLE_USER"));
+  }
+
+  @Test
+  void shouldDecodeRoles() {
+    var roles = Roles.of(Set.of(Role.USER, Role.ADMIN));
+
+    var decoded = decoder.decode(roles);
+
+    assertThat(decoded.roles()).isSameAs(roles);
+    assertThat(decoded.authorities()).containsExactly(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+    assertThat(decoder.decode(roles)).isSameAs(decoded);
+  }
+
+  @Test
+  void shouldHaveImmutableAuthorities() {
+    var authorities = decoder.decode("ROLE_USER").authorities();
+
+    assertThatThrownBy(authorities::clear).isInstanceOf(UnsupportedOperationException.class);
+  }
+}
@@ -0,0 +1,67 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.error.domain.NumberValueTooHighException;
+import com.mycompany.myapp.shared.error.domain.NumberValueTooLowException;
+
+@UnitTest
+class BCryptCostCalibrationTest {
+
+  private static final IntFunction<Duration> TEN_MILLIS_AT_COST_8 = cost -> Duration.ofMillis(10L << (cost - 8));
+
+  @Test
+  void shouldNotCalibrateWithInvalidCosts() {
+    assertThatThrownBy(() -> BCryptCostCalibration.calibrate(Duration.ofMillis(100), 3, 10, TEN_MILLIS_AT_COST_8)).isExactlyInstanceOf(
+      NumberValueTooLowException.class
+    );
+    assertThatThrownBy(() -> BCryptCostCalibration.calibrate(Duration.ofMillis(100), 12, 10, TEN_MILLIS_AT_COST_8)).isExactlyInstanceOf(
+      NumberValueTooHighException.class
+    );
+    assertThatThrownBy(() -> BCryptCostCalibration.calibrate(Duration.ofMillis(100), 8, 32, TEN_MILLIS_AT_COST_8)).isExactlyInstanceOf(
+      NumberValueTooHighException.class
+    );
+  }
+
+  @Test
+  void shouldUseHighestCostWithinTarget() {
+    assertThat(BCryptCostCalibration.calibrate(Duration.ofMillis(100), 8, 14, TEN_MILLIS_AT_COST_8)).isEqualTo(11);
+  }
+
+  @Test
+  void shouldUseMinimalCostOnSlowHardware() {
+    assertThat(BCryptCostCalibration.calibrate(Duration.ofMillis(5), 8, 14, TEN_MILLIS_AT_COST_8)).isEqualTo(8);
+  }
+
+  @Test
+  void shouldUseMaximalCostOnFastHardware() {
+    assertThat(BCryptCostCalibration.calibrate(Duration.ofSeconds(10), 8, 12, TEN_MILLIS_AT_COST_8)).isEqualTo(12);
+  }
+
+  @Test
+  void shouldOnlyMeasureMinimalCost() {
+    var measuredCosts = new ArrayList<Integer>();
+
+    BCryptCostCalibration.calibrate(
+      Duration.ofMillis(100),
+      8,
+      14,
+      cost -> {
+        measuredCosts.add(cost);
+        return TEN_MILLIS_AT_COST_8.apply(cost);
+      }
+    );
+
+    assertThat(measuredCosts).hasSize(4).containsOnly(8);
+  }
+
+  @Test
+  void shouldCalibrateWithRealHashes() {
+    assertThat(BCryptCostCalibration.calibrate(Duration.ofMillis(1), 4, 6)).isBetween(4, 6);
+  }
+}
@@ -0,0 +1,136 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.util.unit.DataSize;
+import com.mycompany.myapp.UnitTest;
+
+@UnitTest
+class CachedJwtReaderTest {
+
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(
+    "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8".getBytes(StandardCharsets.UTF_8)
+  );
+
+  private final AtomicLong time = new AtomicLong();
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final JwtReader jwtReader = spy(new JwtReader(Jwts.parser().verifyWith(KEY).build()));
+  private final CachedJwtReader reader = new CachedJwtReader(jwtReader, properties(), meters, time::get, Clock.systemUTC());
+
+  @Test
+  void shouldNotCacheBlankToken() {
+    assertThat(reader.read(" ")).isEmpty();
+    assertThat(reader.read(" ")).isEmpty();
+
+    assertThat(hits()).isZero();
+  }
+
+  @Test
+  void shouldNotCacheInvalidToken() {
+    assertThat(reader.read("invalid")).isEmpty();
+    assertThat(reader.read("invalid")).isEmpty();
+
+    verify(jwtReader, times(2)).verify("invalid");
+  }
+
+  @Test
+  void shouldReadValidTokenFromCache() {
+    String token = token(Duration.ofMinutes(2));
+
+    var first = reader.read(token).orElseThrow();
+    var second = reader.read(token).orElseThrow();
+
+    verify(jwtReader, times(1)).verify(token);
+    assertThat(((User) second.getPrincipal()).getUsername()).isEqualTo("test");
+    assertThat(second.getCredentials()).isEqualTo(token);
+    assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+    assertThat(hits()).isEqualTo(1);
+    assertThat(misses()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldEvictTokenAtExpiration() {
+    String token = token(Duration.ofMinutes(2));
+    reader.read(token);
+
+    time.addAndGet(Duration.ofMinutes(3).toNanos());
+    reader.read(token);
+
+    verify(jwtReader, times(2)).verify(token);
+  }
+
+  @Test
+  void shouldComputeExpirationWithCacheTicker() {
+    String token = token(Duration.ofMinutes(2));
+
+    time.addAndGet(Duration.ofMinutes(1).toNanos());
+    reader.read(token);
+
+    time.addAndGet(Duration.ofSeconds(90).toNanos());
+    reader.read(token);
+
+    verify(jwtReader, times(2)).verify(token);
+  }
+
+  @Test
+  void shouldLimitCachedEntries() {
+    var limitedReader = new CachedJwtReader(jwtReader, properties(2), meters, time::get, Clock.systemUTC());
+
+    for (int i = 0; i < 10; i++) {
+      limitedReader.read(token("user-" + i, Duration.ofMinutes(2)));
+    }
+
+    assertThat(meters.get("cache.size").tag("cache", CachedJwtReader.CACHE_NAME).gauges())
+      .allSatisfy(gauge -> assertThat(gauge.value()).isLessThanOrEqualTo(2));
+  }
+
+  private double hits() {
+    return gets("hit");
+  }
+
+  private double misses() {
+    return gets("miss");
+  }
+
+  private double gets(String result) {
+    return meters.get("cache.gets").tag("cache", CachedJwtReader.CACHE_NAME).tag("result", result).functionCounter().count();
+  }
+
+  private static String token(Duration validity) {
+    return token("test", validity);
+  }
+
+  private static String token(String username, Duration validity) {
+    return Jwts.builder()
+      .subject(username)
+      .claim("auth", "ROLE_USER")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(Instant.now().plus(validity)))
+      .compact();
+  }
+
+  private static JwtAuthenticationProperties.TokenCache properties() {
+    return properties(100);
+  }
+
+  private static JwtAuthenticationProperties.TokenCache properties(int maxEntries) {
+    var properties = new JwtAuthenticationProperties.TokenCache();
+    properties.setMaxEntries(maxEntries);
+    properties.setMaxMemory(DataSize.ofKilobytes(64));
+
+    return properties;
+  }
+}
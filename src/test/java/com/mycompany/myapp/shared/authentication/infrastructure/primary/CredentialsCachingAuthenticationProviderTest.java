@@ -0,0 +1,130 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.account.domain.AccountChanged;
+
+@UnitTest
+class CredentialsCachingAuthenticationProviderTest {
+
+  private final UserDetailsService users = mock(UserDetailsService.class);
+  private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final AtomicLong time = new AtomicLong();
+  private final CredentialsCachingAuthenticationProvider provider = new CredentialsCachingAuthenticationProvider(
+    properties(),
+    meters,
+    time::get
+  );
+
+  @BeforeEach
+  void loadUsers() {
+    provider.setUserDetailsService(users);
+    provider.setPasswordEncoder(passwordEncoder);
+    storedPassword("hash");
+    when(passwordEncoder.matches("password", "hash")).thenReturn(true);
+    when(passwordEncoder.matches("password", "new-hash")).thenReturn(true);
+  }
+
+  @Test
+  void shouldCheckPasswordOnFirstLogin() {
+    assertThat(provider.authenticate(credentials("password")).isAuthenticated()).isTrue();
+
+    verify(passwordEncoder).matches("password", "hash");
+  }
+
+  @Test
+  void shouldNotCheckRepeatedPassword() {
+    provider.authenticate(credentials("password"));
+
+    assertThat(provider.authenticate(credentials("password")).isAuthenticated()).isTrue();
+
+    verify(passwordEncoder).matches("password", "hash");
+    assertThat(cacheGets("hit")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCheckOtherPassword() {
+    provider.authenticate(credentials("password"));
+
+    assertThatThrownBy(() -> provider.authenticate(credentials("wrong"))).isExactlyInstanceOf(BadCredentialsException.class);
+
+    verify(passwordEncoder).matches("wrong", "hash");
+  }
+
+  @Test
+  void shouldNotKeepFailedChecks() {
+    assertThatThrownBy(() -> provider.authenticate(credentials("wrong"))).isExactlyInstanceOf(BadCredentialsException.class);
+    assertThatThrownBy(() -> provider.authenticate(credentials("wrong"))).isExactlyInstanceOf(BadCredentialsException.class);
+
+    verify(passwordEncoder, times(2)).matches("wrong", "hash");
+  }
+
+  @Test
+  void shouldCheckPasswordAgainstChangedStoredPassword() {
+    provider.authenticate(credentials("password"));
+    storedPassword("new-hash");
+
+    provider.authenticate(credentials("password"));
+
+    verify(passwordEncoder).matches("password", "new-hash");
+  }
+
+  @Test
+  void shouldCheckPasswordOfChangedAccount() {
+    provider.authenticate(credentials("password"));
+
+    provider.accountChanged(new AccountChanged("user"));
+    provider.authenticate(credentials("password"));
+
+    verify(passwordEncoder, times(2)).matches("password", "hash");
+  }
+
+  @Test
+  void shouldCheckPasswordAfterTimeToLive() {
+    provider.authenticate(credentials("password"));
+
+    time.addAndGet(Duration.ofMinutes(2).toNanos());
+    provider.authenticate(credentials("password"));
+
+    verify(passwordEncoder, times(2)).matches(any(), eq("hash"));
+  }
+
+  private void storedPassword(String password) {
+    when(users.loadUserByUsername("user")).thenAnswer(invocation -> User.withUsername("user").password(password).roles("USER").build());
+  }
+
+  private static UsernamePasswordAuthenticationToken credentials(String password) {
+    return UsernamePasswordAuthenticationToken.unauthenticated("user", password);
+  }
+
+  private double cacheGets(String result) {
+    return meters
+      .get("cache.gets")
+      .tag("cache", CredentialsCachingAuthenticationProvider.CACHE_NAME)
+      .tag("result", result)
+      .functionCounter()
+      .count();
+  }
+
+  private static JwtAuthenticationProperties.CredentialsCache properties() {
+    var properties = new JwtAuthenticationProperties.CredentialsCache();
+    properties.setEnabled(true);
+    properties.setTimeToLive(Duration.ofMinutes(1));
+
+    return properties;
+  }
+}
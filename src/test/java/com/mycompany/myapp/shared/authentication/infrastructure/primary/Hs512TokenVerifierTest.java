@@ -0,0 +1,239 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Date;
+import javax.crypto.SecretKey;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.infrastructure.primary.Hs512TokenVerifier.Verification.Status;
+
+@UnitTest
+class Hs512TokenVerifierTest {
+
+  private static final SecretKey KEY = Keys.hmacShaKeyFor(
+    "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8".getBytes(StandardCharsets.UTF_8)
+  );
+  private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+
+  private final Hs512TokenVerifier verifier = new Hs512TokenVerifier(KEY, Clock.fixed(NOW, ZoneOffset.UTC));
+
+  @Test
+  void shouldNotSupportShortKey() {
+    assertThat(Hs512TokenVerifier.supports(Keys.hmacShaKeyFor(new byte[32]))).isFalse();
+  }
+
+  @Test
+  void shouldSupportHs512Key() {
+    assertThat(Hs512TokenVerifier.supports(KEY)).isTrue();
+  }
+
+  @Test
+  void shouldVerifyValidToken() {
+    var verification = verifier.verify(token(Duration.ofMinutes(2)));
+
+    assertThat(verification.status()).isEqualTo(Status.VERIFIED);
+    assertThat(verification.claims().subject()).isEqualTo("test");
+    assertThat(verification.claims().authorities()).isEqualTo("ROLE_USER,ROLE_ADMIN");
+    assertThat(verification.claims().expiration()).isEqualTo(NOW.plus(Duration.ofMinutes(2)));
+  }
+
+  @Test
+  void shouldVerifyTokenWithoutAuthorities() {
+    var token = Jwts.builder().subject("test").signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    var verification = verifier.verify(token);
+
+    assertThat(verification.status()).isEqualTo(Status.VERIFIED);
+    assertThat(verification.claims().authorities()).isNull();
+    assertThat(verification.claims().id()).isNull();
+  }
+
+  @Test
+  void shouldVerifyTokenWithId() {
+    var token = Jwts.builder().subject("test").id("token-id").signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    var verification = verifier.verify(token);
+
+    assertThat(verification.status()).isEqualTo(Status.VERIFIED);
+    assertThat(verification.claims().id()).isEqualTo("token-id");
+    assertThat(verification.claims().epoch()).isNull();
+  }
+
+  @Test
+  void shouldVerifyTokenWithEpoch() {
+    var token = Jwts.builder().subject("test").claim("epc", 4).signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    var verification = verifier.verify(token);
+
+    assertThat(verification.status()).isEqualTo(Status.VERIFIED);
+    assertThat(verification.claims().epoch()).isEqualTo(4);
+  }
+
+  @Test
+  void shouldVerifyTokenWithAuthenticationTime() {
+    var token = Jwts.builder()
+      .subject("test")
+      .claim("auth_time", NOW.getEpochSecond())
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(NOW.plusSeconds(60)))
+      .compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.VERIFIED);
+  }
+
+  @Test
+  void shouldVerifyTokenWithIssueDate() {
+    var token = Jwts.builder()
+      .subject("test")
+      .issuedAt(Date.from(NOW))
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(NOW.plusSeconds(60)))
+      .compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.VERIFIED);
+  }
+
+  @Test
+  void shouldVerifyTokenWithCompactRoles() {
+    var token = Jwts.builder().subject("test").claim("rol", 3).signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    var verification = verifier.verify(token);
+
+    assertThat(verification.status()).isEqualTo(Status.VERIFIED);
+    assertThat(verification.claims().rolesMask()).isEqualTo(3);
+    assertThat(verification.claims().authorities()).isNull();
+  }
+
+  @Test
+  void shouldRejectExpiredToken() {
+    assertThat(verifier.verify(token(Duration.ofMinutes(-2))).status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTamperedSignature() {
+    String token = token(Duration.ofMinutes(2));
+    char last = token.charAt(token.length() - 2);
+    String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+    assertThat(verifier.verify(tampered).status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTokenSignedWithAnotherKey() {
+    var otherKey = Keys.hmacShaKeyFor(new byte[64]);
+    var token = Jwts.builder().subject("test").signWith(otherKey, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTokenWithWrongSegmentsCount() {
+    assertThat(verifier.verify("a.b").status()).isEqualTo(Status.REJECTED);
+    assertThat(verifier.verify(token(Duration.ofMinutes(2)) + ".extra").status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectOversizedToken() {
+    assertThat(verifier.verify("a".repeat(Hs512TokenVerifier.MAX_TOKEN_LENGTH + 1)).status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTokenWithWrongSignatureLength() {
+    String token = token(Duration.ofMinutes(2));
+
+    assertThat(verifier.verify(token.substring(0, token.length() - 4)).status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldNotSupportOtherAlgorithms() {
+    var key = Keys.hmacShaKeyFor(KEY.getEncoded());
+    var token = Jwts.builder().subject("test").signWith(key, Jwts.SIG.HS256).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.UNSUPPORTED);
+  }
+
+  @Test
+  void shouldRejectGarbageWithoutGenericParsing() {
+    assertThat(verifier.verify("not.a.token").status()).isEqualTo(Status.REJECTED);
+    assertThat(verifier.verify("a*b.c.d").status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTokenWithNonJsonObjectHeader() {
+    String header = base64Url("[\"alg\"]");
+
+    assertThat(verifier.verify(header + ".e30.c2ln").status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectTokenWithoutAlgorithm() {
+    assertThat(verifier.verify(base64Url("{\"typ\":\"JWT\"}") + ".e30.c2ln").status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldRejectOtherAlgorithmTokenWithMalformedPayload() {
+    String header = base64Url("{\"alg\":\"HS256\"}");
+
+    assertThat(verifier.verify(header + ".e30!.c2ln").status()).isEqualTo(Status.REJECTED);
+    assertThat(verifier.verify(header + ".e30.c2ln!").status()).isEqualTo(Status.REJECTED);
+  }
+
+  @Test
+  void shouldNotSupportUnknownClaims() {
+    var token = Jwts.builder()
+      .subject("test")
+      .claim("other", "value")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(NOW.plusSeconds(60)))
+      .compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.UNSUPPORTED);
+  }
+
+  @Test
+  void shouldNotSupportEscapedStrings() {
+    var token = Jwts.builder().subject("te\"st").signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(NOW.plusSeconds(60))).compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.UNSUPPORTED);
+  }
+
+  @Test
+  void shouldNotSupportTokenWithoutExpiration() {
+    var token = Jwts.builder().subject("test").signWith(KEY, Jwts.SIG.HS512).compact();
+
+    assertThat(verifier.verify(token).status()).isEqualTo(Status.UNSUPPORTED);
+  }
+
+  @Test
+  void shouldRejectNonCanonicalSignatureEncoding() {
+    String token = token(Duration.ofMinutes(2));
+    byte[] signature = Base64.getUrlDecoder().decode(token.substring(token.lastIndexOf('.') + 1));
+    String encoded = Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+    char last = encoded.charAt(encoded.length() - 1);
+    String nonCanonical = encoded.substring(0, encoded.length() - 1) + (char) (last + 1);
+
+    assertThat(verifier.verify(token.substring(0, token.lastIndexOf('.') + 1) + nonCanonical).status()).isEqualTo(Status.REJECTED);
+  }
+
+  private static String base64Url(String value) {
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static String token(Duration validity) {
+    return Jwts.builder()
+      .subject("test")
+      .claim("auth", "ROLE_USER,ROLE_ADMIN")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(NOW.plus(validity)))
+      .compact();
+  }
+}
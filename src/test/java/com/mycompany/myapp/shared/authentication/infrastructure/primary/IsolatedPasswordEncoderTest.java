@@ -0,0 +1,110 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.application.PasswordHashingSaturatedException;
+
+@UnitTest
+class IsolatedPasswordEncoderTest {
+
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final CountDownLatch started = new CountDownLatch(1);
+  private final CountDownLatch release = new CountDownLatch(1);
+  private final IsolatedPasswordEncoder encoder = new IsolatedPasswordEncoder(new BlockingEncoder(), properties(), meters);
+
+  @AfterEach
+  void closeEncoder() {
+    release.countDown();
+    encoder.close();
+  }
+
+  @Test
+  void shouldEncodeOnHashingThread() {
+    release.countDown();
+
+    assertThat(encoder.encode("password")).startsWith("encoded-password-password-hashing-");
+  }
+
+  @Test
+  void shouldMatchOnHashingThread() {
+    release.countDown();
+
+    assertThat(encoder.matches("password", "encoded-password")).isTrue();
+    assertThat(encoder.matches("other", "encoded-password")).isFalse();
+    assertThat(meters.get(IsolatedPasswordEncoder.QUEUE_WAIT).timer().count()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldPropagateHashingErrors() {
+    release.countDown();
+
+    assertThatThrownBy(() -> encoder.encode("fail")).isExactlyInstanceOf(IllegalArgumentException.class).hasMessage("fail");
+  }
+
+  @Test
+  void shouldRejectHashingWhenSaturated() throws InterruptedException {
+    var running = CompletableFuture.supplyAsync(() -> encoder.encode("running"));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    var queued = CompletableFuture.supplyAsync(() -> encoder.encode("queued"));
+    await().until(() -> meters.get(IsolatedPasswordEncoder.QUEUE_SIZE).gauge().value() == 1);
+
+    assertThatThrownBy(() -> encoder.encode("rejected"))
+      .isExactlyInstanceOf(PasswordHashingSaturatedException.class)
+      .extracting(exception -> ((PasswordHashingSaturatedException) exception).retryAfter())
+      .isEqualTo(Duration.ofSeconds(2));
+    assertThat(meters.get(IsolatedPasswordEncoder.REJECTED).counter().count()).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.join()).startsWith("encoded-running");
+    assertThat(queued.join()).startsWith("encoded-queued");
+  }
+
+  private static JwtAuthenticationProperties.PasswordHashing properties() {
+    var properties = new JwtAuthenticationProperties.PasswordHashing();
+    properties.setThreads(1);
+    properties.setQueueCapacity(1);
+    properties.setRetryAfter(Duration.ofSeconds(2));
+
+    return properties;
+  }
+
+  private final class BlockingEncoder implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      if ("fail".contentEquals(rawPassword)) {
+        throw new IllegalArgumentException("fail");
+      }
+
+      started.countDown();
+      awaitRelease();
+
+      return "encoded-" + rawPassword + "-" + Thread.currentThread().getName();
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      awaitRelease();
+
+      return encodedPassword.equals("encoded-" + rawPassword);
+    }
+
+    private void awaitRelease() {
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+}
@@ -3,16 +3,18 @@ package com.mycompany.myapp.shared.authentication.infrastructure.primary;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpHeaders;
@@ -20,6 +22,7 @@ import org.springframework.mock.web.MockFilterChain;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import com.mycompany.myapp.UnitTest;
 
@@ -27,12 +30,18 @@ import com.mycompany.myapp.UnitTest;
 @ExtendWith(MockitoExtension.class)
 class JWTFilterTest {
 
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
   @Mock
   private AuthenticationTokenReader tokens;
 
-  @InjectMocks
   private JWTFilter filter;
 
+  @BeforeEach
+  void buildFilter() {
+    filter = new JWTFilter(tokens, new AnonymousRoutes(List.of("/assets/**", "/*.js")), meters);
+  }
+
   @BeforeEach
   @AfterEach
   void resetAuthenticatedUser() {
@@ -78,6 +87,91 @@ class JWTFilterTest {
     assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
   }
 
+  @Test
+  void shouldNotReadTokenSentToAnonymousRoute() throws IOException, ServletException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/assets/logo.png");
+    request.setServletPath("/assets/logo.png");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid");
+
+    filter.doFilter(request, response(), chain());
+
+    verifyNoInteractions(tokens);
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    assertThat(meters.get(JWTFilter.SKIPPED_VERIFICATIONS).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotCountAnonymousRouteRequestWithoutToken() throws IOException, ServletException {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/main.js");
+    request.setServletPath("/main.js");
+
+    filter.doFilter(request, response(), chain());
+
+    assertThat(meters.get(JWTFilter.SKIPPED_VERIFICATIONS).counter().count()).isZero();
+  }
+
+  @Test
+  void shouldReadTokenSentToOtherRoutes() throws IOException, ServletException {
+    var authentication = new TestingAuthenticationToken("user", "password");
+    when(tokens.read("valid")).thenReturn(Optional.of(authentication));
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/account");
+    request.setServletPath("/api/account");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid");
+
+    filter.doFilter(request, response(), chain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isEqualTo(authentication);
+    assertThat(meters.get(JWTFilter.SKIPPED_VERIFICATIONS).counter().count()).isZero();
+  }
+
+  @Test
+  void shouldNotReadTokenUntilAuthenticationIsNeededInDeferredMode() throws IOException, ServletException {
+    var deferredFilter = new JWTFilter(tokens, new AnonymousRoutes(List.of()), meters, true);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid");
+
+    deferredFilter.doFilter(request, response(), chain());
+
+    verifyNoInteractions(tokens);
+    assertThat(deferredVerifications("false")).isEqualTo(1);
+    assertThat(deferredVerifications("true")).isZero();
+  }
+
+  @Test
+  void shouldReadTokenWhenAuthenticationIsNeededInDeferredMode() throws IOException, ServletException {
+    var authentication = new TestingAuthenticationToken("user", "password");
+    when(tokens.read("valid")).thenReturn(Optional.of(authentication));
+    var deferredFilter = new JWTFilter(tokens, new AnonymousRoutes(List.of()), meters, true);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer valid");
+    var authentications = new ArrayList<Authentication>();
+
+    deferredFilter.doFilter(request, response(), (req, resp) -> {
+      authentications.add(SecurityContextHolder.getContext().getAuthentication());
+      authentications.add(SecurityContextHolder.getContext().getAuthentication());
+    });
+
+    assertThat(authentications).containsExactly(authentication, authentication);
+    verify(tokens).read("valid");
+    assertThat(deferredVerifications("true")).isEqualTo(1);
+    assertThat(deferredVerifications("false")).isZero();
+  }
+
+  @Test
+  void shouldNotAuthenticateUserWithInvalidTokenInDeferredMode() throws IOException, ServletException {
+    var deferredFilter = new JWTFilter(tokens, new AnonymousRoutes(List.of()), meters, true);
+    MockHttpServletRequest request = new MockHttpServletRequest();
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer invalid");
+
+    deferredFilter.doFilter(request, response(), chain());
+
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+  }
+
+  private double deferredVerifications(String resolved) {
+    return meters.get(JWTFilter.DEFERRED_VERIFICATIONS).tag("resolved", resolved).counter().count();
+  }
+
   private HttpServletResponse response() {
     return new MockHttpServletResponse();
   }
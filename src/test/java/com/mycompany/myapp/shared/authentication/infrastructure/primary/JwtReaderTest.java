@@ -9,6 +9,8 @@ import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Date;
+import java.util.List;
+import java.util.Set;
 import javax.crypto.SecretKey;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +21,8 @@ import com.mycompany.myapp.Logs;
 import com.mycompany.myapp.LogsSpy;
 import com.mycompany.myapp.LogsSpyExtension;
 import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
 
 @UnitTest
 @ExtendWith({ LogsSpyExtension.class, MockitoExtension.class })
@@ -66,6 +70,37 @@ class JwtReaderTest {
     );
   }
 
+  @Test
+  void shouldGetRolesFromValidToken() {
+    String token = userToken();
+
+    var authentication = (JwtAuthentication) reader.read(token).orElseThrow();
+
+    assertThat(authentication.roles().get()).containsExactlyInAnyOrder(Role.USER, Role.ADMIN);
+    assertThat(authentication.isAuthenticated()).isTrue();
+    assertThat(authentication.toString()).doesNotContain(token);
+  }
+
+  @Test
+  void shouldGetAuthenticationFromCompactRoles() {
+    var token = Jwts.builder()
+      .subject("test")
+      .claim("rol", Roles.of(Set.of(Role.USER, Role.ADMIN)).mask())
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(Instant.now().plusSeconds(120)))
+      .compact();
+
+    for (JwtReader tokenReader : List.of(reader, new JwtReader(parser(), new Hs512TokenVerifier(KEY)))) {
+      var authentication = (JwtAuthentication) tokenReader.read(token).orElseThrow();
+
+      assertThat(authentication.roles().get()).containsExactlyInAnyOrder(Role.USER, Role.ADMIN);
+      assertThat(authentication.getAuthorities().stream().map(SimpleGrantedAuthority.class::cast)).containsExactly(
+        new SimpleGrantedAuthority("ROLE_ADMIN"),
+        new SimpleGrantedAuthority("ROLE_USER")
+      );
+    }
+  }
+
   private String userToken() {
     return Jwts.builder()
       .subject("test")
@@ -83,6 +118,43 @@ class JwtReaderTest {
     assertThat(authentication.getAuthorities()).isEmpty();
   }
 
+  @Test
+  void shouldGetAuthenticationFromFastVerifier() {
+    var fastReader = new JwtReader(parser(), new Hs512TokenVerifier(KEY));
+
+    var authentication = fastReader.read(userToken()).orElseThrow();
+
+    assertThat(((User) authentication.getPrincipal()).getUsername()).isEqualTo("test");
+    assertThat(authentication.getAuthorities().stream().map(SimpleGrantedAuthority.class::cast)).containsExactly(
+      new SimpleGrantedAuthority("ROLE_USER"),
+      new SimpleGrantedAuthority("ROLE_ADMIN")
+    );
+  }
+
+  @Test
+  void shouldNotAuthenticateUserFromTokenRejectedByFastVerifier() {
+    var fastReader = new JwtReader(parser(), new Hs512TokenVerifier(KEY));
+
+    assertThat(fastReader.read(userToken() + "A")).isEmpty();
+    logs.shouldHave(Level.INFO, "Invalid JWT token");
+  }
+
+  @Test
+  void shouldFallbackToParserForTokenUnsupportedByFastVerifier() {
+    var fastReader = new JwtReader(parser(), new Hs512TokenVerifier(KEY));
+    var token = Jwts.builder()
+      .subject("test")
+      .claim("auth", "ROLE_USER")
+      .claim("other", "value")
+      .signWith(KEY, Jwts.SIG.HS512)
+      .expiration(Date.from(Instant.now().plusSeconds(120)))
+      .compact();
+
+    var authentication = fastReader.read(token).orElseThrow();
+
+    assertThat(((User) authentication.getPrincipal()).getUsername()).isEqualTo("test");
+  }
+
   private String userTokenWithoutRoles() {
     return Jwts.builder().subject("test").signWith(KEY, Jwts.SIG.HS512).expiration(Date.from(Instant.now().plusSeconds(120))).compact();
   }
@@ -0,0 +1,45 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.account.domain.AuthenticationQuery;
+import com.mycompany.myapp.account.domain.TokensRepository;
+import com.mycompany.myapp.shared.authentication.domain.Role;
+import com.mycompany.myapp.shared.authentication.domain.Roles;
+
+@IntegrationTest
+@AutoConfigureMockMvc
+class LogoutResourceIT {
+
+  @Autowired
+  private MockMvc mockMvc;
+
+  @Autowired
+  private TokensRepository tokens;
+
+  @Test
+  void shouldNotLogoutAnonymousUser() throws Exception {
+    mockMvc.perform(post("/api/logout")).andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void shouldRevokeTokenOnLogout() throws Exception {
+    String bearer = tokens
+      .buildToken(AuthenticationQuery.builder().username("user").roles(Roles.of(Set.of(Role.USER))).rememberMe(false))
+      .bearer();
+
+    mockMvc.perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(content().string("user"));
+    mockMvc.perform(post("/api/logout").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isNoContent());
+
+    mockMvc.perform(get("/api/authenticate").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(content().string(""));
+    mockMvc.perform(post("/api/logout").header(HttpHeaders.AUTHORIZATION, bearer)).andExpect(status().isUnauthorized());
+  }
+}
@@ -0,0 +1,120 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.primary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.authentication.domain.RevokedTokens;
+import com.mycompany.myapp.shared.authentication.domain.TokenEpochs;
+import com.mycompany.myapp.shared.authentication.domain.Username;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class RevocationCheckingTokenReaderTest {
+
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+  @Mock
+  private AuthenticationTokenReader tokens;
+
+  @Mock
+  private RevokedTokens revokedTokens;
+
+  @Mock
+  private TokenEpochs epochs;
+
+  @Test
+  void shouldNotReadInvalidToken() {
+    when(tokens.read("token")).thenReturn(Optional.empty());
+
+    assertThat(reader().read("token")).isEmpty();
+    verifyNoInteractions(revokedTokens);
+  }
+
+  @Test
+  void shouldReadNotRevokedToken() {
+    var authentication = authentication("token-id");
+    when(tokens.read("token")).thenReturn(Optional.of(authentication));
+
+    assertThat(reader().read("token")).contains(authentication);
+  }
+
+  @Test
+  void shouldNotReadRevokedToken() {
+    when(tokens.read("token")).thenReturn(Optional.of(authentication("token-id")));
+    when(revokedTokens.revoked("token-id")).thenReturn(true);
+
+    assertThat(reader().read("token")).isEmpty();
+    assertThat(rejections("revoked")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldNotReadTokenWithOutdatedEpoch() {
+    when(tokens.read("token")).thenReturn(Optional.of(authentication("token-id", 1)));
+    when(epochs.current(new Username("user"))).thenReturn(2L);
+
+    assertThat(reader().read("token")).isEmpty();
+    assertThat(rejections("outdated-epoch")).isEqualTo(1);
+    verifyNoInteractions(revokedTokens);
+  }
+
+  @Test
+  void shouldReadTokenWithCurrentEpoch() {
+    var authentication = authentication("token-id", 2);
+    when(tokens.read("token")).thenReturn(Optional.of(authentication));
+    when(epochs.current(new Username("user"))).thenReturn(2L);
+
+    assertThat(reader().read("token")).contains(authentication);
+  }
+
+  @Test
+  void shouldReadTokenWithoutId() {
+    var authentication = authentication(null);
+    when(tokens.read("token")).thenReturn(Optional.of(authentication));
+
+    assertThat(reader().read("token")).contains(authentication);
+    verifyNoInteractions(revokedTokens);
+  }
+
+  @Test
+  void shouldReadOtherAuthentications() {
+    var authentication = new TestingAuthenticationToken("user", "password");
+    when(tokens.read("token")).thenReturn(Optional.of(authentication));
+
+    assertThat(reader().read("token")).contains(authentication);
+    verifyNoInteractions(revokedTokens, epochs);
+  }
+
+  private double rejections(String reason) {
+    return meters.get(RevocationCheckingTokenReader.REJECTED_TOKENS).tag("reason", reason).counter().count();
+  }
+
+  private RevocationCheckingTokenReader reader() {
+    return new RevocationCheckingTokenReader(tokens, revokedTokens, epochs, meters);
+  }
+
+  private static JwtAuthentication authentication(String tokenId) {
+    return authentication(tokenId, 0);
+  }
+
+  private static JwtAuthentication authentication(String tokenId, long epoch) {
+    return new JwtAuthentication(
+      new User("user", "", List.of()),
+      "token",
+      tokenId,
+      epoch,
+      Instant.now().plusSeconds(60),
+      DecodedAuthorities.EMPTY
+    );
+  }
+}
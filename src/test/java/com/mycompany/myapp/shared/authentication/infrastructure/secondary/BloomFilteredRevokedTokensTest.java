@@ -0,0 +1,133 @@
+package com.mycompany.myapp.shared.authentication.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.error.domain.MissingMandatoryValueException;
+
+@UnitTest
+@ExtendWith(MockitoExtension.class)
+class BloomFilteredRevokedTokensTest {
+
+  private static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+  private static final Instant EXPIRATION = NOW.plusSeconds(60);
+
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+  @Mock
+  private JpaRevokedTokensRepository revocations;
+
+  @Test
+  void shouldNotRevokeWithoutTokenId() {
+    assertThatThrownBy(() -> revokedTokens().revoke(" ", EXPIRATION)).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldNotRevokeWithoutExpiration() {
+    assertThatThrownBy(() -> revokedTokens().revoke("token", null)).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldCheckDatabaseUntilFilterIsLoaded() {
+    when(revocations.existsById("token")).thenReturn(true);
+
+    assertThat(revokedTokens().revoked("token")).isTrue();
+  }
+
+  @Test
+  void shouldNotCheckDatabaseForTokensMissingFromFilter() {
+    var revokedTokens = loadedRevokedTokens(List.of("revoked"));
+
+    assertThat(revokedTokens.revoked("other")).isFalse();
+    verify(revocations, never()).existsById(any());
+  }
+
+  @Test
+  void shouldCheckDatabaseForTokensInFilter() {
+    var revokedTokens = loadedRevokedTokens(List.of("revoked"));
+    when(revocations.existsById("revoked")).thenReturn(true);
+
+    assertThat(revokedTokens.revoked("revoked")).isTrue();
+    assertThat(lookups("revoked")).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareConcurrentIdenticalLookups() throws Exception {
+    var revokedTokens = loadedRevokedTokens(List.of("revoked"));
+    var started = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(revocations.existsById("revoked")).thenAnswer(invocation -> {
+      started.countDown();
+
+      return release.await(5, TimeUnit.SECONDS);
+    });
+
+    try (var executor = Executors.newFixedThreadPool(2)) {
+      var first = executor.submit(() -> revokedTokens.revoked("revoked"));
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+      var second = executor.submit(() -> revokedTokens.revoked("revoked"));
+      await()
+        .atMost(Duration.ofSeconds(5))
+        .until(() -> meters.get(BloomFilteredRevokedTokens.COALESCED_LOOKUPS).functionCounter().count() == 1);
+      release.countDown();
+
+      assertThat(first.get()).isTrue();
+      assertThat(second.get()).isTrue();
+    }
+    verify(revocations).existsById("revoked");
+  }
+
+  @Test
+  void shouldAddRevokedTokensToLoadedFilter() {
+    var revokedTokens = loadedRevokedTokens(List.of());
+    when(revocations.existsById("token")).thenReturn(true);
+
+    revokedTokens.revoke("token", EXPIRATION);
+
+    verify(revocations).save(argThat(entity -> entity.getId().equals("token") && entity.getExpiration().equals(EXPIRATION)));
+    assertThat(revokedTokens.revoked("token")).isTrue();
+  }
+
+  @Test
+  void shouldPurgeExpiredRevocationsOnRefresh() {
+    loadedRevokedTokens(List.of());
+
+    verify(revocations).deleteExpired(NOW);
+  }
+
+  private BloomFilteredRevokedTokens loadedRevokedTokens(List<String> activeIds) {
+    when(revocations.findActiveIds(NOW)).thenReturn(activeIds);
+
+    var revokedTokens = revokedTokens();
+    revokedTokens.refresh();
+
+    return revokedTokens;
+  }
+
+  private BloomFilteredRevokedTokens revokedTokens() {
+    var properties = new RevokedTokensProperties();
+    properties.setExpectedRevocations(100);
+
+    return new BloomFilteredRevokedTokens(revocations, properties, meters, Clock.fixed(NOW, ZoneOffset.UTC));
+  }
+
+  private double lookups(String result) {
+    return meters.get(BloomFilteredRevokedTokens.LOOKUPS).tag("result", result).counter().count();
+  }
+}
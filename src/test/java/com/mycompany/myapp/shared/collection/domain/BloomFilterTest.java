@@ -0,0 +1,62 @@
+package com.mycompany.myapp.shared.collection.domain;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.error.domain.MissingMandatoryValueException;
+import com.mycompany.myapp.shared.error.domain.NumberValueTooHighException;
+import com.mycompany.myapp.shared.error.domain.NumberValueTooLowException;
+
+@UnitTest
+class BloomFilterTest {
+
+  @Test
+  void shouldNotBuildWithoutExpectedInsertions() {
+    assertThatThrownBy(() -> BloomFilter.of(0, 0.01)).isExactlyInstanceOf(NumberValueTooLowException.class);
+  }
+
+  @Test
+  void shouldNotBuildWithInvalidFalsePositiveProbability() {
+    assertThatThrownBy(() -> BloomFilter.of(10, 0)).isExactlyInstanceOf(NumberValueTooLowException.class);
+    assertThatThrownBy(() -> BloomFilter.of(10, 1)).isExactlyInstanceOf(NumberValueTooHighException.class);
+  }
+
+  @Test
+  void shouldNotPutNullValue() {
+    assertThatThrownBy(() -> BloomFilter.of(10, 0.01).put(null)).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldSizeFilterFromExpectedInsertions() {
+    var filter = BloomFilter.of(1000, 0.01);
+
+    assertThat(filter.bitsCount()).isEqualTo(9586);
+    assertThat(filter.hashesCount()).isEqualTo(7);
+  }
+
+  @Test
+  void shouldNotContainValuesOfEmptyFilter() {
+    assertThat(BloomFilter.of(10, 0.01).mightContain("value")).isFalse();
+  }
+
+  @Test
+  void shouldContainAddedValues() {
+    var filter = BloomFilter.of(1000, 0.01);
+
+    IntStream.range(0, 1000).mapToObj(index -> "value-" + index).forEach(filter::put);
+
+    assertThat(IntStream.range(0, 1000).mapToObj(index -> "value-" + index)).allMatch(filter::mightContain);
+  }
+
+  @Test
+  void shouldKeepFalsePositivesCloseToExpectedProbability() {
+    var filter = BloomFilter.of(10_000, 0.01);
+    IntStream.range(0, 10_000).mapToObj(index -> "added-" + index).forEach(filter::put);
+
+    long falsePositives = IntStream.range(0, 100_000).mapToObj(index -> "other-" + index).filter(filter::mightContain).count();
+
+    assertThat(falsePositives).isLessThan(2000);
+  }
+}
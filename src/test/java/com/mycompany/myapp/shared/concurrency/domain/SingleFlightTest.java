@@ -0,0 +1,106 @@
+package com.mycompany.myapp.shared.concurrency.domain;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.awaitility.Awaitility.*;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.error.domain.MissingMandatoryValueException;
+
+@UnitTest
+class SingleFlightTest {
+
+  private final SingleFlight<String, String> flights = new SingleFlight<>();
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldNotLoadWithoutKey() {
+    assertThatThrownBy(() -> flights.load(null, () -> "value")).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldNotLoadWithoutLoader() {
+    assertThatThrownBy(() -> flights.load("key", null)).isExactlyInstanceOf(MissingMandatoryValueException.class);
+  }
+
+  @Test
+  void shouldRunSequentialLoads() {
+    var loads = new AtomicInteger();
+
+    flights.load("key", () -> "value-" + loads.incrementAndGet());
+
+    assertThat(flights.load("key", () -> "value-" + loads.incrementAndGet())).isEqualTo("value-2");
+    assertThat(flights.executed()).isEqualTo(2);
+    assertThat(flights.coalesced()).isZero();
+  }
+
+  @Test
+  void shouldShareRunningLoad() throws Exception {
+    var release = new CountDownLatch(1);
+    Future<String> first = executor.submit(() -> flights.load("key", () -> awaitAndGet(release, "first")));
+    await().atMost(Duration.ofSeconds(5)).until(() -> flights.executed() == 1);
+
+    Future<String> second = executor.submit(() -> flights.load("key", () -> "second"));
+    await().atMost(Duration.ofSeconds(5)).until(() -> flights.coalesced() == 1);
+    release.countDown();
+
+    assertThat(first.get()).isEqualTo("first");
+    assertThat(second.get()).isEqualTo("first");
+    assertThat(flights.executed()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldShareRunningLoadFailure() throws Exception {
+    var release = new CountDownLatch(1);
+    var failure = new IllegalStateException("failed");
+    executor.submit(() -> flights.load("key", () -> awaitAndThrow(release, failure)));
+    await().atMost(Duration.ofSeconds(5)).until(() -> flights.executed() == 1);
+
+    Future<String> second = executor.submit(() -> flights.load("key", () -> "second"));
+    await().atMost(Duration.ofSeconds(5)).until(() -> flights.coalesced() == 1);
+    release.countDown();
+
+    assertThatThrownBy(second::get).cause().isSameAs(failure);
+  }
+
+  @Test
+  void shouldNotShareLoadsOfOtherKeys() throws Exception {
+    var release = new CountDownLatch(1);
+    Future<String> first = executor.submit(() -> flights.load("first", () -> awaitAndGet(release, "first")));
+    await().atMost(Duration.ofSeconds(5)).until(() -> flights.executed() == 1);
+
+    assertThat(flights.load("second", () -> "second")).isEqualTo("second");
+    release.countDown();
+
+    assertThat(first.get()).isEqualTo("first");
+    assertThat(flights.coalesced()).isZero();
+  }
+
+  private static String awaitAndGet(CountDownLatch release, String value) {
+    try {
+      release.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    return value;
+  }
+
+  private static String awaitAndThrow(CountDownLatch release, RuntimeException failure) {
+    awaitAndGet(release, null);
+
+    throw failure;
+  }
+}
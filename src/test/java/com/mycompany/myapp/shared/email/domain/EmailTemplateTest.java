@@ -0,0 +1,67 @@
+package com.mycompany.myapp.shared.email.domain;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.email.domain.EmailTemplate.Escaping;
+import com.mycompany.myapp.shared.error.domain.MissingMandatoryValueException;
+
+@UnitTest
+class EmailTemplateTest {
+
+  @Test
+  void shouldRenderPlaceholders() {
+    EmailTemplate template = EmailTemplate.compile("Hello {{ username }}, go to {{url}}.", Escaping.NONE);
+
+    assertThat(template.render(Map.of("username", "jdoe", "url", "http://localhost/a?b=c&d=e"))).isEqualTo(
+      "Hello jdoe, go to http://localhost/a?b=c&d=e."
+    );
+  }
+
+  @Test
+  void shouldRenderTemplateWithoutPlaceholder() {
+    assertThat(EmailTemplate.compile("Hello", Escaping.NONE).render(Map.of())).isEqualTo("Hello");
+  }
+
+  @Test
+  void shouldRenderTemplateMultipleTimes() {
+    EmailTemplate template = EmailTemplate.compile("{{name}}{{name}}", Escaping.NONE);
+
+    assertThat(template.render(Map.of("name", "a"))).isEqualTo("aa");
+    assertThat(template.render(Map.of("name", "b"))).isEqualTo("bb");
+  }
+
+  @Test
+  void shouldEscapeHtmlValues() {
+    EmailTemplate template = EmailTemplate.compile("<p>{{username}}</p>", Escaping.HTML);
+
+    assertThat(template.render(Map.of("username", "<b>\"O'Neil\" & co</b>"))).isEqualTo(
+      "<p>&lt;b&gt;&quot;O&#39;Neil&quot; &amp; co&lt;/b&gt;</p>"
+    );
+  }
+
+  @Test
+  void shouldRenderToGivenBuffer() {
+    var output = new StringBuilder("Subject: ");
+
+    EmailTemplate.compile("{{subject}}", Escaping.NONE).renderTo(Map.of("subject", "Welcome"), output);
+
+    assertThat(output).hasToString("Subject: Welcome");
+  }
+
+  @Test
+  void shouldNotRenderWithMissingValue() {
+    EmailTemplate template = EmailTemplate.compile("Hello {{username}}", Escaping.NONE);
+
+    assertThatThrownBy(() -> template.render(Map.of()))
+      .isExactlyInstanceOf(MissingMandatoryValueException.class)
+      .hasMessageContaining("username");
+  }
+
+  @Test
+  void shouldNotCompileUnclosedPlaceholder() {
+    assertThatThrownBy(() -> EmailTemplate.compile("Hello {{username", Escaping.NONE)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
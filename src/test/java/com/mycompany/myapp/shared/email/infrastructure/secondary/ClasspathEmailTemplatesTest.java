@@ -0,0 +1,46 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Locale;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.email.domain.EmailContent;
+
+@UnitTest
+class ClasspathEmailTemplatesTest {
+
+  private static final Map<String, String> VALUES = Map.of("username", "<jdoe>", "activationUrl", "http://localhost/activate?token=t");
+
+  private final ClasspathEmailTemplates templates = new ClasspathEmailTemplates();
+
+  @Test
+  void shouldRenderDefaultTemplate() {
+    EmailContent content = templates.render("registration", Locale.ENGLISH, VALUES);
+
+    assertThat(content.subject()).isEqualTo("Welcome to MyApp - Activate Your Account");
+    assertThat(content.text()).startsWith("Hello <jdoe>,").contains("http://localhost/activate?token=t");
+    assertThat(content.html()).contains("<p>Hello &lt;jdoe&gt;,</p>").contains("href=\"http://localhost/activate?token=t\"");
+  }
+
+  @Test
+  void shouldRenderTemplateOfLocaleLanguage() {
+    EmailContent content = templates.render("registration", Locale.CANADA_FRENCH, VALUES);
+
+    assertThat(content.subject()).isEqualTo("Bienvenue sur MyApp - Activez votre compte");
+    assertThat(content.text()).startsWith("Bonjour <jdoe>,");
+  }
+
+  @Test
+  void shouldFallbackToDefaultTemplateForUnknownLocale() {
+    EmailContent content = templates.render("account-activated", Locale.JAPANESE, Map.of("username", "jdoe", "loginUrl", "url"));
+
+    assertThat(content.subject()).isEqualTo("MyApp - Account Activated Successfully");
+  }
+
+  @Test
+  void shouldNotRenderUnknownTemplate() {
+    assertThatThrownBy(() -> templates.render("unknown", Locale.ENGLISH, Map.of())).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+}
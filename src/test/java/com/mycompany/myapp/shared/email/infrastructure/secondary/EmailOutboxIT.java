@@ -0,0 +1,55 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.shared.email.application.EmailService;
+
+@IntegrationTest(properties = "spring.mail.port=1")
+class EmailOutboxIT {
+
+  @Autowired
+  private EmailService emailService;
+
+  @Autowired
+  private JpaOutboxEmailsRepository emails;
+
+  @Autowired
+  private OutboxEmailDispatcher dispatcher;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  void shouldNotStoreEmailOfRolledBackTransaction() {
+    var transaction = new TransactionTemplate(transactionManager);
+    Long before = transaction.execute(status -> emails.count());
+
+    transaction.executeWithoutResult(status -> {
+      emailService.sendPasswordResetEmail("rolled-back@example.com", "token");
+      status.setRollbackOnly();
+    });
+
+    Long after = transaction.execute(status -> emails.count());
+    assertThat(after).isEqualTo(before);
+  }
+
+  @Test
+  void shouldKeepEmailsFailingToBeSentForRetry() {
+    emailService.sendAccountActivatedEmail("retried@example.com", "retried");
+
+    dispatcher.dispatch();
+
+    List<OutboxEmailEntity> stored = new TransactionTemplate(transactionManager).execute(status -> emails.findAll());
+    assertThat(stored).anySatisfy(email -> {
+      assertThat(email.toDomain().to()).isEqualTo("retried@example.com");
+      assertThat(email.getAttempts()).isEqualTo(1);
+      assertThat(email.getLastError()).isNotBlank();
+    });
+  }
+}
@@ -0,0 +1,258 @@
+package com.mycompany.myapp.shared.email.infrastructure.secondary;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionOperations;
+import com.mycompany.myapp.UnitTest;
+import com.mycompany.myapp.shared.email.domain.Email;
+
+@UnitTest
+class OutboxEmailDispatcherTest {
+
+  private static final Instant NOW = Instant.parse("2025-06-01T10:00:00Z");
+
+  private final JpaOutboxEmailsRepository emails = mock(JpaOutboxEmailsRepository.class);
+  private final JavaMailSender mailSender = mock(JavaMailSender.class);
+  private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+  private final OutboxEmailDispatcher dispatcher = new OutboxEmailDispatcher(
+    emails,
+    mailSender,
+    TransactionOperations.withoutTransaction(),
+    properties(),
+    meters,
+    Clock.fixed(NOW, ZoneOffset.UTC)
+  );
+
+  @BeforeEach
+  void createMessages() {
+    when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+  }
+
+  @Test
+  void shouldSendAndDeleteDueEmails() throws Exception {
+    var email = email(1);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+
+    dispatcher.dispatch();
+
+    MimeMessage message = sentMessages().get(0)[0];
+    assertThat(message.getFrom()[0]).hasToString("from@example.com");
+    assertThat(message.getAllRecipients()[0]).hasToString("to@example.com");
+    assertThat(message.getSubject()).isEqualTo("subject");
+    assertThat(message.getContent()).isEqualTo("text");
+    verify(emails).deleteAllByIdInBatch(List.of(1L));
+    assertThat(meters.get(OutboxEmailDispatcher.SENT).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldLeaseClaimedEmails() {
+    var email = email(1);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+    doThrow(new IllegalStateException("crash")).when(mailSender).send(any(MimeMessage[].class));
+
+    assertThatThrownBy(dispatcher::dispatch).isExactlyInstanceOf(IllegalStateException.class);
+
+    assertThat(email.getNextAttempt()).isEqualTo(NOW.plus(Duration.ofMinutes(5)));
+  }
+
+  @Test
+  void shouldClaimBatchesUntilNoneIsFull() {
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email(1), email(2)), List.of(email(3)));
+
+    dispatcher.dispatch();
+
+    verify(mailSender, times(2)).send(any(MimeMessage[].class));
+  }
+
+  @Test
+  void shouldSendBatchOverSingleConnection() {
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email(1), email(2)), List.of());
+
+    dispatcher.dispatch();
+
+    assertThat(sentMessages().get(0)).hasSize(2);
+    assertThat(meters.get(OutboxEmailDispatcher.CONNECTIONS).counter().count()).isEqualTo(1);
+    assertThat(meters.get(OutboxEmailDispatcher.CONNECTION_MESSAGES).summary().totalAmount()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldSplitBatchOverConnections() {
+    var properties = properties();
+    properties.setMaxMessagesPerConnection(1);
+    var splitting = new OutboxEmailDispatcher(
+      emails,
+      mailSender,
+      TransactionOperations.withoutTransaction(),
+      properties,
+      meters,
+      Clock.fixed(NOW, ZoneOffset.UTC)
+    );
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email(1), email(2)), List.of());
+
+    splitting.dispatch();
+
+    assertThat(sentMessages()).hasSize(2).allSatisfy(messages -> assertThat(messages).hasSize(1));
+  }
+
+  @Test
+  void shouldNotSendEmailsAfterLeaseEnd() {
+    var properties = properties();
+    properties.setMaxMessagesPerConnection(1);
+    Clock clock = mock(Clock.class);
+    when(clock.instant()).thenReturn(NOW, NOW, NOW, NOW.plus(Duration.ofMinutes(6)));
+    var slow = new OutboxEmailDispatcher(emails, mailSender, TransactionOperations.withoutTransaction(), properties, meters, clock);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email(1), email(2)));
+
+    slow.dispatch();
+
+    assertThat(sentMessages()).hasSize(1);
+    verify(emails).deleteAllByIdInBatch(List.of(1L));
+    verify(emails, never()).findById(2L);
+  }
+
+  @Test
+  void shouldOnlyRetryFailedEmailsOfBatch() {
+    var sent = email(1);
+    var failed = email(2, "failed@example.com");
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(sent, failed), List.of());
+    when(emails.findById(2L)).thenReturn(Optional.of(failed));
+    doAnswer(invocation -> {
+      throw new MailSendException(Map.of(invocation.getArgument(1), new MessagingException("rejected")));
+    })
+      .when(mailSender)
+      .send(any(MimeMessage[].class));
+
+    dispatcher.dispatch();
+
+    verify(emails).deleteAllByIdInBatch(List.of(1L));
+    assertThat(failed.getAttempts()).isEqualTo(1);
+    assertThat(failed.getLastError()).isEqualTo("rejected");
+  }
+
+  @Test
+  void shouldSendHtmlEmailsAsMultipart() throws Exception {
+    var email = new OutboxEmailEntity(
+      new Email("from@example.com", "to@example.com", "subject", "text", "<p>html</p>"),
+      NOW.minusSeconds(10)
+    );
+    ReflectionTestUtils.setField(email, "id", 1L);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+
+    dispatcher.dispatch();
+
+    MimeMessage message = sentMessages().get(0)[0];
+    message.saveChanges();
+    assertThat(message.getContent()).isInstanceOf(MimeMultipart.class);
+    assertThat(message.getContentType()).startsWith("multipart/");
+    verify(emails).deleteAllByIdInBatch(List.of(1L));
+  }
+
+  @Test
+  void shouldRetryFailedEmailWithBackoff() {
+    var email = email(1);
+    ReflectionTestUtils.setField(email, "attempts", 2);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+    when(emails.findById(1L)).thenReturn(Optional.of(email));
+    doThrow(new MailSendException("refused")).when(mailSender).send(any(MimeMessage[].class));
+
+    dispatcher.dispatch();
+
+    assertThat(email.getAttempts()).isEqualTo(3);
+    assertThat(email.getLastError()).isEqualTo("refused");
+    assertThat(email.getNextAttempt()).isEqualTo(NOW.plus(Duration.ofSeconds(40)));
+    assertThat(meters.get(OutboxEmailDispatcher.FAILURES).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldCapRetryBackoff() {
+    var email = email(1);
+    ReflectionTestUtils.setField(email, "attempts", 8);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+    when(emails.findById(1L)).thenReturn(Optional.of(email));
+    doThrow(new MailSendException("refused")).when(mailSender).send(any(MimeMessage[].class));
+
+    dispatcher.dispatch();
+
+    assertThat(email.getNextAttempt()).isEqualTo(NOW.plus(Duration.ofMinutes(1)));
+  }
+
+  @Test
+  void shouldAbandonEmailAfterMaxAttempts() {
+    var email = email(1);
+    ReflectionTestUtils.setField(email, "attempts", 9);
+    when(emails.lockDue(NOW, 2)).thenReturn(List.of(email));
+    when(emails.findById(1L)).thenReturn(Optional.of(email));
+    doThrow(new MailSendException("refused")).when(mailSender).send(any(MimeMessage[].class));
+
+    dispatcher.dispatch();
+
+    assertThat(email.getNextAttempt()).isNull();
+    assertThat(meters.get(OutboxEmailDispatcher.ABANDONED).counter().count()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldReportOutboxDepthAndAge() {
+    when(emails.countByNextAttemptIsNotNull()).thenReturn(3L);
+    when(emails.countByNextAttemptIsNull()).thenReturn(1L);
+    when(emails.findFirstByNextAttemptIsNotNullOrderByCreatedAsc()).thenReturn(
+      Optional.of(new OutboxEmailEntity(domainEmail(), NOW.minusSeconds(90)))
+    );
+
+    dispatcher.dispatch();
+
+    assertThat(meters.get(OutboxEmailDispatcher.DEPTH).tag("state", "pending").gauge().value()).isEqualTo(3);
+    assertThat(meters.get(OutboxEmailDispatcher.DEPTH).tag("state", "abandoned").gauge().value()).isEqualTo(1);
+    assertThat(meters.get(OutboxEmailDispatcher.AGE).gauge().value()).isEqualTo(90);
+  }
+
+  private static OutboxEmailEntity email(long id) {
+    return email(id, "to@example.com");
+  }
+
+  private static OutboxEmailEntity email(long id, String to) {
+    var email = new OutboxEmailEntity(new Email("from@example.com", to, "subject", "text", null), NOW.minusSeconds(10));
+    ReflectionTestUtils.setField(email, "id", id);
+
+    return email;
+  }
+
+  private List<MimeMessage[]> sentMessages() {
+    ArgumentCaptor<MimeMessage[]> messages = ArgumentCaptor.forClass(MimeMessage[].class);
+    verify(mailSender, atLeastOnce()).send(messages.capture());
+
+    return messages.getAllValues();
+  }
+
+  private static Email domainEmail() {
+    return new Email("from@example.com", "to@example.com", "subject", "text", null);
+  }
+
+  private static EmailOutboxProperties properties() {
+    var properties = new EmailOutboxProperties();
+    properties.setBatchSize(2);
+    properties.setBackoff(Duration.ofSeconds(10));
+    properties.setMaxBackoff(Duration.ofMinutes(1));
+
+    return properties;
+  }
+}